@@ -0,0 +1,72 @@
+package co.emblock.sdk;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the heap and the threads kept per project, with one client per project
+ * ({@code standalone}) or with clients created by an {@link EmblockClientFactory} ({@code factory}).
+ * <p>
+ * Each client performs one call against a local server so the transport is really started.
+ * Run it with {@code ./gradlew jmhJar} then
+ * {@code java -cp build/libs/emblock-sdk-java-*-jmh.jar co.emblock.sdk.ClientFootprint factory 500}.
+ */
+public class ClientFootprint {
+
+    public static void main(String... args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "factory";
+        int projects = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+        String serverUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        long heapBefore = usedHeap();
+        int threadsBefore = Thread.activeCount();
+
+        EmblockClientFactory factory = EmblockClientFactory.builder().serverUrl(serverUrl).build();
+        List<EmblockClient> clients = new ArrayList<>(projects);
+        for (int i = 0; i < projects; i++) {
+            String token = "token-" + i;
+            String projectId = "project-" + i;
+            EmblockClient client = "standalone".equals(mode)
+                    ? new EmblockClient(token, projectId, false, serverUrl, EmblockClient.WS_URL)
+                    : factory.newClient(token, projectId);
+            client.callConstantAsync("totalSupply", Collections.emptyMap()).get();
+            clients.add(client);
+        }
+
+        long heap = usedHeap() - heapBefore;
+        int threads = Thread.activeCount() - threadsBefore;
+        System.out.printf("mode=%s projects=%d heap/project=%d bytes threads=%d (%.2f/project)%n",
+                mode, projects, heap / projects, threads, (double) threads / projects);
+
+        factory.close();
+        server.stop(0);
+        System.exit(clients.size() == projects ? 0 : 1);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,74 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventResult;
+import co.emblock.sdk.api.ParamResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the heap kept per million Transfer events, as a list of {@link EventResult} ({@code objects}) or in an
+ * {@link EventsStore} ({@code store}), and the time of a query by name, time range and address.
+ * <p>
+ * The events are among 1000 addresses, with a distinct amount each and two events per transaction. Every string
+ * is a new instance, like the ones decoded from the api.
+ * Run it with {@code ./gradlew jmhJar} then
+ * {@code java -cp build/libs/emblock-sdk-java-*-jmh.jar co.emblock.sdk.EventsStoreFootprint store 1000000}.
+ */
+public class EventsStoreFootprint {
+
+    public static void main(String... args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "store";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        boolean objects = "objects".equals(mode);
+        long heapBefore = usedHeap();
+        List<EventResult> events = objects ? new ArrayList<>(count) : null;
+        EventsStore store = objects ? null : new EventsStore();
+        Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            EventResult event = transfer(i, random);
+            if (objects) events.add(event);
+            else store.add(event);
+        }
+        long heap = usedHeap() - heapBefore;
+
+        String address = address(7);
+        long start = System.nanoTime();
+        long selected = objects
+                ? events.stream().filter(event -> "Transfer".equals(event.getName())
+                && event.getBlockTimestamp() >= 1_000 && event.getBlockTimestamp() < 500_000
+                && address.equalsIgnoreCase(event.getParams().get(0).getValue())).count()
+                : store.query().name("Transfer").between(1_000, 500_000).param(0, address).count();
+        long queryMicros = (System.nanoTime() - start) / 1_000;
+
+        System.out.printf("mode=%s events=%d heap/million=%d MB bytes/event=%d query=%d events in %d us%n",
+                mode, count, heap * 1_000_000L / count / (1024 * 1024), heap / count, selected, queryMicros);
+        System.exit(objects ? events.size() == count ? 0 : 1 : store.size() == count ? 0 : 1);
+    }
+
+    private static EventResult transfer(int i, Random random) {
+        List<ParamResult> params = Arrays.asList(
+                new ParamResult("address", "from", address(random.nextInt(1000))),
+                new ParamResult("address", "to", address(random.nextInt(1000))),
+                new ParamResult("uint256", "value", Long.toString(Math.abs(random.nextLong()))));
+        return new EventResult(new String("Transfer"), String.format("0x%064x", i / 2), (long) i, (long) i * 1000,
+                params, i % 2);
+    }
+
+    private static String address(int index) {
+        return String.format("0x%040X", index);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
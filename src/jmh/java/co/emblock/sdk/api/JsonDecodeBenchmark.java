@@ -0,0 +1,46 @@
+package co.emblock.sdk.api;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of an event frame: a {@link Gson} created per frame (previous websocket path),
+ * a shared reflective {@link Gson}, and the {@link EmblockJson} adapters.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=JsonDecodeBenchmark} and the gc profiler
+ * ({@code profilers = ['gc']}) to get the bytes allocated per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDecodeBenchmark {
+
+    private static final String EVENT_FRAME = "{\"name\":\"Transfer\",\"transactionHash\":\"0x5c504ed432cb51138bcf09aa5e8a410dd4a1e204ef84bfed1be16dfba1b22060\","
+            + "\"params\":[{\"type\":\"address\",\"value\":\"0x905C22656bB3a2BC457Ac8AA4131264b89D59e91\"},"
+            + "{\"type\":\"address\",\"value\":\"0xF923c87B3C143a44053C44904724C03CC704342e\"},"
+            + "{\"type\":\"uint256\",\"value\":\"1000000000000000000\"}]}";
+
+    private final Gson sharedGson = new Gson();
+
+    @Benchmark
+    public EventMessage gsonPerFrame() {
+        return new Gson().fromJson(EVENT_FRAME, EventMessage.class);
+    }
+
+    @Benchmark
+    public EventMessage sharedReflectiveGson() {
+        return sharedGson.fromJson(EVENT_FRAME, EventMessage.class);
+    }
+
+    @Benchmark
+    public EventMessage codec() throws IOException {
+        return EmblockJson.EVENT_MESSAGE.fromJson(EVENT_FRAME);
+    }
+
+}
@@ -0,0 +1,78 @@
+package co.emblock.sdk.api;
+
+import co.emblock.sdk.crypto.Numeric;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the values of a Transfer event: the manual parsing done by every consumer, the typed accessors
+ * on a new parameter (first access), and on a parameter already read (every other consumer of the event).
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=ParamAccessorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParamAccessorBenchmark {
+
+    private static final String AMOUNT = "1000000000000000000000";
+    private static final String SMALL_AMOUNT = "1500000000000000000";
+    private static final String ADDRESS = "0x905C22656bB3a2BC457Ac8AA4131264b89D59e91";
+
+    private final Param amount = new Param("uint256", AMOUNT);
+    private final Param smallAmount = new Param("uint256", SMALL_AMOUNT);
+    private final Param address = new Param("address", ADDRESS);
+
+    @Setup
+    public void setup() {
+        amount.asBigInteger();
+        smallAmount.asBigInteger();
+        address.asAddressBytes();
+    }
+
+    @Benchmark
+    public BigInteger manualBigInteger() {
+        return new BigInteger(amount.getValue());
+    }
+
+    @Benchmark
+    public BigInteger firstAsBigInteger() {
+        return new Param("uint256", AMOUNT).asBigInteger();
+    }
+
+    @Benchmark
+    public BigInteger cachedAsBigInteger() {
+        return amount.asBigInteger();
+    }
+
+    @Benchmark
+    public BigInteger manualSmallBigInteger() {
+        return new BigInteger(smallAmount.getValue());
+    }
+
+    @Benchmark
+    public BigInteger firstSmallAsBigInteger() {
+        return new Param("uint256", SMALL_AMOUNT).asBigInteger();
+    }
+
+    @Benchmark
+    public byte[] manualAddressBytes() {
+        return Numeric.hexStringToByteArray(address.getValue());
+    }
+
+    @Benchmark
+    public byte[] firstAsAddressBytes() {
+        return new Param("address", ADDRESS).asAddressBytes();
+    }
+
+    @Benchmark
+    public byte[] cachedAsAddressBytes() {
+        return address.asAddressBytes();
+    }
+
+}
@@ -0,0 +1,68 @@
+package co.emblock.sdk.crypto;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing a batch of 256 transactions one by one, and with a {@link BatchTransactionSigner} on pools of
+ * 1 to 8 threads, to check that the throughput grows with the threads.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=BatchSignBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchSignBenchmark {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long CHAIN_ID = 1;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private final Credentials credentials =
+            Credentials.create("0x4646464646464646464646464646464646464646464646464646464646464646");
+    private final List<RawTransaction> transactions = new ArrayList<>(BATCH_SIZE);
+    private ForkJoinPool pool;
+    private BatchTransactionSigner batchSigner;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            transactions.add(RawTransaction.createTransaction(BigInteger.valueOf(i), BigInteger.valueOf(20_000_000_000L),
+                    BigInteger.valueOf(21_000), "0x3535353535353535353535353535353535353535", BigInteger.valueOf(i), ""));
+        }
+        pool = new ForkJoinPool(threads);
+        batchSigner = new BatchTransactionSigner(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<byte[]> sequential() {
+        List<byte[]> signed = new ArrayList<>(BATCH_SIZE);
+        for (RawTransaction transaction : transactions) {
+            signed.add(TransactionEncoder.signMessage(transaction, CHAIN_ID, credentials));
+        }
+        return signed;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<byte[]> batch() {
+        return batchSigner.sign(transactions, CHAIN_ID, credentials);
+    }
+
+}
@@ -0,0 +1,83 @@
+package co.emblock.sdk.crypto;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking the signers of 256 signed messages from 16 addresses: recovering the public key and hashing its hex
+ * one by one, recovering the addresses with a {@link BatchSignatureVerifier}, and verifying them against the
+ * addresses, whose points are cached after the first iteration.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=BatchVerifyBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchVerifyBenchmark {
+
+    private static final int BATCH_SIZE = 256;
+    private static final int SIGNERS = 16;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private final List<byte[]> messages = new ArrayList<>(BATCH_SIZE);
+    private final List<SignedMessage> signedMessages = new ArrayList<>(BATCH_SIZE);
+    private final List<String> addresses = new ArrayList<>(BATCH_SIZE);
+    private ForkJoinPool pool;
+    private BatchSignatureVerifier verifier;
+
+    @Setup
+    public void setup() {
+        List<Credentials> signers = new ArrayList<>(SIGNERS);
+        for (int i = 0; i < SIGNERS; i++) {
+            signers.add(Credentials.create(ECKeyPair.create(BigInteger.valueOf(1_000_003L * (i + 1)))));
+        }
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Credentials signer = signers.get(i % SIGNERS);
+            byte[] message = ("message " + i).getBytes();
+            messages.add(message);
+            signedMessages.add(SignedMessage.prefixed(message, Sign.signPrefixedMessage(message, signer.getEcKeyPair())));
+            addresses.add(signer.getAddress());
+        }
+        pool = new ForkJoinPool(threads);
+        verifier = new BatchSignatureVerifier(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<String> signedPrefixedMessageToKey() throws Exception {
+        List<String> recovered = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            BigInteger publicKey = Sign.signedPrefixedMessageToKey(messages.get(i), signedMessages.get(i).getSignature());
+            recovered.add(Numeric.prependHexPrefix(Keys.getAddress(publicKey)));
+        }
+        return recovered;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<String> recoverAddresses() {
+        return verifier.recoverAddresses(signedMessages);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public boolean[] verify() {
+        return verifier.verify(signedMessages, addresses);
+    }
+
+}
@@ -0,0 +1,59 @@
+package co.emblock.sdk.crypto;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing a transaction hash: the previous path, signing then recovering the public key for each recId
+ * until it matches, and the {@link RecoverableSigner} giving the recId from the nonce point, created for
+ * each signature or reused by the thread like {@link Sign#signMessage}.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=SignBenchmark} and the gc profiler
+ * ({@code profilers = ['gc']}) to get the bytes allocated per signature.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignBenchmark {
+
+    private final ECKeyPair keyPair = ECKeyPair.create(
+            Numeric.toBigInt("0x4646464646464646464646464646464646464646464646464646464646464646"));
+    private final byte[] messageHash = Hash.sha3(Numeric.hexStringToByteArray(
+            "0xec098504a817c800825208943535353535353535353535353535353535353535880de0b6b3a764000080"));
+    private final RecoverableSigner signer = new RecoverableSigner();
+
+    @Benchmark
+    public Sign.SignatureData signThenRecover() {
+        ECDSASignature sig = keyPair.sign(messageHash);
+        int recId = -1;
+        for (int i = 0; i < 4; i++) {
+            BigInteger k = Sign.recoverFromSignature(i, sig, messageHash);
+            if (k != null && k.equals(keyPair.getPublicKey())) {
+                recId = i;
+                break;
+            }
+        }
+        return new Sign.SignatureData((byte) (recId + 27), Numeric.toBytesPadded(sig.r, 32), Numeric.toBytesPadded(sig.s, 32));
+    }
+
+    @Benchmark
+    public Sign.SignatureData recoverableSignerPerCall() {
+        return new RecoverableSigner().sign(messageHash, keyPair.getPrivateKey());
+    }
+
+    @Benchmark
+    public Sign.SignatureData recoverableSigner() {
+        return signer.sign(messageHash, keyPair.getPrivateKey());
+    }
+
+    @Benchmark
+    public Sign.SignatureData signMessage() {
+        return Sign.signMessage(messageHash, keyPair, false);
+    }
+
+}
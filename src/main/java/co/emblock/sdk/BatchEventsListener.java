@@ -0,0 +1,24 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+
+import java.util.List;
+
+/**
+ * Receives the events in batches, see {@link EventsBatcher}.
+ */
+@FunctionalInterface
+public interface BatchEventsListener {
+
+    /**
+     * @param events the events in the order received, never empty. The list is not reused and can be kept.
+     */
+    void onEvents(List<EventMessage> events);
+
+    /**
+     * Called after the events received before the error were delivered, and with the failure of {@link #onEvents(List)}
+     * when it throws, the failed batch is not delivered again.
+     */
+    default void onError(Throwable e) {
+    }
+}
@@ -0,0 +1,99 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EmblockClientException;
+import co.emblock.sdk.api.EmblockJson;
+import co.emblock.sdk.api.ErrorResponse;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Bridges Retrofit calls to {@link CompletableFuture}s.
+ */
+final class Calls {
+
+    /**
+     * Runs tasks on the thread that completes the call (the OkHttp dispatcher thread).
+     */
+    static final Executor DIRECT = Runnable::run;
+
+    private Calls() {
+    }
+
+    /**
+     * Enqueue a call and complete the returned future with its body, or with an
+     * {@link EmblockClientException} when the server answers with an error.
+     * Only the body (or the error) is kept, the {@link Response} itself is not captured.
+     * Cancelling the future cancels the underlying call.
+     *
+     * @param call     the call to enqueue
+     * @param executor executor used to complete the future
+     */
+    static <T> CompletableFuture<T> enqueue(Call<T> call, Executor executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) call.cancel();
+        });
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                if (response.isSuccessful()) {
+                    T body = response.body();
+                    executor.execute(() -> future.complete(body));
+                } else {
+                    Throwable error;
+                    try {
+                        error = handleResponseError(response);
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                    Throwable e = error;
+                    executor.execute(() -> future.completeExceptionally(e));
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                executor.execute(() -> future.completeExceptionally(t));
+            }
+        });
+        return future;
+    }
+
+    static <T> CompletableFuture<T> failed(Throwable e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    /**
+     * @return the original cause of a failed stage, as passed to the user callbacks
+     */
+    static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    static <T> EmblockClientException handleResponseError(Response<T> response) throws IOException {
+        String content = response.errorBody().string();
+        ErrorResponse error;
+        try {
+            error = EmblockJson.ERROR_RESPONSE.fromJson(content);
+        } catch (IOException | RuntimeException e) {
+            // not a json error, the status code is enough
+            error = null;
+        }
+        String errorMessage = "Error code " + response.code();
+        if (error != null) errorMessage += ": " + error.getMessage();
+        return new EmblockClientException(errorMessage);
+    }
+
+}
@@ -0,0 +1,269 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.Param;
+import co.emblock.sdk.api.ParamResult;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the {@link EmblockClient#callConstant} results.
+ * <p>
+ * Entries are keyed by the function name and the parameters (sorted, hex values lower cased),
+ * they expire after a TTL and the least recently used ones are evicted when the cache is full.
+ * The cache is also an {@link EventsListener}: contract events invalidate either every entry or
+ * the functions configured for the event name. A websocket error invalidates everything since
+ * events may have been missed.
+ * <pre>
+ * ConstantCache cache = ConstantCache.builder()
+ *         .ttl(30, TimeUnit.SECONDS)
+ *         .invalidateOn("Transfer", "balanceOf", "totalSupply")
+ *         .build();
+ * emblockClient.setConstantCache(cache);
+ * </pre>
+ * Cached results are shared between the callers and cannot be modified.
+ */
+public class ConstantCache implements EventsListener {
+
+    private final long ttlNanos;
+    private final int maximumSize;
+    private final boolean invalidateOnAnyEvent;
+    private final Map<String, Set<String>> functionsByEvent;
+    private final LinkedHashMap<Key, CachedResult> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private ConstantCache(Builder builder) {
+        this.ttlNanos = builder.ttlNanos;
+        this.maximumSize = builder.maximumSize;
+        this.invalidateOnAnyEvent = builder.invalidateOnAnyEvent;
+        this.functionsByEvent = new HashMap<>(builder.functionsByEvent);
+        this.entries = new LinkedHashMap<Key, CachedResult>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedResult> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the cached results of a call, or load them. Concurrent loads of the same key share the same call.
+     *
+     * @param functionName name of the constant function
+     * @param parameters   function parameters
+     * @param loader       starts the call when the results are not cached
+     */
+    CompletableFuture<List<ParamResult>> get(String functionName, Map<String, String> parameters,
+                                             Supplier<CompletableFuture<List<ParamResult>>> loader) {
+        Key key = new Key(functionName, parameters);
+        long now = System.nanoTime();
+        CachedResult entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && now - entry.expiresAt < 0) {
+                hits.increment();
+                // a dependent stage, so a caller cancelling it does not cancel the shared one
+                return entry.future.thenApply(results -> results);
+            }
+            misses.increment();
+            entry = new CachedResult(now + ttlNanos);
+            entries.put(key, entry);
+        }
+
+        CachedResult loading = entry;
+        CompletableFuture<List<ParamResult>> load;
+        try {
+            load = loader.get();
+        } catch (Exception e) {
+            load = Calls.failed(e);
+        }
+        load.whenComplete((results, e) -> {
+            if (e != null) {
+                remove(key, loading);
+                loading.future.completeExceptionally(e);
+            } else {
+                loading.future.complete(results != null ? Collections.unmodifiableList(results) : null);
+            }
+        });
+        return loading.future.thenApply(results -> results);
+    }
+
+    private synchronized void remove(Key key, CachedResult entry) {
+        if (entries.get(key) == entry) entries.remove(key);
+    }
+
+    /**
+     * Remove the cached results of a function, whatever the parameters.
+     * Calls running at that time do not populate the cache.
+     */
+    public synchronized void invalidate(String functionName) {
+        Iterator<Key> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().functionName.equals(functionName)) {
+                it.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    @Override
+    public void onEvent(String eventName, List<Param> params, Throwable e) {
+        if (e != null || invalidateOnAnyEvent) {
+            invalidateAll();
+            return;
+        }
+        Set<String> functions = functionsByEvent.get(eventName);
+        if (functions != null) {
+            for (String function : functions) {
+                invalidate(function);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * @return ratio of the calls served from the cache, 1 when nothing has been requested yet
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    private static final class CachedResult {
+        private final long expiresAt;
+        private final CompletableFuture<List<ParamResult>> future = new CompletableFuture<>();
+
+        private CachedResult(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Key {
+        private final String functionName;
+        private final Map<String, String> parameters;
+        private final int hashCode;
+
+        private Key(String functionName, Map<String, String> parameters) {
+            this.functionName = functionName;
+            this.parameters = normalize(parameters);
+            this.hashCode = 31 * functionName.hashCode() + this.parameters.hashCode();
+        }
+
+        private static Map<String, String> normalize(Map<String, String> parameters) {
+            Map<String, String> normalized = new TreeMap<>();
+            if (parameters != null) {
+                for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+                    String value = parameter.getValue();
+                    if (value != null) {
+                        value = value.trim();
+                        // addresses and bytes are case insensitive
+                        if (EmblockUtils.isHexString(value)) value = value.toLowerCase(Locale.ROOT);
+                    }
+                    normalized.put(parameter.getKey(), value);
+                }
+            }
+            return normalized;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return functionName.equals(key.functionName) && parameters.equals(key.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public static class Builder {
+        private long ttlNanos = TimeUnit.MINUTES.toNanos(1);
+        private int maximumSize = 1000;
+        private boolean invalidateOnAnyEvent = false;
+        private final Map<String, Set<String>> functionsByEvent = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder ttl(long duration, TimeUnit unit) {
+            if (duration <= 0) throw new IllegalArgumentException("ttl must be positive");
+            this.ttlNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize < 1) throw new IllegalArgumentException("maximumSize must be at least 1");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Every contract event invalidates the whole cache.
+         */
+        public Builder invalidateOnAnyEvent() {
+            this.invalidateOnAnyEvent = true;
+            return this;
+        }
+
+        /**
+         * An event named {@code eventName} invalidates the results of the given functions.
+         */
+        public Builder invalidateOn(String eventName, String... functionNames) {
+            functionsByEvent.computeIfAbsent(eventName, name -> new HashSet<>()).addAll(Arrays.asList(functionNames));
+            return this;
+        }
+
+        public ConstantCache build() {
+            return new ConstantCache(this);
+        }
+    }
+
+}
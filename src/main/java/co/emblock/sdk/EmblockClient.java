@@ -3,27 +3,38 @@ package co.emblock.sdk;
 import co.emblock.sdk.api.*;
 import co.emblock.sdk.cb.*;
 import co.emblock.sdk.crypto.Credentials;
+import co.emblock.sdk.crypto.Signer;
 import co.emblock.sdk.crypto.Numeric;
 import co.emblock.sdk.crypto.RawTransaction;
 import co.emblock.sdk.crypto.TransactionEncoder;
-import co.emblock.sdk.ws.EventsWebSocketClient;
+import co.emblock.sdk.ws.EventsConnection;
+import co.emblock.sdk.ws.EventsMetrics;
 import co.emblock.sdk.ws.EventsWebSocketListener;
-import com.google.gson.Gson;
+import co.emblock.sdk.ws.OverflowPolicy;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
+import okhttp3.ResponseBody;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Call;
-import retrofit2.Callback;
 import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import static co.emblock.sdk.Calls.failed;
+import static co.emblock.sdk.Calls.handleResponseError;
+import static co.emblock.sdk.Calls.unwrap;
 import static co.emblock.sdk.EmblockUtils.checkNotEmptyOrNull;
 
 /**
@@ -33,27 +44,53 @@ public class EmblockClient {
 
     public static final String SERVER_URL = "https://api.emblock.co";
     public static final String WS_URL = "wss://api.emblock.co/notifs";
+    public static final int DEFAULT_MAX_IN_FLIGHT = 8;
+    private static final String TX_RAW_NULL = "This should not happened, TxRaw is null. Please send an issue on our github.";
     private final EmblockApi emblockApi;
     private final String projectId;
-    private final String wsUrl;
-    private EventsListener eventsListener;
-    private EventsWebSocketClient wsClient;
+    private final EventsConnection eventsConnection;
+    private final Executor callbackExecutor;
+    private final StatusPoller statusPoller;
+    private final EventsDispatcher eventsDispatcher = new EventsDispatcher();
+    private volatile ConstantCache constantCache;
+    private volatile EventsJournal eventsJournal;
+    private volatile EventsSubscription subscription;
+    private boolean subscribing;
 
     public EmblockClient(final String apiToken, final String projectId) {
         this(apiToken, projectId, false, SERVER_URL, WS_URL);
     }
 
     public EmblockClient(final String apiToken, final String projectId, final Boolean logging, final String serverUrl, final String wsUrl) {
-        checkNotEmptyOrNull(apiToken, "apiToken cannot be null or empty");
+        this(apiToken, projectId, logging, serverUrl, wsUrl, Calls.DIRECT);
+    }
+
+    /**
+     * @param callbackExecutor executor running the callbacks and the dependent stages of the async calls.
+     *                         Use it to keep user code off the OkHttp dispatcher threads.
+     */
+    public EmblockClient(final String apiToken, final String projectId, final Boolean logging, final String serverUrl, final String wsUrl, final Executor callbackExecutor) {
+        this(createApi(apiToken, logging, serverUrl), projectId, new EventsConnection(URI.create(wsUrl)), callbackExecutor, StatusPoller.builder().build());
+    }
+
+    /**
+     * Creates a client on top of an existing api proxy, used by {@link EmblockClientFactory}
+     * to share the same transport and events websocket between many projects.
+     */
+    EmblockClient(final EmblockApi emblockApi, final String projectId, final EventsConnection eventsConnection, final Executor callbackExecutor, final StatusPoller statusPoller) {
         checkNotEmptyOrNull(projectId, "projectId cannot be null or empty");
+        this.emblockApi = emblockApi;
         this.projectId = projectId;
-        this.wsUrl = wsUrl;
+        this.eventsConnection = eventsConnection;
+        this.callbackExecutor = callbackExecutor;
+        this.statusPoller = statusPoller;
+    }
+
+    private static EmblockApi createApi(final String apiToken, final Boolean logging, final String serverUrl) {
+        checkNotEmptyOrNull(apiToken, "apiToken cannot be null or empty");
 
         OkHttpClient.Builder okHttpBuilder = new OkHttpClient.Builder()
-                .addInterceptor(chain -> {
-                    Request request = chain.request().newBuilder().addHeader("Authorization", "Bearer " + apiToken).build();
-                    return chain.proceed(request);
-                })
+                .addInterceptor(EmblockClientFactory.authorization(apiToken))
                 .readTimeout(20, TimeUnit.SECONDS)
                 .writeTimeout(20, TimeUnit.SECONDS);
 
@@ -63,11 +100,39 @@ public class EmblockClient {
 
         Retrofit retrofit = new Retrofit.Builder()
                 .baseUrl(serverUrl)
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create(EmblockJson.gson()))
                 .client(okHttpClient)
                 .build();
 
-        emblockApi = retrofit.create(EmblockApi.class);
+        return retrofit.create(EmblockApi.class);
+    }
+
+    /**
+     * Serve the constant calls from a cache. The cache is invalidated by the events received
+     * while an events listener is registered, otherwise the entries only expire.
+     *
+     * @param constantCache the cache, or null to disable it
+     */
+    public void setConstantCache(ConstantCache constantCache) {
+        this.constantCache = constantCache;
+    }
+
+    public ConstantCache getConstantCache() {
+        return constantCache;
+    }
+
+    /**
+     * Append every event received to a journal. Must be set before adding the events listeners: the backfill then
+     * starts from the last event of the journal, so a restart does not read the whole history again.
+     *
+     * @param eventsJournal a journal, null to stop appending
+     */
+    public void setEventsJournal(EventsJournal eventsJournal) {
+        this.eventsJournal = eventsJournal;
+    }
+
+    public EventsJournal getEventsJournal() {
+        return eventsJournal;
     }
 
     /**
@@ -78,31 +143,39 @@ public class EmblockClient {
      * @param cb           callback containing the result
      */
     public void callConstant(String functionName, Map<String, String> parameters, final ConstantCallback cb) {
-        Call<List<ParamResult>> call = emblockApi.callConstant(projectId, functionName, parameters);
-        call.enqueue(new Callback<List<ParamResult>>() {
-            @Override
-            public void onResponse(Call<List<ParamResult>> call, retrofit2.Response<List<ParamResult>> response) {
-                if (response.isSuccessful()) {
-                    List<ParamResult> body = response.body();
-                    cb.onResponse(body, null);
-                } else {
-                    try {
-                        EmblockClientException e = handleResponseError(response);
-                        cb.onResponse(null, e);
-                    } catch (IOException e) {
-                        cb.onResponse(null, e);
-                    }
-                }
-            }
+        callConstantAsync(functionName, parameters)
+                .whenComplete((results, e) -> cb.onResponse(results, unwrap(e)));
+    }
 
-            @Override
-            public void onFailure(Call<List<ParamResult>> call, Throwable t) {
-                cb.onResponse(null, t);
-            }
-        });
+    /**
+     * Call a constant function of the smart contract or get the value of a state
+     *
+     * @param functionName name of the constant function to call
+     * @param parameters   function parameters if needed
+     * @return a stage completed with the results on the callback executor
+     */
+    public CompletableFuture<List<ParamResult>> callConstantAsync(String functionName, Map<String, String> parameters) {
+        ConstantCache cache = constantCache;
+        if (cache != null) {
+            return cache.get(functionName, parameters, () -> enqueue(emblockApi.callConstant(projectId, functionName, parameters)));
+        }
+        return enqueue(emblockApi.callConstant(projectId, functionName, parameters));
     }
 
     public List<ParamResult> callConstant(String functionName, Map<String, String> parameters) throws IOException, EmblockClientException {
+        ConstantCache cache = constantCache;
+        if (cache == null) return executeCallConstant(functionName, parameters);
+
+        return await(cache.get(functionName, parameters, () -> {
+            try {
+                return CompletableFuture.completedFuture(executeCallConstant(functionName, parameters));
+            } catch (IOException | EmblockClientException e) {
+                return failed(e);
+            }
+        }));
+    }
+
+    private List<ParamResult> executeCallConstant(String functionName, Map<String, String> parameters) throws IOException, EmblockClientException {
         Call<List<ParamResult>> call = emblockApi.callConstant(projectId, functionName, parameters);
         Response<List<ParamResult>> response = call.execute();
         if (response.isSuccessful()) {
@@ -112,6 +185,33 @@ public class EmblockClient {
         throw handleResponseError(response);
     }
 
+    /**
+     * Call many constant functions in parallel, with at most {@code maxInFlight} calls running at the same time.
+     *
+     * @param calls       function names and parameters
+     * @param maxInFlight maximum number of calls running at the same time
+     * @return a stage completed with one response per call, in the order of the calls.
+     * A failed call does not fail the others, its error is set on its response.
+     */
+    public CompletableFuture<List<ConstantResponse>> callConstantsAsync(List<ConstantCall> calls, int maxInFlight) {
+        return FanOut.run(calls, maxInFlight,
+                call -> callConstantAsync(call.getFunctionName(), call.getParameters()),
+                ConstantResponse::new);
+    }
+
+    public CompletableFuture<List<ConstantResponse>> callConstantsAsync(List<ConstantCall> calls) {
+        return callConstantsAsync(calls, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public List<ConstantResponse> callConstants(List<ConstantCall> calls, int maxInFlight) throws InterruptedException {
+        try {
+            return callConstantsAsync(calls, maxInFlight).get();
+        } catch (ExecutionException e) {
+            // never happens, errors are set on each response
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     /**
      * Call a smart contract function.
      *
@@ -121,43 +221,28 @@ public class EmblockClient {
      * @param cb            callback to get the function call response containing a "functionCallId" that you need to use to get the function call status.
      */
     public void callFunction(String walletAddress, String functionName, Map<String, String> parameters, final FunctionCallback cb) {
-        Call<FunctionResult> call = emblockApi.callFunction(walletAddress, projectId, functionName, parameters);
-        call.enqueue(new Callback<FunctionResult>() {
-            @Override
-            public void onResponse(Call<FunctionResult> call, retrofit2.Response<FunctionResult> response) {
-                if (response.isSuccessful()) {
-                    FunctionResult body = response.body();
-                    getFunctionStatus(body.getCallId(), (success, e) -> {
-                        if (e != null) {
-                            cb.onResponse(false, null, e);
-                        } else {
-                            String txHash = response.body().getTxHash();
-                            cb.onResponse(success, txHash, null);
-                        }
-                    });
-                } else {
-                    try {
-                        EmblockClientException e = handleResponseError(response);
-                        cb.onResponse(false, null, e);
-                    } catch (IOException e) {
-                        cb.onResponse(false, null, e);
+        callFunctionAsync(walletAddress, functionName, parameters)
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        cb.onResponse(false, null, unwrap(e));
+                    } else {
+                        cb.onResponse(response.isSuccess(), response.getTxHash(), null);
                     }
-                }
-            }
-
-            @Override
-            public void onFailure(Call<FunctionResult> call, Throwable t) {
-                cb.onResponse(false, null, t);
-            }
-        });
+                });
     }
 
-    private <T> EmblockClientException handleResponseError(Response<T> response) throws IOException {
-        String content = response.errorBody().string();
-        ErrorResponse error = new Gson().fromJson(content, ErrorResponse.class);
-        String errorMessage = "Error code " + response.code();
-        if (error != null) errorMessage += ": " + error.getMessage();
-        return new EmblockClientException(errorMessage);
+    /**
+     * Call a smart contract function and get its status.
+     *
+     * @param walletAddress address of the sender that calls the function
+     * @param functionName  name of the function to call
+     * @param parameters    map of the functions parameters. {"param1": "value1", "param2" :"value2"}
+     * @return a stage completed with the call status and the transaction hash
+     */
+    public CompletableFuture<FunctionResponse> callFunctionAsync(String walletAddress, String functionName, Map<String, String> parameters) {
+        return enqueue(emblockApi.callFunction(walletAddress, projectId, functionName, parameters))
+                .thenCompose(result -> awaitFunctionStatusAsync(result.getCallId(), result.getTxHash())
+                        .thenApply(success -> new FunctionResponse(success, result.getTxHash())));
     }
 
     /**
@@ -171,73 +256,86 @@ public class EmblockClient {
      * @param cb           callback to get the function call response containing a "functionCallId" that you need to use to get the function call status.
      */
     public void callFunctionWithClientSideSignature(String privateKey, String publicKey, String functionName, Map<String, String> parameters, final FunctionCallback cb) {
-        Call<FunctionResult> call = emblockApi.callFunction(publicKey, projectId, functionName, parameters);
-        call.enqueue(new Callback<FunctionResult>() {
-            @Override
-            public void onResponse(Call<FunctionResult> call, retrofit2.Response<FunctionResult> response) {
-                if (response.isSuccessful()) {
-                    FunctionResult body = response.body();
-                    RawTransaction rawTx = body.getTxRaw();
-                    String callId = body.getCallId();
-
-                    if (rawTx != null) {
-                        Credentials credentials = Credentials.create(privateKey);
-                        byte[] signatureData = TransactionEncoder.signMessage(rawTx, credentials);
-                        String hexString = Numeric.toHexString(signatureData);
-
-                        emblockApi.callRaw(callId, new CallRawBody(hexString)).enqueue(new Callback<FunctionResult>() {
-                            @Override
-                            public void onResponse(
-                                    Call<FunctionResult> call,
-                                    Response<FunctionResult> response
-                            ) {
-                                if (response.isSuccessful()) {
-                                    String txHash = response.body().getTxHash();
-                                    getFunctionStatus(body.getCallId(), (success, e) -> {
-                                        if (e != null) {
-                                            cb.onResponse(false, txHash, e);
-                                        } else {
-                                            cb.onResponse(success, txHash, null);
-                                        }
-                                    });
-                                } else {
-                                    try {
-                                        EmblockClientException e = handleResponseError(response);
-                                        cb.onResponse(false, null, e);
-                                    } catch (IOException e) {
-                                        cb.onResponse(false, null, e);
-                                    }
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<FunctionResult> call, Throwable t) {
-                                cb.onResponse(false, null, t);
-                            }
-                        });
+        callFunctionWithClientSideSignatureAsync(privateKey, publicKey, functionName, parameters)
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        cb.onResponse(false, null, unwrap(e));
                     } else {
-                        // TxRaw can be null if anything happened before sending it on blockchain
-                        cb.onResponse(false, null, new Exception("This should not happened, TxRaw is null. Please send an issue on our github."));
+                        cb.onResponse(response.isSuccess(), response.getTxHash(), null);
                     }
-                } else {
-                    try {
-                        EmblockClientException e = handleResponseError(response);
-                        cb.onResponse(false, null, e);
-                    } catch (IOException e) {
-                        cb.onResponse(false, null, e);
+                });
+    }
+
+    /**
+     * Call a smart contract function but sign the transaction on client side.
+     * The stages (encoding, signature, raw call and status) are chained without blocking any thread.
+     *
+     * @param privateKey   privateKey needed for client side signature
+     * @param publicKey    we send it to the server to encode the transaction
+     * @param functionName name of the function to call
+     * @param parameters   parameters passed to the function
+     * @return a stage completed with the call status and the transaction hash
+     */
+    public CompletableFuture<FunctionResponse> callFunctionWithClientSideSignatureAsync(String privateKey, String publicKey, String functionName, Map<String, String> parameters) {
+        return callFunctionWithClientSideSignatureAsync(rawTx -> signTransaction(privateKey, rawTx), publicKey, functionName, parameters);
+    }
+
+    /**
+     * Call a smart contract function and sign the transaction on client side with a registered signer.
+     *
+     * @param signer       signer of the wallet, see {@link co.emblock.sdk.crypto.SignerRegistry}
+     * @param functionName name of the function to call
+     * @param parameters   parameters passed to the function
+     * @param cb           callback to get the function call response
+     */
+    public void callFunctionWithClientSideSignature(Signer signer, String functionName, Map<String, String> parameters, final FunctionCallback cb) {
+        callFunctionWithClientSideSignatureAsync(signer, functionName, parameters)
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        cb.onResponse(false, null, unwrap(e));
+                    } else {
+                        cb.onResponse(response.isSuccess(), response.getTxHash(), null);
                     }
-                }
+                });
+    }
 
-            }
+    /**
+     * Call a smart contract function and sign the transaction on client side with a registered signer.
+     *
+     * @param signer       signer of the wallet, see {@link co.emblock.sdk.crypto.SignerRegistry}
+     * @param functionName name of the function to call
+     * @param parameters   parameters passed to the function
+     * @return a stage completed with the call status and the transaction hash
+     */
+    public CompletableFuture<FunctionResponse> callFunctionWithClientSideSignatureAsync(Signer signer, String functionName, Map<String, String> parameters) {
+        return callFunctionWithClientSideSignatureAsync(signer::signTransaction, signer.getAddress(), functionName, parameters);
+    }
 
-            @Override
-            public void onFailure(Call<FunctionResult> call, Throwable t) {
-                cb.onResponse(false, null, t);
-            }
-        });
+    public FunctionResponse callFunctionWithClientSideSignature(Signer signer, String functionName, Map<String, String> parameters) throws IOException, EmblockClientException {
+        return callFunctionWithClientSideSignature(signer::signTransaction, signer.getAddress(), functionName, parameters);
+    }
+
+    private CompletableFuture<FunctionResponse> callFunctionWithClientSideSignatureAsync(Function<RawTransaction, String> signature, String publicKey, String functionName, Map<String, String> parameters) {
+        return enqueue(emblockApi.callFunction(publicKey, projectId, functionName, parameters))
+                .thenCompose(result -> {
+                    RawTransaction rawTx = result.getTxRaw();
+                    if (rawTx == null) {
+                        // TxRaw can be null if anything happened before sending it on blockchain
+                        return failed(new IllegalStateException(TX_RAW_NULL));
+                    }
+                    String callId = result.getCallId();
+                    String signedTx = signature.apply(rawTx);
+                    return enqueue(emblockApi.callRaw(callId, new CallRawBody(signedTx)))
+                            .thenCompose(rawResult -> awaitFunctionStatusAsync(callId, rawResult.getTxHash())
+                                    .thenApply(success -> new FunctionResponse(success, rawResult.getTxHash())));
+                });
     }
 
     public FunctionResponse callFunctionWithClientSideSignature(String privateKey, String publicKey, String functionName, Map<String, String> parameters) throws IOException, EmblockClientException {
+        return callFunctionWithClientSideSignature(rawTx -> signTransaction(privateKey, rawTx), publicKey, functionName, parameters);
+    }
+
+    private FunctionResponse callFunctionWithClientSideSignature(Function<RawTransaction, String> signature, String publicKey, String functionName, Map<String, String> parameters) throws IOException, EmblockClientException {
         Call<FunctionResult> call = emblockApi.callFunction(publicKey, projectId, functionName, parameters);
         Response<FunctionResult> response = call.execute();
         if (response.isSuccessful()) {
@@ -246,20 +344,19 @@ public class EmblockClient {
             String callId = body.getCallId();
 
             if (rawTx != null) {
-                Credentials credentials = Credentials.create(privateKey);
-                byte[] signatureData = TransactionEncoder.signMessage(rawTx, credentials);
-                String hexString = Numeric.toHexString(signatureData);
+                String hexString = signature.apply(rawTx);
 
                 Response<FunctionResult> rawResponse = emblockApi.callRaw(callId, new CallRawBody(hexString)).execute();
                 if (rawResponse.isSuccessful()) {
                     String txHash = rawResponse.body().getTxHash();
-                    boolean success = getFunctionStatus(body.getCallId());
+                    boolean success = await(statusPoller.track(emblockApi, callId, txHash, isListeningEvents())
+                            .thenApply(result -> StatusPoller.SUCCESSFUL.equals(result.getStatus())));
                     return new FunctionResponse(success, txHash);
                 } else {
                     throw handleResponseError(rawResponse);
                 }
             } else {
-                throw new IllegalStateException("This should not happened, TxRaw is null. Please send an issue on our github.");
+                throw new IllegalStateException(TX_RAW_NULL);
             }
         } else {
             throw handleResponseError(response);
@@ -267,148 +364,393 @@ public class EmblockClient {
     }
 
     public void getFunctionCallSignature(String privateKey, String publicKey, String functionName, Map<String, String> parameters, final FunctionCallSignatureCallback cb) {
-        Call<FunctionResult> call = emblockApi.callFunction(publicKey, projectId, functionName, parameters);
-        call.enqueue(new Callback<FunctionResult>() {
-            @Override
-            public void onResponse(Call<FunctionResult> call, retrofit2.Response<FunctionResult> response) {
-                try {
-                    String signature = handleGetFunctionCallSignature(privateKey, response);
-                    cb.onResponse(true, signature, null);
-                } catch (Exception e) {
-                    cb.onResponse(false, null, e);
-                }
-            }
+        getFunctionCallSignatureAsync(privateKey, publicKey, functionName, parameters)
+                .whenComplete((signature, e) -> {
+                    if (e != null) {
+                        cb.onResponse(false, null, unwrap(e));
+                    } else {
+                        cb.onResponse(true, signature, null);
+                    }
+                });
+    }
 
-            @Override
-            public void onFailure(Call<FunctionResult> call, Throwable t) {
-                cb.onResponse(false, null, t);
-            }
-        });
+    public CompletableFuture<String> getFunctionCallSignatureAsync(String privateKey, String publicKey, String functionName, Map<String, String> parameters) {
+        return getFunctionCallSignatureAsync(rawTx -> signTransaction(privateKey, rawTx), publicKey, functionName, parameters);
     }
 
     public String getFunctionCallSignature(String privateKey, String publicKey, String functionName, Map<String, String> parameters) throws Exception {
         Call<FunctionResult> call = emblockApi.callFunction(publicKey, projectId, functionName, parameters);
         Response<FunctionResult> response = call.execute();
-        return handleGetFunctionCallSignature(privateKey, response);
+        return handleGetFunctionCallSignature(rawTx -> signTransaction(privateKey, rawTx), response);
     }
 
-    private String handleGetFunctionCallSignature(String privateKey, Response<FunctionResult> response) throws EmblockClientException, IOException {
+    /**
+     * Sign the transaction of a function call with a registered signer, without sending it.
+     *
+     * @param signer       signer of the wallet, see {@link co.emblock.sdk.crypto.SignerRegistry}
+     * @param functionName name of the function to call
+     * @param parameters   parameters passed to the function
+     * @param cb           callback to get the signed transaction
+     */
+    public void getFunctionCallSignature(Signer signer, String functionName, Map<String, String> parameters, final FunctionCallSignatureCallback cb) {
+        getFunctionCallSignatureAsync(signer, functionName, parameters)
+                .whenComplete((signature, e) -> {
+                    if (e != null) {
+                        cb.onResponse(false, null, unwrap(e));
+                    } else {
+                        cb.onResponse(true, signature, null);
+                    }
+                });
+    }
+
+    public CompletableFuture<String> getFunctionCallSignatureAsync(Signer signer, String functionName, Map<String, String> parameters) {
+        return getFunctionCallSignatureAsync(signer::signTransaction, signer.getAddress(), functionName, parameters);
+    }
+
+    public String getFunctionCallSignature(Signer signer, String functionName, Map<String, String> parameters) throws Exception {
+        Call<FunctionResult> call = emblockApi.callFunction(signer.getAddress(), projectId, functionName, parameters);
+        Response<FunctionResult> response = call.execute();
+        return handleGetFunctionCallSignature(signer::signTransaction, response);
+    }
+
+    private CompletableFuture<String> getFunctionCallSignatureAsync(Function<RawTransaction, String> signature, String publicKey, String functionName, Map<String, String> parameters) {
+        return enqueue(emblockApi.callFunction(publicKey, projectId, functionName, parameters))
+                .thenApply(result -> {
+                    RawTransaction txRaw = result.getTxRaw();
+                    if (txRaw == null) {
+                        // txRaw can be null if transaction has been reverted
+                        throw new IllegalStateException(TX_RAW_NULL);
+                    }
+                    return signature.apply(txRaw);
+                });
+    }
+
+    private String handleGetFunctionCallSignature(Function<RawTransaction, String> signature, Response<FunctionResult> response) throws EmblockClientException, IOException {
         if (response.isSuccessful()) {
             FunctionResult body = response.body();
             RawTransaction txRaw = body.getTxRaw();
 
             if (txRaw != null) {
-                Credentials credentials = Credentials.create(privateKey);
-                byte[] signatureData = TransactionEncoder.signMessage(txRaw, credentials);
-                return Numeric.toHexString(signatureData);
+                return signature.apply(txRaw);
             } else {
                 // txRaw can be null if transaction has been reverted
-                throw new IllegalStateException("This should not happened, TxRaw is null. Please send an issue on our github.");
+                throw new IllegalStateException(TX_RAW_NULL);
             }
         } else {
             throw handleResponseError(response);
         }
     }
 
+    private static String signTransaction(String privateKey, RawTransaction rawTx) {
+        Credentials credentials = Credentials.create(privateKey);
+        byte[] signatureData = TransactionEncoder.signMessage(rawTx, credentials);
+        return Numeric.toHexString(signatureData);
+    }
+
     /**
-     * Get a function status (Successful|Failed) from a callId
+     * Get a function status (Successful|Failed) from a callId.
+     * Only one request is made, a call still pending is reported as not successful,
+     * use {@link #awaitFunctionStatus(String, StatusCallback)} to wait for the final status.
      *
      * @param callId id of a call returned by the 'callFunction'
      * @param cb     callback
      */
     public void getFunctionStatus(String callId, final StatusCallback cb) {
-        emblockApi
-                .getCallStatus(callId)
-                .enqueue(new Callback<CallResult>() {
-                    @Override
-                    public void onResponse(Call<CallResult> call, retrofit2.Response<CallResult> response) {
-                        CallResult body = response.body();
-                        cb.onResponse("Successful".equals(body.getStatus()), null);
-                    }
-
-                    @Override
-                    public void onFailure(Call<CallResult> call, Throwable t) {
-                        cb.onResponse(false, t);
+        getFunctionStatusAsync(callId)
+                .whenComplete((success, e) -> {
+                    if (e != null) {
+                        cb.onResponse(false, unwrap(e));
+                    } else {
+                        cb.onResponse(success, null);
                     }
                 });
     }
 
+    /**
+     * Get a function status from a callId
+     *
+     * @param callId id of a call returned by the 'callFunction'
+     * @return a stage completed with true if the status is "Successful"
+     */
+    public CompletableFuture<Boolean> getFunctionStatusAsync(String callId) {
+        return enqueue(emblockApi.getCallStatus(callId))
+                .thenApply(result -> "Successful".equals(result.getStatus()));
+    }
+
     public boolean getFunctionStatus(String callId) throws IOException {
         Response<CallResult> response = emblockApi.getCallStatus(callId).execute();
         CallResult body = response.body();
         return "Successful".equals(body.getStatus());
     }
 
-    private void getCurrentContract(String projectId, final ContractCallback cb) {
-        emblockApi
-                .getCurrentContract(projectId)
-                .enqueue(new Callback<ContractResult>() {
-                    @Override
-                    public void onResponse(Call<ContractResult> call, retrofit2.Response<ContractResult> response) {
-                        ContractResult body = response.body();
-                        String contractId = body.getDetails().getId();
-                        cb.onResponse(contractId, null);
-                    }
-
-                    @Override
-                    public void onFailure(Call<ContractResult> call, Throwable t) {
-                        cb.onResponse(null, t);
+    /**
+     * Wait for the final status (Successful|Failed) of a call, see {@link StatusPoller}.
+     *
+     * @param callId id of a call returned by the 'callFunction'
+     * @param cb     callback
+     */
+    public void awaitFunctionStatus(String callId, final StatusCallback cb) {
+        awaitFunctionStatusAsync(callId)
+                .whenComplete((success, e) -> {
+                    if (e != null) {
+                        cb.onResponse(false, unwrap(e));
+                    } else {
+                        cb.onResponse(success, null);
                     }
                 });
     }
 
+    /**
+     * Wait for the final status of a call without blocking any thread, see {@link StatusPoller}.
+     *
+     * @param callId id of a call returned by the 'callFunction'
+     * @return a stage completed with true if the final status is "Successful"
+     */
+    public CompletableFuture<Boolean> awaitFunctionStatusAsync(String callId) {
+        return awaitFunctionStatusAsync(callId, null);
+    }
+
+    private CompletableFuture<Boolean> awaitFunctionStatusAsync(String callId, String txHash) {
+        return statusPoller.track(emblockApi, callId, txHash, isListeningEvents())
+                .thenApplyAsync(result -> StatusPoller.SUCCESSFUL.equals(result.getStatus()), callbackExecutor);
+    }
+
+    public boolean awaitFunctionStatus(String callId) throws IOException, EmblockClientException {
+        return await(statusPoller.track(emblockApi, callId)
+                .thenApply(result -> StatusPoller.SUCCESSFUL.equals(result.getStatus())));
+    }
+
+    private boolean isListeningEvents() {
+        EventsSubscription current = subscription;
+        return current != null && current.isOpen();
+    }
+
+    private CompletableFuture<String> getCurrentContractId(String projectId) {
+        return enqueue(emblockApi.getCurrentContract(projectId))
+                .thenApply(result -> result.getDetails().getId());
+    }
+
+    private <T> CompletableFuture<T> enqueue(Call<T> call) {
+        return Calls.enqueue(call, callbackExecutor);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException, EmblockClientException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof EmblockClientException) throw (EmblockClientException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
     /**
      * Listen to events sent by your smart contract.
+     * The websocket is reconnected when it drops and the events missed meanwhile are delivered first.
      *
      * @param eventsListener a listener
      */
     public void addEventsListener(EventsListener eventsListener) {
-        this.eventsListener = eventsListener;
-        getCurrentContract(projectId, (contractId, e) -> {
-            System.out.println("contratID=" + contractId);
+        addEventsListener(EventFilter.ALL, eventsListener, null);
+    }
+
+    /**
+     * Listen to events sent by your smart contract, starting with the events of the history newer than the cursor.
+     * The cursor is moved by every event delivered, store it to resume after a restart. It is ignored if other
+     * listeners are already listening.
+     *
+     * @param eventsListener a listener
+     * @param cursor         position of the last event processed, null to start with the live events
+     */
+    public void addEventsListener(EventsListener eventsListener, EventsCursor cursor) {
+        addEventsListener(EventFilter.ALL, eventsListener, cursor);
+    }
+
+    /**
+     * Listen to the events selected by a filter. Many listeners can be added, they share the same websocket.
+     *
+     * @param filter         events to deliver to the listener
+     * @param eventsListener a listener
+     */
+    public void addEventsListener(EventFilter filter, EventsListener eventsListener) {
+        addEventsListener(filter, eventsListener, null);
+    }
+
+    private void addEventsListener(EventFilter filter, EventsListener eventsListener, EventsCursor cursor) {
+        synchronized (this) {
+            eventsDispatcher.add(filter, eventsListener);
+            if (subscription != null || subscribing) return;
+            subscribing = true;
+        }
+        getCurrentContractId(projectId).whenComplete((contractId, e) -> {
             if (e != null) {
-                eventsListener.onEvent(null, null, e);
-            } else {
-                URI uri = URI.create(wsUrl);
-                wsClient = new EventsWebSocketClient(uri, contractId, new EventsWebSocketListener() {
-                    @Override
-                    public void onEvent(String eventName, List<Param> params) {
-                        eventsListener.onEvent(eventName, params, null);
+                Throwable error = unwrap(e);
+                synchronized (this) {
+                    subscribing = false;
+                }
+                eventsDispatcher.dispatchFailure(error);
+                return;
+            }
+            EventsJournal journal = eventsJournal;
+            EventsCursor start = cursor != null || journal == null ? cursor : journal.cursor();
+            EventsSubscription created = new EventsSubscription(this, eventsConnection, contractId, start, new EventsWebSocketListener() {
+                @Override
+                public void onEvent(EventMessage message) {
+                    if (journal != null) {
+                        try {
+                            journal.append(message);
+                        } catch (IOException e) {
+                            eventsDispatcher.dispatchError(e);
+                        }
                     }
+                    statusPoller.onTransaction(message.getTransactionHash());
+                    ConstantCache cache = constantCache;
+                    if (cache != null) cache.onEvent(message.getName(), message.getParams(), null);
+                    eventsDispatcher.dispatch(message);
+                }
 
-                    @Override
-                    public void onError(Exception ex) {
-                        eventsListener.onEvent(null, null, ex);
-                    }
-                });
-                wsClient.connect();
+                @Override
+                public void onEvent(String eventName, List<Param> params) {
+                    onEvent(new EventMessage(eventName, params));
+                }
+
+                @Override
+                public void onError(Exception ex) {
+                    ConstantCache cache = constantCache;
+                    if (cache != null) cache.onEvent(null, null, ex);
+                    eventsDispatcher.dispatchError(ex);
+                }
+            });
+            synchronized (this) {
+                subscribing = false;
+                // every listener removed while the contract id was requested
+                if (eventsDispatcher.isEmpty()) return;
+                subscription = created;
+            }
+            try {
+                created.connect();
+            } catch (IllegalStateException ex) {
+                // the factory of the client is closed
+                synchronized (this) {
+                    if (subscription == created) subscription = null;
+                }
+                eventsDispatcher.dispatchFailure(ex);
             }
         });
     }
 
+    /**
+     * Get the events of the smart contract as a Reactive Streams publisher, events are delivered on request only.
+     * The events a subscriber has not requested while {@link EventsPublisher#DEFAULT_BUFFER_SIZE} others wait are
+     * dropped.
+     *
+     * @param filter events to publish
+     */
+    public EventsPublisher eventsPublisher(EventFilter filter) {
+        return eventsPublisher(filter, EventsPublisher.DEFAULT_BUFFER_SIZE, OverflowPolicy.DROP_NEWEST);
+    }
+
+    /**
+     * @param filter         events to publish
+     * @param bufferSize     number of events kept for each subscriber until they are requested
+     * @param overflowPolicy what to do with an event when a subscriber buffer is full, {@link OverflowPolicy#BLOCK}
+     *                       holds back the delivery to every listener of the client
+     */
+    public EventsPublisher eventsPublisher(EventFilter filter, int bufferSize, OverflowPolicy overflowPolicy) {
+        return new EventsPublisher(this, filter, bufferSize, overflowPolicy);
+    }
+
+    /**
+     * Stop delivering events to a listener. The websocket subscription ends with the last listener.
+     *
+     * @param eventsListener a listener added before
+     */
+    public void removeEventsListener(EventsListener eventsListener) {
+        EventsSubscription current = null;
+        synchronized (this) {
+            if (eventsDispatcher.remove(eventsListener) && eventsDispatcher.isEmpty()) {
+                current = subscription;
+                subscription = null;
+            }
+        }
+        if (current != null) current.close();
+    }
+
+    /**
+     * @return true if the listener was added and not removed since, it is removed when the events cannot be listened to
+     */
+    boolean hasEventsListener(EventsListener eventsListener) {
+        return eventsDispatcher.contains(eventsListener);
+    }
+
+    /**
+     * Remove every events listener.
+     */
     public void removeEventsListener() {
-        this.eventsListener = null;
-        if (wsClient != null) {
-            wsClient.close();
-            wsClient = null;
+        EventsSubscription current;
+        synchronized (this) {
+            eventsDispatcher.clear();
+            current = subscription;
+            subscription = null;
         }
+        if (current != null) current.close();
+    }
+
+    /**
+     * Measure the events delivery of the websocket of this client. The clients of a factory share their websocket,
+     * set the metrics on the factory builder instead.
+     *
+     * @param eventsMetrics a {@link co.emblock.sdk.ws.HdrEventsMetrics} for instance, {@link EventsMetrics#NOOP} to stop
+     */
+    public void setEventsMetrics(EventsMetrics eventsMetrics) {
+        eventsConnection.setMetrics(eventsMetrics);
     }
 
     public void getEvents(EventsCallback cb) {
-        emblockApi
-                .getEvents(projectId)
-                .enqueue(new Callback<List<EventResult>>() {
-                    @Override
-                    public void onResponse(Call<List<EventResult>> call, Response<List<EventResult>> response) {
-                        List<EventResult> events = response.body();
-                        cb.onResponse(events, null);
-                    }
+        getEventsAsync().whenComplete((events, e) -> cb.onResponse(events, unwrap(e)));
+    }
+
+    /**
+     * Get the events emitted by the smart contract.
+     *
+     * @return a stage completed with the events on the callback executor
+     */
+    public CompletableFuture<List<EventResult>> getEventsAsync() {
+        return enqueue(emblockApi.getEvents(projectId));
+    }
 
-                    @Override
-                    public void onFailure(Call<List<EventResult>> call, Throwable t) {
-                        cb.onResponse(null, t);
+    /**
+     * Stream the events emitted by the smart contract since the cursor. Events are pushed to the consumer in the order
+     * of the response as they are decoded, the whole history is never held in memory.
+     *
+     * @param cursor   position of the previous run, moved to the newest event once the history is read
+     * @param consumer receives the new events, on the callback executor
+     * @return a stage completed with the cursor when the whole history is read
+     */
+    public CompletableFuture<EventsCursor> streamEventsAsync(EventsCursor cursor, Consumer<EventResult> consumer) {
+        return enqueue(emblockApi.getEventsStream(projectId))
+                .thenApply(body -> {
+                    try (ResponseBody events = body) {
+                        EventsStreamReader.read(events.charStream(), cursor, consumer);
+                        return cursor;
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
                     }
                 });
     }
 
-}
\ No newline at end of file
+    public EventsCursor streamEvents(EventsCursor cursor, Consumer<EventResult> consumer) throws IOException, EmblockClientException {
+        Response<ResponseBody> response = emblockApi.getEventsStream(projectId).execute();
+        if (!response.isSuccessful()) throw handleResponseError(response);
+        try (ResponseBody events = response.body()) {
+            EventsStreamReader.read(events.charStream(), cursor, consumer);
+        }
+        return cursor;
+    }
+
+}
@@ -0,0 +1,322 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EmblockApi;
+import co.emblock.sdk.api.EmblockJson;
+import co.emblock.sdk.ws.EventsConnection;
+import co.emblock.sdk.ws.EventsMetrics;
+import co.emblock.sdk.ws.OverflowPolicy;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static co.emblock.sdk.EmblockUtils.checkNotEmptyOrNull;
+
+/**
+ * Creates {@link EmblockClient}s and {@link EmblockWalletClient}s sharing one transport:
+ * the same connection pool, dispatcher threads and TLS sessions are used for every project,
+ * and the events of every contract listened to are received on a single websocket. The events of several contracts
+ * are only told apart when the server sends their contract id, see {@link EventsConnection}.
+ * <p>
+ * Clients created by the factory are lightweight views (a project id on top of an api proxy
+ * shared by every project of the same token), so hundreds of projects cost no more threads
+ * or idle connections than a single one.
+ * <pre>
+ * EmblockClientFactory factory = EmblockClientFactory.builder().maxRequests(128).build();
+ * EmblockClient client = factory.newClient("&lt;API_KEY&gt;", "&lt;PROJECT_ID&gt;");
+ * </pre>
+ */
+public class EmblockClientFactory implements Closeable {
+
+    private final OkHttpClient httpClient;
+    private final Retrofit retrofit;
+    private final EventsConnection eventsConnection;
+    private final Executor callbackExecutor;
+    private final StatusPoller statusPoller;
+    private final boolean ownsStatusPoller;
+    private final boolean ownsDispatcherExecutor;
+    private final ConcurrentMap<String, EmblockApi> apis = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, EmblockApi> walletApis = new ConcurrentHashMap<>();
+
+    private EmblockClientFactory(Builder builder) {
+        this.ownsDispatcherExecutor = builder.dispatcherExecutor == null;
+        Dispatcher dispatcher = builder.dispatcherExecutor != null
+                ? new Dispatcher(builder.dispatcherExecutor)
+                : new Dispatcher();
+        dispatcher.setMaxRequests(builder.maxRequests);
+        dispatcher.setMaxRequestsPerHost(builder.maxRequestsPerHost);
+
+        OkHttpClient.Builder okHttpBuilder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(builder.maxIdleConnections, builder.keepAliveMillis, TimeUnit.MILLISECONDS))
+                .readTimeout(builder.timeoutMillis, TimeUnit.MILLISECONDS)
+                .writeTimeout(builder.timeoutMillis, TimeUnit.MILLISECONDS);
+
+        if (builder.logging) okHttpBuilder.addInterceptor(new HttpLoggingInterceptor());
+
+        this.httpClient = okHttpBuilder.build();
+        this.retrofit = new Retrofit.Builder()
+                .baseUrl(builder.serverUrl)
+                .addConverterFactory(GsonConverterFactory.create(EmblockJson.gson()))
+                .client(httpClient)
+                .build();
+        this.eventsConnection = new EventsConnection(URI.create(builder.wsUrl), 1000, 60000,
+                builder.eventsBufferSize, builder.eventsOverflowPolicy);
+        eventsConnection.setMetrics(builder.eventsMetrics);
+        this.callbackExecutor = builder.callbackExecutor;
+        this.ownsStatusPoller = builder.statusPoller == null;
+        this.statusPoller = ownsStatusPoller ? StatusPoller.builder().build() : builder.statusPoller;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get a client for a project. Clients of the same token share the same api proxy.
+     *
+     * @param apiToken  api token of the project
+     * @param projectId id of the project
+     */
+    public EmblockClient newClient(String apiToken, String projectId) {
+        return new EmblockClient(api(apiToken), projectId, eventsConnection, callbackExecutor, statusPoller);
+    }
+
+    /**
+     * Get a wallet client for a token. Wallet calls keep their longer timeouts but use the shared transport.
+     *
+     * @param apiToken api token
+     */
+    public EmblockWalletClient newWalletClient(String apiToken) {
+        checkNotEmptyOrNull(apiToken, "apiToken cannot be null or empty");
+        EmblockApi api = walletApis.computeIfAbsent(apiToken, token -> createApi(httpClient.newBuilder()
+                .addInterceptor(authorization(token))
+                .readTimeout(2, TimeUnit.MINUTES)
+                .writeTimeout(2, TimeUnit.MINUTES)
+                .build()));
+        return new EmblockWalletClient(api);
+    }
+
+    private EmblockApi api(String apiToken) {
+        checkNotEmptyOrNull(apiToken, "apiToken cannot be null or empty");
+        return apis.computeIfAbsent(apiToken, token -> createApi(httpClient.newBuilder()
+                .addInterceptor(authorization(token))
+                .build()));
+    }
+
+    /**
+     * {@link OkHttpClient#newBuilder()} keeps the dispatcher and the connection pool,
+     * only the interceptors and the timeouts differ between the views.
+     */
+    private EmblockApi createApi(OkHttpClient client) {
+        return retrofit.newBuilder()
+                .client(client)
+                .build()
+                .create(EmblockApi.class);
+    }
+
+    /**
+     * @return number of calls currently running on the shared dispatcher
+     */
+    public int runningCallsCount() {
+        return httpClient.dispatcher().runningCallsCount();
+    }
+
+    /**
+     * @return number of calls waiting for a free slot on the shared dispatcher
+     */
+    public int queuedCallsCount() {
+        return httpClient.dispatcher().queuedCallsCount();
+    }
+
+    /**
+     * @return the poller shared by the clients to wait for the function calls status
+     */
+    public StatusPoller getStatusPoller() {
+        return statusPoller;
+    }
+
+    /**
+     * @return number of contracts listened to on the shared events websocket
+     */
+    public int getEventsSubscriptionCount() {
+        return eventsConnection.getSubscriptionCount();
+    }
+
+    /**
+     * @return number of events received on the shared websocket and not yet delivered to the listeners
+     */
+    public long getEventsBufferDepth() {
+        return eventsConnection.getBufferDepth();
+    }
+
+    /**
+     * @return number of events dropped because the listeners could not keep up, see {@link Builder#eventsBuffer}
+     */
+    public long getDroppedEventsCount() {
+        return eventsConnection.getDroppedCount();
+    }
+
+    /**
+     * @return measures of the events delivery on the shared websocket, see {@link Builder#eventsMetrics}
+     */
+    public EventsMetrics getEventsMetrics() {
+        return eventsConnection.getMetrics();
+    }
+
+    /**
+     * Stop the dispatcher threads, close the idle connections and the events websocket.
+     * Clients created by this factory cannot be used anymore. A dispatcher executor or a status poller given
+     * to the builder is left running.
+     */
+    @Override
+    public void close() {
+        if (ownsStatusPoller) statusPoller.close();
+        eventsConnection.close();
+        apis.clear();
+        walletApis.clear();
+        if (ownsDispatcherExecutor) httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    static Interceptor authorization(String apiToken) {
+        return chain -> {
+            Request request = chain.request().newBuilder().addHeader("Authorization", "Bearer " + apiToken).build();
+            return chain.proceed(request);
+        };
+    }
+
+    public static class Builder {
+        private String serverUrl = EmblockClient.SERVER_URL;
+        private String wsUrl = EmblockClient.WS_URL;
+        private boolean logging = false;
+        // every call goes to the same host, so the per host limit is the one that matters
+        private int maxRequests = 64;
+        private int maxRequestsPerHost = 64;
+        private int maxIdleConnections = 5;
+        private long keepAliveMillis = TimeUnit.MINUTES.toMillis(5);
+        private long timeoutMillis = TimeUnit.SECONDS.toMillis(20);
+        private ExecutorService dispatcherExecutor;
+        private Executor callbackExecutor = Calls.DIRECT;
+        private StatusPoller statusPoller;
+        private int eventsBufferSize = EventsConnection.DEFAULT_BUFFER_SIZE;
+        private OverflowPolicy eventsOverflowPolicy = OverflowPolicy.BLOCK;
+        private EventsMetrics eventsMetrics = EventsMetrics.NOOP;
+
+        private Builder() {
+        }
+
+        public Builder serverUrl(String serverUrl) {
+            this.serverUrl = serverUrl;
+            return this;
+        }
+
+        public Builder wsUrl(String wsUrl) {
+            this.wsUrl = wsUrl;
+            return this;
+        }
+
+        public Builder logging(boolean logging) {
+            this.logging = logging;
+            return this;
+        }
+
+        /**
+         * @param maxRequests maximum number of calls running at the same time for all the projects
+         */
+        public Builder maxRequests(int maxRequests) {
+            if (maxRequests < 1) throw new IllegalArgumentException("maxRequests must be at least 1");
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * @param maxRequestsPerHost maximum number of calls running at the same time on the Emblock server
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            if (maxRequestsPerHost < 1) throw new IllegalArgumentException("maxRequestsPerHost must be at least 1");
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        public Builder maxIdleConnections(int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        public Builder keepAlive(long duration, TimeUnit unit) {
+            this.keepAliveMillis = unit.toMillis(duration);
+            return this;
+        }
+
+        /**
+         * @param timeout read and write timeout of the project calls
+         */
+        public Builder timeout(long timeout, TimeUnit unit) {
+            this.timeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * @param dispatcherExecutor executor running the http calls, OkHttp creates its own cached pool when not set,
+         *                           which the factory shuts down when closed
+         */
+        public Builder dispatcherExecutor(ExecutorService dispatcherExecutor) {
+            this.dispatcherExecutor = dispatcherExecutor;
+            return this;
+        }
+
+        /**
+         * @param callbackExecutor executor running the callbacks of every client
+         */
+        public Builder callbackExecutor(Executor callbackExecutor) {
+            this.callbackExecutor = callbackExecutor;
+            return this;
+        }
+
+        /**
+         * @param statusPoller poller shared by the clients, the factory creates and closes its own when not set
+         */
+        public Builder statusPoller(StatusPoller statusPoller) {
+            this.statusPoller = statusPoller;
+            return this;
+        }
+
+        /**
+         * @param size           number of events received and not yet delivered to the listeners
+         * @param overflowPolicy what to do with an event when the listeners are {@code size} events behind
+         */
+        public Builder eventsBuffer(int size, OverflowPolicy overflowPolicy) {
+            if (size < 1) throw new IllegalArgumentException("size must be at least 1");
+            this.eventsBufferSize = size;
+            this.eventsOverflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * @param eventsMetrics measures of the events delivery, a {@link co.emblock.sdk.ws.HdrEventsMetrics} for instance
+         */
+        public Builder eventsMetrics(EventsMetrics eventsMetrics) {
+            this.eventsMetrics = Objects.requireNonNull(eventsMetrics, "eventsMetrics cannot be null");
+            return this;
+        }
+
+        public EmblockClientFactory build() {
+            return new EmblockClientFactory(this);
+        }
+    }
+
+}
@@ -1,10 +1,10 @@
 package co.emblock.sdk;
 
 import co.emblock.sdk.api.EmblockApi;
+import co.emblock.sdk.api.EmblockJson;
 import co.emblock.sdk.api.TransferBody;
 import co.emblock.sdk.cb.TransferCallback;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -26,13 +26,22 @@ public class EmblockWalletClient {
     public static String ETH_NETWORK_ROPSTEN = "3";
 
     public EmblockWalletClient(final String apiToken) {
+        this(createApi(apiToken));
+    }
+
+    /**
+     * Creates a client on top of an existing api proxy, used by {@link EmblockClientFactory}
+     * to share the same transport between many tokens.
+     */
+    EmblockWalletClient(final EmblockApi emblockApi) {
+        this.emblockApi = emblockApi;
+    }
+
+    private static EmblockApi createApi(final String apiToken) {
         checkNotEmptyOrNull(apiToken, "apiToken cannot be null or empty");
 
         OkHttpClient httpClient = new OkHttpClient.Builder()
-                .addInterceptor(chain -> {
-                    Request request = chain.request().newBuilder().addHeader("Authorization", "Bearer " + apiToken).build();
-                    return chain.proceed(request);
-                })
+                .addInterceptor(EmblockClientFactory.authorization(apiToken))
                 .readTimeout(2, TimeUnit.MINUTES)
                 .writeTimeout(2, TimeUnit.MINUTES)
                 .build();
@@ -40,11 +49,11 @@ public class EmblockWalletClient {
 
         Retrofit retrofit = new Retrofit.Builder()
                 .baseUrl(EmblockClient.SERVER_URL)
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create(EmblockJson.gson()))
                 .client(httpClient)
                 .build();
 
-        emblockApi = retrofit.create(EmblockApi.class);
+        return retrofit.create(EmblockApi.class);
     }
 
     public void transfer(
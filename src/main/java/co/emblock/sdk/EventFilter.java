@@ -0,0 +1,141 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.Param;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Selects the events delivered to a listener, see {@link EmblockClient#addEventsListener(EventFilter, EventsListener)}.
+ * <p>
+ * Event names and addresses are indexed, so a listener is only looked at for the events it may match.
+ * The other conditions are checked on these events only.
+ * <pre>
+ * EventFilter filter = EventFilter.builder()
+ *         .name("Transfer")
+ *         .address("0x627306090abab3a6e1400e9345bc60c78a8bef57")
+ *         .build();
+ * </pre>
+ */
+public class EventFilter {
+
+    /**
+     * Every event of the contract.
+     */
+    public static final EventFilter ALL = builder().build();
+
+    private final Set<String> names;
+    private final Set<String> addresses;
+    private final Map<Integer, String> paramValues;
+    private final List<Predicate<List<Param>>> predicates;
+
+    private EventFilter(Builder builder) {
+        this.names = Collections.unmodifiableSet(new HashSet<>(builder.names));
+        this.addresses = Collections.unmodifiableSet(new HashSet<>(builder.addresses));
+        this.paramValues = Collections.unmodifiableMap(new HashMap<>(builder.paramValues));
+        this.predicates = Collections.unmodifiableList(new ArrayList<>(builder.predicates));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return names of the events selected, empty for any name
+     */
+    public Set<String> getNames() {
+        return names;
+    }
+
+    /**
+     * @return addresses of which at least one must be a parameter of the event (lower cased), empty for any
+     */
+    public Set<String> getAddresses() {
+        return addresses;
+    }
+
+    public boolean matches(String eventName, List<Param> params) {
+        if (!names.isEmpty() && !names.contains(eventName)) return false;
+        if (!addresses.isEmpty() && !hasAddress(params)) return false;
+        for (Map.Entry<Integer, String> paramValue : paramValues.entrySet()) {
+            int index = paramValue.getKey();
+            if (params == null || index >= params.size()) return false;
+            if (!sameValue(paramValue.getValue(), params.get(index).getValue())) return false;
+        }
+        for (Predicate<List<Param>> predicate : predicates) {
+            if (!predicate.test(params)) return false;
+        }
+        return true;
+    }
+
+    private boolean hasAddress(List<Param> params) {
+        if (params == null) return false;
+        for (Param param : params) {
+            String value = param.getValue();
+            if (value != null && addresses.contains(normalize(value))) return true;
+        }
+        return false;
+    }
+
+    private static boolean sameValue(String expected, String value) {
+        return value != null && normalize(value).equals(expected);
+    }
+
+    /**
+     * Addresses and bytes are case insensitive.
+     */
+    static String normalize(String value) {
+        String trimmed = value.trim();
+        return EmblockUtils.isHexString(trimmed) ? trimmed.toLowerCase(Locale.ROOT) : trimmed;
+    }
+
+    public static class Builder {
+        private final Set<String> names = new HashSet<>();
+        private final Set<String> addresses = new HashSet<>();
+        private final Map<Integer, String> paramValues = new HashMap<>();
+        private final List<Predicate<List<Param>>> predicates = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Select the events with one of these names. Calls add up.
+         */
+        public Builder name(String... eventNames) {
+            names.addAll(Arrays.asList(eventNames));
+            return this;
+        }
+
+        /**
+         * Select the events having one of these addresses as a parameter value. Calls add up.
+         */
+        public Builder address(String... addresses) {
+            for (String address : addresses) {
+                this.addresses.add(normalize(address));
+            }
+            return this;
+        }
+
+        /**
+         * Select the events whose parameter at {@code index} has this value.
+         */
+        public Builder param(int index, String value) {
+            if (index < 0) throw new IllegalArgumentException("index must be positive");
+            paramValues.put(index, normalize(value));
+            return this;
+        }
+
+        /**
+         * Select the events whose parameters match the predicate.
+         */
+        public Builder where(Predicate<List<Param>> predicate) {
+            predicates.add(predicate);
+            return this;
+        }
+
+        public EventFilter build() {
+            return new EventFilter(this);
+        }
+    }
+
+}
@@ -0,0 +1,329 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.EventResult;
+import co.emblock.sdk.api.Param;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Counts the events and sums a parameter per key over tumbling or sliding windows of block timestamps, emitting
+ * the aggregates of a window when it closes.
+ * <pre>
+ * // transfer volume per sender, over 10 minutes every minute
+ * EventsAggregator volumes = EventsAggregator.builder()
+ *         .filter(EventFilter.builder().name("Transfer").build())
+ *         .sliding(600, 60)
+ *         .byParam(0)
+ *         .value(2)
+ *         .onWindow(aggregates -> report(aggregates))
+ *         .build();
+ * volumes.onEvents(client.getEventsAsync().join());
+ * client.addEventsListener(volumes);
+ * </pre>
+ * The historical events and the live ones feed the same aggregator. A sliding window is made of panes of the
+ * slide length, each key keeps one counter per pane whatever its number of events: the state is an array of
+ * {@code size / slide} panes per key with events in the open windows, and closing a pane reads the panes of every
+ * key, so keep {@code size / slide} small when there are many keys.
+ * <p>
+ * The time only moves with the block timestamps: a window closes when an event of a later pane is received, or on
+ * {@link #flush()}. Events of a pane already closed are late and ignored. Events without a timestamp go to the
+ * current pane; before the first event with a timestamp, or after a flush, there is no current pane and they are
+ * ignored and counted as late.
+ */
+public class EventsAggregator implements EventsListener {
+
+    private final EventFilter filter;
+    private final long slide;
+    private final int panesPerWindow;
+    private final Function<EventMessage, String> keySelector;
+    private final int valueIndex;
+    private final Consumer<List<WindowAggregate>> listener;
+    private final Map<String, Pane[]> panes = new HashMap<>();
+    private boolean started;
+    // index of the most recent pane, the pane of the timestamp t is floor(t / slide)
+    private long currentPane;
+    private long lateCount;
+
+    private EventsAggregator(Builder builder) {
+        this.filter = builder.filter;
+        this.slide = builder.slide;
+        this.panesPerWindow = (int) (builder.size / builder.slide);
+        this.keySelector = builder.keySelector;
+        this.valueIndex = builder.valueIndex;
+        this.listener = builder.listener;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void onEvent(String eventName, List<Param> params, Throwable e) {
+        // the aggregates only move with the events, the reconnection recovers the errors
+        if (e == null) onEvent(new EventMessage(eventName, params));
+    }
+
+    @Override
+    public synchronized void onEvent(EventMessage message) {
+        if (!filter.matches(message.getName(), message.getParams())) return;
+        Long timestamp = message.getBlockTimestamp();
+        long pane;
+        if (timestamp != null) {
+            pane = Math.floorDiv(timestamp, slide);
+        } else if (started) {
+            pane = currentPane;
+        } else {
+            lateCount++;
+            return;
+        }
+        if (!started) {
+            started = true;
+            currentPane = pane;
+        } else if (pane > currentPane) {
+            advance(pane);
+        } else if (pane < currentPane) {
+            lateCount++;
+            return;
+        }
+        add(keySelector.apply(message), pane, value(message.getParams()));
+    }
+
+    /**
+     * Aggregate a historical event.
+     */
+    public void onEvent(EventResult event) {
+        onEvent(EventMessage.fromEventResult(event));
+    }
+
+    /**
+     * Aggregate historical events, in the order of their block timestamps.
+     */
+    public void onEvents(List<EventResult> events) {
+        for (EventResult event : events) {
+            onEvent(event);
+        }
+    }
+
+    /**
+     * Emit the windows still open and start again from the next event, at the end of historical events
+     * aggregated alone for instance.
+     */
+    public synchronized void flush() {
+        if (!started) return;
+        for (long pane = currentPane; pane < currentPane + panesPerWindow; pane++) {
+            emit(pane);
+        }
+        panes.clear();
+        started = false;
+    }
+
+    /**
+     * @return number of events ignored because their window was closed, or because they had no timestamp while
+     * no window was open
+     */
+    public synchronized long getLateCount() {
+        return lateCount;
+    }
+
+    /**
+     * @return number of keys with events in the open windows
+     */
+    public synchronized int getKeyCount() {
+        return panes.size();
+    }
+
+    /**
+     * Close the windows ending before the new pane. The windows ending after the current pane plus the window
+     * length only have empty panes and are skipped, so a gap in the timestamps costs at most one window.
+     */
+    private void advance(long newPane) {
+        long last = Math.min(newPane - 1, currentPane + panesPerWindow - 1);
+        for (long pane = currentPane; pane <= last; pane++) {
+            emit(pane);
+        }
+        currentPane = newPane;
+    }
+
+    private void add(String key, long pane, BigInteger value) {
+        Pane[] ring = panes.computeIfAbsent(key, k -> new Pane[panesPerWindow]);
+        int slot = (int) Math.floorMod(pane, (long) panesPerWindow);
+        Pane current = ring[slot];
+        if (current == null) {
+            current = new Pane();
+            ring[slot] = current;
+        }
+        if (current.index != pane) current.reset(pane);
+        current.add(value);
+    }
+
+    private BigInteger value(List<Param> params) {
+        if (valueIndex < 0 || params == null || params.size() <= valueIndex) return null;
+        try {
+            return params.get(valueIndex).asBigInteger();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Emit the window ending with the pane and forget the keys without events in the next windows.
+     */
+    private void emit(long lastPane) {
+        long firstPane = lastPane - panesPerWindow + 1;
+        List<WindowAggregate> aggregates = new ArrayList<>();
+        Iterator<Map.Entry<String, Pane[]>> iterator = panes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Pane[]> entry = iterator.next();
+            long count = 0;
+            BigInteger sum = null;
+            BigInteger min = null;
+            BigInteger max = null;
+            boolean next = false;
+            for (Pane pane : entry.getValue()) {
+                if (pane == null || pane.index < firstPane || pane.index > lastPane) continue;
+                next |= pane.index > firstPane;
+                count += pane.count;
+                if (pane.sum != null) {
+                    sum = sum == null ? pane.sum : sum.add(pane.sum);
+                    min = min == null ? pane.min : min.min(pane.min);
+                    max = max == null ? pane.max : max.max(pane.max);
+                }
+            }
+            if (count > 0) {
+                aggregates.add(new WindowAggregate(entry.getKey(), firstPane * slide, (lastPane + 1) * slide,
+                        count, sum, min, max));
+            }
+            if (!next) iterator.remove();
+        }
+        if (!aggregates.isEmpty()) listener.accept(aggregates);
+    }
+
+    private static final class Pane {
+        private long index;
+        private long count;
+        private BigInteger sum;
+        private BigInteger min;
+        private BigInteger max;
+
+        private void reset(long index) {
+            this.index = index;
+            count = 0;
+            sum = null;
+            min = null;
+            max = null;
+        }
+
+        private void add(BigInteger value) {
+            count++;
+            if (value == null) return;
+            sum = sum == null ? value : sum.add(value);
+            min = min == null ? value : min.min(value);
+            max = max == null ? value : max.max(value);
+        }
+    }
+
+    public static class Builder {
+        private EventFilter filter = EventFilter.ALL;
+        private long size = -1;
+        private long slide;
+        private Function<EventMessage, String> keySelector = EventMessage::getName;
+        private int valueIndex = -1;
+        private Consumer<List<WindowAggregate>> listener;
+
+        private Builder() {
+        }
+
+        /**
+         * Only aggregate the events matching the filter, useful for the historical events.
+         */
+        public Builder filter(EventFilter filter) {
+            this.filter = Objects.requireNonNull(filter, "filter cannot be null");
+            return this;
+        }
+
+        /**
+         * Windows following each other.
+         *
+         * @param size length of a window, in the unit of the block timestamps
+         */
+        public Builder tumbling(long size) {
+            return sliding(size, size);
+        }
+
+        /**
+         * Overlapping windows, a window starts every {@code slide}.
+         *
+         * @param size  length of a window, in the unit of the block timestamps
+         * @param slide interval between the windows, {@code size} must be a multiple of it
+         */
+        public Builder sliding(long size, long slide) {
+            if (slide < 1) throw new IllegalArgumentException("slide must be at least 1");
+            if (size < slide || size % slide != 0) throw new IllegalArgumentException("size must be a multiple of slide");
+            if (size / slide > Integer.MAX_VALUE) throw new IllegalArgumentException("too many slides in a window");
+            this.size = size;
+            this.slide = slide;
+            return this;
+        }
+
+        /**
+         * Aggregate per event name, the default.
+         */
+        public Builder byName() {
+            this.keySelector = EventMessage::getName;
+            return this;
+        }
+
+        /**
+         * Aggregate per value of the parameter at {@code index}, addresses are case insensitive.
+         */
+        public Builder byParam(int index) {
+            if (index < 0) throw new IllegalArgumentException("index must be positive");
+            this.keySelector = message -> {
+                List<Param> params = message.getParams();
+                if (params == null || params.size() <= index || params.get(index).getValue() == null) return null;
+                return EventFilter.normalize(params.get(index).getValue());
+            };
+            return this;
+        }
+
+        /**
+         * Aggregate per key computed from the event.
+         */
+        public Builder byKey(Function<EventMessage, String> keySelector) {
+            this.keySelector = Objects.requireNonNull(keySelector, "keySelector cannot be null");
+            return this;
+        }
+
+        /**
+         * Sum the numeric parameter at {@code index}, and keep its minimum and maximum.
+         */
+        public Builder value(int index) {
+            if (index < 0) throw new IllegalArgumentException("index must be positive");
+            this.valueIndex = index;
+            return this;
+        }
+
+        /**
+         * @param listener receives the aggregates of every key of a window when it closes, on the events thread
+         */
+        public Builder onWindow(Consumer<List<WindowAggregate>> listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public EventsAggregator build() {
+            if (size < 0) throw new IllegalStateException("tumbling or sliding window required");
+            Objects.requireNonNull(listener, "onWindow listener is required");
+            return new EventsAggregator(this);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups the events into batches for a {@link BatchEventsListener}, a batch is delivered when it reaches its
+ * maximum size or when its first event has waited for the linger time.
+ * <pre>
+ * EventsBatcher batcher = EventsBatcher.builder(events -> repository.insertAll(events))
+ *         .maxSize(500)
+ *         .linger(200, TimeUnit.MILLISECONDS)
+ *         .build();
+ * client.addEventsListener(batcher);
+ * </pre>
+ * Full batches are delivered on the events thread, the others on the executor of the batcher. Batches are
+ * delivered one at a time and in order, the events dispatch waits while a batch is delivered. A batch the listener
+ * fails on is reported to {@link BatchEventsListener#onError(Throwable)}. Close the batcher after it is removed to
+ * deliver the last events.
+ */
+public class EventsBatcher implements EventsListener, Closeable {
+
+    public static final int DEFAULT_MAX_SIZE = 256;
+    public static final long DEFAULT_LINGER_MILLIS = 100;
+
+    // one timer for all the batchers, it only swaps the batches and hands them to the executors
+    private static final ScheduledThreadPoolExecutor LINGER_SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "emblock-events-linger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // delivers the batches of the batchers without executor, a thread per batcher delivering at the same time
+    private static final ThreadPoolExecutor DELIVERY_EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+            30, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "emblock-events-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        LINGER_SCHEDULER.setKeepAliveTime(30, TimeUnit.SECONDS);
+        LINGER_SCHEDULER.allowCoreThreadTimeOut(true);
+        LINGER_SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final BatchEventsListener listener;
+    private final int maxSize;
+    private final long lingerNanos;
+    private final Executor executor;
+    // batches and errors in the order they happened, delivered by the holder of the deliveryLock
+    private final Queue<Runnable> deliveries = new ConcurrentLinkedQueue<>();
+    private final Object deliveryLock = new Object();
+    private List<EventMessage> batch;
+    private ScheduledFuture<?> lingerFlush;
+    private boolean closed;
+
+    private EventsBatcher(Builder builder) {
+        this.listener = builder.listener;
+        this.maxSize = builder.maxSize;
+        this.lingerNanos = builder.lingerNanos;
+        this.executor = builder.executor;
+        this.batch = new ArrayList<>(maxSize);
+    }
+
+    public static Builder builder(BatchEventsListener listener) {
+        return new Builder(listener);
+    }
+
+    @Override
+    public void onEvent(EventMessage message) {
+        synchronized (this) {
+            if (closed) return;
+            batch.add(message);
+            if (batch.size() < maxSize) {
+                if (batch.size() == 1 && lingerNanos > 0) {
+                    List<EventMessage> lingering = batch;
+                    lingerFlush = LINGER_SCHEDULER.schedule(() -> linger(lingering), lingerNanos, TimeUnit.NANOSECONDS);
+                }
+                return;
+            }
+            swap();
+        }
+        deliver();
+    }
+
+    @Override
+    public void onEvent(String eventName, List<Param> params, Throwable e) {
+        if (e == null) {
+            onEvent(new EventMessage(eventName, params));
+            return;
+        }
+        synchronized (this) {
+            swap();
+            deliveries.add(() -> listener.onError(e));
+        }
+        deliver();
+    }
+
+    /**
+     * Runs on the timer thread, the batch is delivered on the executor.
+     */
+    private void linger(List<EventMessage> lingering) {
+        synchronized (this) {
+            // the batch was already delivered full if it changed
+            if (batch != lingering) return;
+            swap();
+        }
+        try {
+            executor.execute(this::deliver);
+        } catch (RejectedExecutionException e) {
+            deliver();
+        }
+    }
+
+    /**
+     * Deliver the pending events now.
+     */
+    public void flush() {
+        synchronized (this) {
+            swap();
+        }
+        deliver();
+    }
+
+    /**
+     * Queue the pending events for delivery, under the lock of the batcher.
+     */
+    private void swap() {
+        if (lingerFlush != null) {
+            lingerFlush.cancel(false);
+            lingerFlush = null;
+        }
+        if (batch.isEmpty()) return;
+        List<EventMessage> events = batch;
+        batch = new ArrayList<>(maxSize);
+        deliveries.add(() -> {
+            try {
+                listener.onEvents(events);
+            } catch (RuntimeException e) {
+                listener.onError(e);
+            }
+        });
+    }
+
+    /**
+     * Deliver the queued batches and errors, waiting for a delivery in progress on another thread.
+     */
+    private void deliver() {
+        synchronized (deliveryLock) {
+            Runnable delivery;
+            while ((delivery = deliveries.poll()) != null) {
+                try {
+                    delivery.run();
+                } catch (RuntimeException e) {
+                    // the listener failed on its error path, the next batches are still delivered
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of events waiting for the next batch
+     */
+    public synchronized int getPendingCount() {
+        return batch.size();
+    }
+
+    /**
+     * Deliver the pending events, the events received after are ignored.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            swap();
+            closed = true;
+        }
+        deliver();
+    }
+
+    public static class Builder {
+        private final BatchEventsListener listener;
+        private int maxSize = DEFAULT_MAX_SIZE;
+        private long lingerNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_LINGER_MILLIS);
+        private Executor executor = DELIVERY_EXECUTOR;
+
+        private Builder(BatchEventsListener listener) {
+            this.listener = Objects.requireNonNull(listener, "listener cannot be null");
+        }
+
+        /**
+         * @param maxSize number of events of a full batch
+         */
+        public Builder maxSize(int maxSize) {
+            if (maxSize < 1) throw new IllegalArgumentException("maxSize must be at least 1");
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param linger how long the first event of a batch waits for the batch to fill, 0 to only deliver full
+         *               batches and on {@link #flush()}
+         */
+        public Builder linger(long linger, TimeUnit unit) {
+            if (linger < 0) throw new IllegalArgumentException("linger must be positive");
+            this.lingerNanos = unit.toNanos(linger);
+            return this;
+        }
+
+        /**
+         * @param executor delivers the batches when their linger time is over, by default a thread of a pool shared
+         *                 by the batchers
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+            return this;
+        }
+
+        public EventsBatcher build() {
+            return new EventsBatcher(this);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventResult;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Position in the events history of a contract: the timestamp of the last block processed
+ * and the transactions of this block already processed.
+ * <p>
+ * Pass the same cursor to {@link EmblockClient#streamEventsAsync(EventsCursor, java.util.function.Consumer)}
+ * to only process the events newer than the previous run. Store the timestamp and the hashes
+ * to resume after a restart.
+ */
+public class EventsCursor {
+
+    private long lastBlockTimestamp;
+    private Set<String> lastTransactionHashes;
+
+    /**
+     * A cursor at the beginning of the history.
+     */
+    public EventsCursor() {
+        this(-1, Collections.emptySet());
+    }
+
+    public EventsCursor(long lastBlockTimestamp, Collection<String> lastTransactionHashes) {
+        this.lastBlockTimestamp = lastBlockTimestamp;
+        this.lastTransactionHashes = Collections.unmodifiableSet(new HashSet<>(lastTransactionHashes));
+    }
+
+    public synchronized long getLastBlockTimestamp() {
+        return lastBlockTimestamp;
+    }
+
+    public synchronized Set<String> getLastTransactionHashes() {
+        return lastTransactionHashes;
+    }
+
+    /**
+     * @return true if the event was not processed before the position of this cursor
+     */
+    synchronized boolean isNew(EventResult event) {
+        long timestamp = timestamp(event);
+        return timestamp > lastBlockTimestamp
+                || (timestamp == lastBlockTimestamp && !lastTransactionHashes.contains(event.getTransactionHash()));
+    }
+
+    /**
+     * Move the cursor to an event received live, if it is newer.
+     */
+    synchronized void advance(long blockTimestamp, String transactionHash) {
+        if (blockTimestamp > lastBlockTimestamp) {
+            lastBlockTimestamp = blockTimestamp;
+            lastTransactionHashes = Collections.singleton(transactionHash);
+        } else if (blockTimestamp == lastBlockTimestamp && !lastTransactionHashes.contains(transactionHash)) {
+            Set<String> hashes = new HashSet<>(lastTransactionHashes);
+            hashes.add(transactionHash);
+            lastTransactionHashes = Collections.unmodifiableSet(hashes);
+        }
+    }
+
+    /**
+     * @return true if the cursor is still at the beginning of the history
+     */
+    synchronized boolean isAtBeginning() {
+        return lastBlockTimestamp < 0;
+    }
+
+    synchronized void update(long lastBlockTimestamp, Set<String> lastTransactionHashes) {
+        this.lastBlockTimestamp = lastBlockTimestamp;
+        this.lastTransactionHashes = Collections.unmodifiableSet(lastTransactionHashes);
+    }
+
+    static long timestamp(EventResult event) {
+        return event.getBlockTimestamp() != null ? event.getBlockTimestamp() : 0;
+    }
+
+}
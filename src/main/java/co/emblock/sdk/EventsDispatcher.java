@@ -0,0 +1,177 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+
+import java.util.*;
+
+/**
+ * Delivers the events to the listeners whose filter matches.
+ * <p>
+ * Listeners are indexed by event name, or by address when their filter has no name, or kept in a list
+ * of listeners to all events otherwise. The index is immutable and replaced when a listener is added or
+ * removed, so dispatching takes no lock and listeners can change while events flow.
+ */
+final class EventsDispatcher {
+
+    private static final Registration[] NONE = new Registration[0];
+
+    private final List<Registration> registrations = new ArrayList<>();
+    private volatile Index index = new Index(Collections.emptyList());
+
+    synchronized void add(EventFilter filter, EventsListener listener) {
+        registrations.add(new Registration(filter, listener));
+        index = new Index(registrations);
+    }
+
+    /**
+     * @return true if the listener was registered
+     */
+    synchronized boolean remove(EventsListener listener) {
+        boolean removed = registrations.removeIf(registration -> registration.listener == listener);
+        if (removed) index = new Index(registrations);
+        return removed;
+    }
+
+    synchronized void clear() {
+        registrations.clear();
+        index = new Index(registrations);
+    }
+
+    synchronized boolean contains(EventsListener listener) {
+        for (Registration registration : registrations) {
+            if (registration.listener == listener) return true;
+        }
+        return false;
+    }
+
+    boolean isEmpty() {
+        return index.size == 0;
+    }
+
+    int size() {
+        return index.size;
+    }
+
+    void dispatch(EventMessage message) {
+        String eventName = message.getName();
+        List<Param> params = message.getParams();
+        Index current = index;
+        for (Registration registration : current.all) {
+            registration.deliver(message);
+        }
+        if (eventName != null) {
+            for (Registration registration : current.byName.getOrDefault(eventName, NONE)) {
+                registration.deliver(message);
+            }
+        }
+        if (!current.byAddress.isEmpty() && params != null) {
+            List<Registration> delivered = null;
+            for (Param param : params) {
+                if (param.getValue() == null) continue;
+                Registration[] candidates = current.byAddress.get(EventFilter.normalize(param.getValue()));
+                if (candidates == null) continue;
+                for (Registration registration : candidates) {
+                    // an event may carry several addresses of the same filter
+                    if (delivered == null) delivered = new ArrayList<>();
+                    else if (delivered.contains(registration)) continue;
+                    delivered.add(registration);
+                    registration.deliver(message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Errors are delivered to every listener.
+     */
+    void dispatchError(Throwable e) {
+        for (Registration registration : index.registrations) {
+            registration.fail(e);
+        }
+    }
+
+    /**
+     * Errors after which no event is delivered anymore: the listeners are removed, then get the error.
+     */
+    void dispatchFailure(Throwable e) {
+        Registration[] removed;
+        synchronized (this) {
+            removed = index.registrations;
+            clear();
+        }
+        for (Registration registration : removed) {
+            registration.fail(e);
+        }
+    }
+
+    private static final class Registration {
+        private final EventFilter filter;
+        private final EventsListener listener;
+
+        private Registration(EventFilter filter, EventsListener listener) {
+            this.filter = filter;
+            this.listener = listener;
+        }
+
+        /**
+         * A listener failing on an event gets the failure on its error path, and the other listeners still
+         * get the event.
+         */
+        private void deliver(EventMessage message) {
+            try {
+                if (filter.matches(message.getName(), message.getParams())) listener.onEvent(message);
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Throwable e) {
+            try {
+                listener.onEvent(null, null, e);
+            } catch (RuntimeException ignored) {
+                // the listener also fails on its error path, there is nowhere left to report it
+            }
+        }
+    }
+
+    private static final class Index {
+        private final int size;
+        private final Registration[] registrations;
+        private final Registration[] all;
+        private final Map<String, Registration[]> byName;
+        private final Map<String, Registration[]> byAddress;
+
+        private Index(List<Registration> registrations) {
+            List<Registration> all = new ArrayList<>();
+            Map<String, List<Registration>> byName = new HashMap<>();
+            Map<String, List<Registration>> byAddress = new HashMap<>();
+            for (Registration registration : registrations) {
+                if (!registration.filter.getNames().isEmpty()) {
+                    for (String name : registration.filter.getNames()) {
+                        byName.computeIfAbsent(name, key -> new ArrayList<>()).add(registration);
+                    }
+                } else if (!registration.filter.getAddresses().isEmpty()) {
+                    for (String address : registration.filter.getAddresses()) {
+                        byAddress.computeIfAbsent(address, key -> new ArrayList<>()).add(registration);
+                    }
+                } else {
+                    all.add(registration);
+                }
+            }
+            this.size = registrations.size();
+            this.registrations = registrations.toArray(NONE);
+            this.all = all.toArray(NONE);
+            this.byName = toArrays(byName);
+            this.byAddress = toArrays(byAddress);
+        }
+
+        private static Map<String, Registration[]> toArrays(Map<String, List<Registration>> lists) {
+            Map<String, Registration[]> arrays = new HashMap<>(lists.size() * 2);
+            for (Map.Entry<String, List<Registration>> entry : lists.entrySet()) {
+                arrays.put(entry.getKey(), entry.getValue().toArray(NONE));
+            }
+            return arrays;
+        }
+    }
+}
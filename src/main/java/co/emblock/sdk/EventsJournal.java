@@ -0,0 +1,368 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EmblockJson;
+import co.emblock.sdk.api.EventMessage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the events received, stored in memory-mapped segment files.
+ * <p>
+ * Set a journal on a client with {@link EmblockClient#setEventsJournal(EventsJournal)}: every event delivered
+ * to the listeners, live or backfilled, is appended once, and after a restart the backfill starts from the last
+ * event of the journal instead of the beginning of the history. Consumers read the journal with a name, their
+ * offset is stored as a checkpoint so they resume where they stopped.
+ * <pre>
+ * EventsJournal journal = EventsJournal.builder(Paths.get("events")).build();
+ * emblockClient.setEventsJournal(journal);
+ * journal.replay("indexer", event -&gt; index(event));
+ * </pre>
+ * A record is a length, a CRC32 and the event as JSON. The offset of a record is its position in the
+ * journal, segment {@code n} holding the offsets from {@code n * segmentSize}. Records written before a crash
+ * of the process are kept by the OS, call {@link #flush()} to also survive a crash of the machine.
+ */
+public class EventsJournal implements Closeable {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int END_OF_SEGMENT = -1;
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final Pattern CONSUMER_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final Path directory;
+    private final Path checkpoints;
+    private final int segmentSize;
+
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    // written under lock, read by the consumers without lock
+    private volatile long firstOffset;
+    private volatile long endOffset;
+    private long lastBlockTimestamp = -1;
+    private Set<String> lastTransactionHashes = new HashSet<>();
+    private boolean closed;
+
+    private EventsJournal(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.checkpoints = directory.resolve("checkpoints");
+        this.segmentSize = builder.segmentSize;
+        Files.createDirectories(checkpoints);
+
+        List<Long> indexes = segmentIndexes();
+        this.firstOffset = indexes.isEmpty() ? 0 : indexes.get(0) * segmentSize;
+        long last = indexes.isEmpty() ? 0 : indexes.get(indexes.size() - 1);
+        map(last);
+        this.endOffset = recover();
+        trackPreviousSegments(indexes);
+    }
+
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    /**
+     * Append an event.
+     *
+     * @return offset of the event
+     */
+    public synchronized long append(EventMessage message) throws IOException {
+        if (closed) throw new IOException("EventsJournal is closed");
+        byte[] payload = EmblockJson.EVENT_MESSAGE.toJson(message).getBytes(StandardCharsets.UTF_8);
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize - 4) {
+            throw new IOException("event of " + payload.length + " bytes larger than a segment");
+        }
+        // keep room for the end of segment marker
+        if (segment.position() + recordSize > segmentSize - 4) {
+            segment.putInt(END_OF_SEGMENT);
+            segment.force();
+            map(segmentIndex + 1);
+        }
+        long offset = segmentIndex * segmentSize + segment.position();
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        int start = segment.position();
+        segment.position(start + 4);
+        segment.putInt((int) crc.getValue());
+        segment.put(payload);
+        // the length is written last, a reader never sees a partial record
+        segment.putInt(start, payload.length);
+        endOffset = offset + recordSize;
+        track(message);
+        return offset;
+    }
+
+    private void track(EventMessage message) {
+        Long timestamp = message.getBlockTimestamp();
+        if (timestamp == null || message.getTransactionHash() == null) return;
+        if (timestamp > lastBlockTimestamp) {
+            lastBlockTimestamp = timestamp;
+            lastTransactionHashes = new HashSet<>();
+        }
+        if (timestamp == lastBlockTimestamp) lastTransactionHashes.add(message.getTransactionHash());
+    }
+
+    /**
+     * @return position in the history of the last event appended, to backfill the events received after it
+     */
+    public synchronized EventsCursor cursor() {
+        return new EventsCursor(lastBlockTimestamp, lastTransactionHashes);
+    }
+
+    /**
+     * Read the events from an offset to the end of the journal.
+     *
+     * @param fromOffset offset of the first event to read
+     * @param consumer   receives the events in order
+     * @return offset following the last event read
+     */
+    public long replay(long fromOffset, Consumer<EventMessage> consumer) throws IOException {
+        long end = endOffset;
+        long offset = Math.max(fromOffset, firstOffset);
+        while (offset < end) {
+            offset = readSegment(offset / segmentSize, offset, end, consumer);
+        }
+        return offset;
+    }
+
+    /**
+     * Read the events following the checkpoint of a consumer, then move its checkpoint to the end of the journal.
+     * If the consumer fails, the checkpoint is not moved and the events are read again next time.
+     *
+     * @param consumerName name of the consumer
+     * @param consumer     receives the events in order
+     * @return offset of the new checkpoint
+     */
+    public long replay(String consumerName, Consumer<EventMessage> consumer) throws IOException {
+        long offset = replay(getCheckpoint(consumerName), consumer);
+        commit(consumerName, offset);
+        return offset;
+    }
+
+    /**
+     * @return offset of the next event to read by a consumer, the start of the journal for a new one
+     */
+    public long getCheckpoint(String consumerName) throws IOException {
+        Path file = checkpointFile(consumerName);
+        if (!Files.exists(file)) return firstOffset;
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+        try {
+            return Long.parseLong(content);
+        } catch (NumberFormatException e) {
+            throw new IOException("invalid checkpoint " + file + ": " + content, e);
+        }
+    }
+
+    /**
+     * Store the offset of the next event to read by a consumer.
+     */
+    public void commit(String consumerName, long offset) throws IOException {
+        Path file = checkpointFile(consumerName);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, Long.toString(offset).getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path checkpointFile(String consumerName) {
+        if (!CONSUMER_NAME.matcher(consumerName).matches()) {
+            throw new IllegalArgumentException("invalid consumer name " + consumerName);
+        }
+        return checkpoints.resolve(consumerName);
+    }
+
+    /**
+     * Delete the segments already read by every consumer, the active segment is kept.
+     *
+     * @return number of segments deleted
+     */
+    public synchronized int deleteConsumedSegments() throws IOException {
+        long min = endOffset;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(checkpoints)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(".tmp")) min = Math.min(min, getCheckpoint(name));
+            }
+        }
+        int deleted = 0;
+        for (long index : segmentIndexes()) {
+            if ((index + 1) * segmentSize > min || index == segmentIndex) break;
+            Files.delete(segmentFile(index));
+            firstOffset = (index + 1) * segmentSize;
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * @return offset following the last event appended
+     */
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * @return offset of the first event still in the journal
+     */
+    public long getFirstOffset() {
+        return firstOffset;
+    }
+
+    /**
+     * Write the appended events to the disk.
+     */
+    public synchronized void flush() {
+        if (!closed) segment.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        flush();
+        closed = true;
+        // a mapping is only released when collected, there is no unmap before Java 9
+        segment = null;
+    }
+
+    private void map(long index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segmentIndex = index;
+    }
+
+    /**
+     * Find the end of the active segment, the records after the first invalid one (a crash while appending)
+     * are discarded.
+     */
+    private long recover() {
+        ByteBuffer buffer = segment.duplicate();
+        int position = 0;
+        while (position + HEADER_SIZE <= segmentSize - 4) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > segmentSize - 4) break;
+            byte[] payload = new byte[length];
+            buffer.position(position + HEADER_SIZE);
+            buffer.get(payload);
+            if (!isValid(buffer.getInt(position + 4), payload)) break;
+            EventMessage message = decode(payload);
+            if (message != null) track(message);
+            position += HEADER_SIZE + length;
+        }
+        // erase what follows, so new records are not mixed with the remains of the discarded ones
+        for (int i = position; i < segmentSize; i++) {
+            if (buffer.get(i) != 0) buffer.put(i, (byte) 0);
+        }
+        segment.position(position);
+        return segmentIndex * segmentSize + position;
+    }
+
+    /**
+     * Track the events of the segments before the active one, from the newest, until a segment holds an event older
+     * than the last block: the events of the last block can be spread over several segments.
+     */
+    private void trackPreviousSegments(List<Long> indexes) throws IOException {
+        boolean[] older = new boolean[1];
+        for (int i = indexes.size() - 2; i >= 0 && !older[0]; i--) {
+            long index = indexes.get(i);
+            readSegment(index, index * segmentSize, (index + 1) * segmentSize, message -> {
+                Long timestamp = message.getBlockTimestamp();
+                if (timestamp != null && timestamp < lastBlockTimestamp) older[0] = true;
+                track(message);
+            });
+        }
+    }
+
+    /**
+     * @return offset following the last record read, the start of the next segment at its end
+     */
+    private long readSegment(long index, long from, long end, Consumer<EventMessage> consumer) throws IOException {
+        long base = index * segmentSize;
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segmentFile(index), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, segmentSize);
+        }
+        int position = (int) (from - base);
+        while (base + position < end) {
+            int length = buffer.getInt(position);
+            if (length == END_OF_SEGMENT) return base + segmentSize;
+            if (length <= 0) throw new IOException("corrupted journal at offset " + (base + position));
+            byte[] payload = new byte[length];
+            buffer.position(position + HEADER_SIZE);
+            buffer.get(payload);
+            if (!isValid(buffer.getInt(position + 4), payload)) {
+                throw new IOException("corrupted journal at offset " + (base + position));
+            }
+            EventMessage message = decode(payload);
+            if (message != null) consumer.accept(message);
+            position += HEADER_SIZE + length;
+        }
+        return base + position;
+    }
+
+    private static boolean isValid(int checksum, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue() == checksum;
+    }
+
+    private static EventMessage decode(byte[] payload) {
+        try {
+            return EmblockJson.EVENT_MESSAGE.fromJson(new String(payload, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // the checksum matched, only a record of a newer format can get here
+            return null;
+        }
+    }
+
+    private Path segmentFile(long index) {
+        return directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> segmentIndexes() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Long> indexes = new ArrayList<>();
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> indexes.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()))));
+            Collections.sort(indexes);
+            return indexes;
+        }
+    }
+
+    public static class Builder {
+        private final Path directory;
+        private int segmentSize = 64 * 1024 * 1024;
+
+        private Builder(Path directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * @param segmentSize size of a segment file in bytes, 64MB by default
+         */
+        public Builder segmentSize(int segmentSize) {
+            if (segmentSize < 1024) throw new IllegalArgumentException("segmentSize must be at least 1024");
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Open the journal, the events of a previous run are kept.
+         */
+        public EventsJournal build() throws IOException {
+            return new EventsJournal(this);
+        }
+    }
+
+}
@@ -1,9 +1,17 @@
 package co.emblock.sdk;
 
+import co.emblock.sdk.api.EventMessage;
 import co.emblock.sdk.api.Param;
 
 import java.util.List;
 
 public interface EventsListener {
     void onEvent(String eventName, List<Param> params, Throwable e);
+
+    /**
+     * Called for each event, with the transaction hash and the position of the event when the server sends them.
+     */
+    default void onEvent(EventMessage message) {
+        onEvent(message.getName(), message.getParams(), null);
+    }
 }
\ No newline at end of file
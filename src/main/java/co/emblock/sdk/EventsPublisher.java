@@ -0,0 +1,195 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EmblockClientException;
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import co.emblock.sdk.ws.OverflowPolicy;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The events of a contract as a Reactive Streams {@link Publisher}, see {@link EmblockClient#eventsPublisher(EventFilter)}.
+ * <p>
+ * Each subscriber registers an events listener and has its own bounded buffer. Events are only delivered on
+ * request, the buffered ones first. When a subscriber does not request fast enough and its buffer is full, the
+ * {@link OverflowPolicy} applies: {@link OverflowPolicy#BLOCK} holds back the events dispatch, up to the websocket
+ * buffer, so the backpressure goes up to the websocket, and every other listener of the client waits for this
+ * subscriber. {@link OverflowPolicy#FAIL} ends the subscription with an error.
+ * <p>
+ * The stream never completes, cancel the subscription to stop it. It ends with {@code onError} when the client stops
+ * delivering the events: the contract cannot be read, or the factory of the client is closed. The errors of the
+ * websocket and of the backfills are recovered by the reconnection, they are not signaled to the subscribers and
+ * are passed to the {@link #setRecoveredErrorHandler(Consumer) recovered error handler}. A subscriber throwing from
+ * {@code onNext} is cancelled and the failure passed to the uncaught exception handler of the thread.
+ */
+public class EventsPublisher implements Publisher<EventMessage> {
+
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+
+    private final EmblockClient client;
+    private final EventFilter filter;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final LongAdder dropped = new LongAdder();
+    private volatile Consumer<? super Throwable> recoveredErrorHandler = e -> {
+    };
+
+    EventsPublisher(EmblockClient client, EventFilter filter, int bufferSize, OverflowPolicy overflowPolicy) {
+        if (bufferSize < 1) throw new IllegalArgumentException("bufferSize must be at least 1");
+        this.client = client;
+        this.filter = filter;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super EventMessage> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber cannot be null");
+        DemandSubscription subscription = new DemandSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (subscription.cancelled) return;
+        client.addEventsListener(filter, subscription);
+        // cancelled while the listener was added
+        if (subscription.cancelled) client.removeEventsListener(subscription);
+    }
+
+    /**
+     * @param recoveredErrorHandler receives the errors recovered by the client, not signaled to the subscribers
+     */
+    public void setRecoveredErrorHandler(Consumer<? super Throwable> recoveredErrorHandler) {
+        this.recoveredErrorHandler = Objects.requireNonNull(recoveredErrorHandler, "recoveredErrorHandler cannot be null");
+    }
+
+    /**
+     * @return number of events dropped because a subscriber did not request them in time
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private final class DemandSubscription implements Subscription, EventsListener {
+        private final Subscriber<? super EventMessage> subscriber;
+        private final ArrayBlockingQueue<EventMessage> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        private DemandSubscription(Subscriber<? super EventMessage> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onEvent(EventMessage message) {
+            if (cancelled || error != null) return;
+            if (!queue.offer(message)) {
+                switch (overflowPolicy) {
+                    case BLOCK:
+                        try {
+                            while (!cancelled && !queue.offer(message, 10, TimeUnit.MILLISECONDS)) {
+                                // wait for the subscriber to request more
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        break;
+                    case DROP_OLDEST:
+                        while (!queue.offer(message)) {
+                            if (queue.poll() != null) dropped.increment();
+                        }
+                        break;
+                    case DROP_NEWEST:
+                        dropped.increment();
+                        break;
+                    default:
+                        dropped.increment();
+                        error = new EmblockClientException("subscriber is too slow, " + bufferSize + " events not requested");
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void onEvent(String eventName, List<Param> params, Throwable e) {
+            if (e == null) {
+                onEvent(new EventMessage(eventName, params));
+            } else if (cancelled || error != null) {
+                // the failure of a subscriber cancelled on onNext, or an error after the end of the stream
+            } else if (client.hasEventsListener(this)) {
+                recoveredErrorHandler.accept(e);
+            } else {
+                // the client removed the listener, no event comes anymore
+                error = e;
+                drain();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("request must be positive, got " + n);
+            } else {
+                long current;
+                do {
+                    current = requested.get();
+                    if (current == Long.MAX_VALUE) break;
+                } while (!requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            client.removeEventsListener(this);
+            drain();
+        }
+
+        /**
+         * Signals the subscriber from one thread at a time, whichever of the events dispatch and the
+         * requesting thread gets here first, so a request made from onNext does not recurse.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+            int missed = 1;
+            while (true) {
+                if (cancelled) {
+                    queue.clear();
+                } else if (error != null) {
+                    cancelled = true;
+                    client.removeEventsListener(this);
+                    queue.clear();
+                    subscriber.onError(error);
+                } else {
+                    long delivered = 0;
+                    long demand = requested.get();
+                    while (delivered != demand && !cancelled) {
+                        EventMessage message = queue.poll();
+                        if (message == null) break;
+                        try {
+                            subscriber.onNext(message);
+                        } catch (Throwable e) {
+                            cancel();
+                            Thread thread = Thread.currentThread();
+                            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                        }
+                        delivered++;
+                    }
+                    if (delivered != 0 && demand != Long.MAX_VALUE) requested.addAndGet(-delivered);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.EventResult;
+import co.emblock.sdk.api.Param;
+import co.emblock.sdk.api.ParamResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the events in memory by columns, for queries by event name, block timestamp and parameter values.
+ * <p>
+ * Each event is a row of primitive arrays: the names and types are ids in a dictionary of the few distinct
+ * names, the transaction hashes and parameter values ids in a dictionary of values, the timestamps are longs.
+ * Numbers that fit in a long and 32 bytes transaction hashes are kept in long columns rather than in the
+ * dictionary, they are rarely repeated. Compared to a list of {@link EventResult}, there is no object per event
+ * or per parameter, and a value repeated in many events, an address for instance, is kept once. The values are
+ * read back as added, they are matched trimmed and with hex values in lower case.
+ * <pre>
+ * EventsStore store = new EventsStore();
+ * store.addAll(client.getEventsAsync().join());
+ * client.addEventsListener(store);
+ * long transfers = store.query().name("Transfer").between(from, to).param(0, address).count();
+ * </pre>
+ * Queries run concurrently with the events added. A time range is found by binary search while the events
+ * are added in the order of their timestamps, the rows are scanned otherwise.
+ */
+public class EventsStore implements EventsListener {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final int NO_ID = -1;
+    // the value is in the long column instead of the dictionary
+    private static final int INLINE_ID = -2;
+    private static final int HASH_WORDS = 4;
+    private static final int MAX_LONG_DIGITS = 19;
+    private static final String LONG_MAX_DIGITS = Long.toString(Long.MAX_VALUE);
+    private static final String LONG_MIN_DIGITS = Long.toString(Long.MIN_VALUE).substring(1);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // event names, parameter types and parameter names
+    private final Dictionary names = new Dictionary();
+    // transaction hashes and parameter values
+    private final Dictionary values = new Dictionary();
+
+    private int size;
+    private int[] nameIds = new int[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private long[] dates = new long[INITIAL_CAPACITY];
+    private int[] hashIds = new int[INITIAL_CAPACITY];
+    private long[] hashWords = new long[INITIAL_CAPACITY * HASH_WORDS];
+    private int[] logIndexes = new int[INITIAL_CAPACITY];
+    // parameters of the event i are at paramStarts[i] until paramStarts[i + 1]
+    private int[] paramStarts = new int[INITIAL_CAPACITY + 1];
+    private boolean sorted = true;
+
+    private int paramCount;
+    private int[] paramTypeIds = new int[INITIAL_CAPACITY * 2];
+    private int[] paramNameIds = new int[INITIAL_CAPACITY * 2];
+    private int[] paramValueIds = new int[INITIAL_CAPACITY * 2];
+    // ids of the normalized values the queries match, the value id unless normalizing changes the value
+    private int[] paramMatchIds = new int[INITIAL_CAPACITY * 2];
+    private long[] paramNumbers = new long[INITIAL_CAPACITY * 2];
+
+    @Override
+    public void onEvent(String eventName, List<Param> params, Throwable e) {
+        if (e == null) add(new EventMessage(eventName, params));
+    }
+
+    @Override
+    public void onEvent(EventMessage message) {
+        add(message);
+    }
+
+    public void add(EventMessage message) {
+        List<Param> params = message.getParams();
+        int count = params == null ? 0 : params.size();
+        lock.writeLock().lock();
+        try {
+            int row = addRow(message.getName(), message.getBlockTimestamp(), null, message.getTransactionHash(),
+                    message.getLogIndex(), count);
+            for (int i = 0; i < count; i++) {
+                Param param = params.get(i);
+                addParam(row, param.getType(), null, param.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(EventResult event) {
+        List<ParamResult> params = event.getParams();
+        int count = params == null ? 0 : params.size();
+        lock.writeLock().lock();
+        try {
+            int row = addRow(event.getName(), event.getBlockTimestamp(), event.getBlockDate(), event.getTransactionHash(),
+                    event.getLogIndex(), count);
+            for (int i = 0; i < count; i++) {
+                ParamResult param = params.get(i);
+                addParam(row, param.getType(), param.getName(), param.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(List<EventResult> events) {
+        for (EventResult event : events) {
+            add(event);
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Query query() {
+        return new Query();
+    }
+
+    private int addRow(String name, Long timestamp, Long date, String transactionHash, Integer logIndex, int params) {
+        if (size == nameIds.length) {
+            int capacity = size * 2;
+            nameIds = Arrays.copyOf(nameIds, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+            hashIds = Arrays.copyOf(hashIds, capacity);
+            hashWords = Arrays.copyOf(hashWords, capacity * HASH_WORDS);
+            logIndexes = Arrays.copyOf(logIndexes, capacity);
+            paramStarts = Arrays.copyOf(paramStarts, capacity + 1);
+        }
+        if (paramCount + params > paramValueIds.length) {
+            int capacity = Math.max(paramValueIds.length * 2, paramCount + params);
+            paramTypeIds = Arrays.copyOf(paramTypeIds, capacity);
+            paramNameIds = Arrays.copyOf(paramNameIds, capacity);
+            paramValueIds = Arrays.copyOf(paramValueIds, capacity);
+            paramMatchIds = Arrays.copyOf(paramMatchIds, capacity);
+            paramNumbers = Arrays.copyOf(paramNumbers, capacity);
+        }
+        int row = size;
+        long time = timestamp == null ? NO_TIMESTAMP : timestamp;
+        if (row > 0 && time < timestamps[row - 1]) sorted = false;
+        nameIds[row] = names.add(name);
+        timestamps[row] = time;
+        dates[row] = date == null ? NO_TIMESTAMP : date;
+        if (isHash(transactionHash)) {
+            hashIds[row] = INLINE_ID;
+            for (int i = 0; i < HASH_WORDS; i++) {
+                hashWords[row * HASH_WORDS + i] = Long.parseUnsignedLong(transactionHash.substring(2 + i * 16, 18 + i * 16), 16);
+            }
+        } else {
+            hashIds[row] = values.add(transactionHash);
+        }
+        logIndexes[row] = logIndex == null ? NO_ID : logIndex;
+        paramStarts[row] = paramCount;
+        paramStarts[row + 1] = paramCount;
+        size++;
+        return row;
+    }
+
+    private void addParam(int row, String type, String name, String value) {
+        paramTypeIds[paramCount] = names.add(type);
+        paramNameIds[paramCount] = names.add(name);
+        String normalized = value == null ? null : EventFilter.normalize(value);
+        if (isLong(normalized)) {
+            paramMatchIds[paramCount] = INLINE_ID;
+            paramNumbers[paramCount] = Long.parseLong(normalized);
+            paramValueIds[paramCount] = normalized.equals(value) ? INLINE_ID : values.add(value);
+        } else {
+            paramValueIds[paramCount] = values.add(value);
+            paramMatchIds[paramCount] = normalized == null || normalized.equals(value)
+                    ? paramValueIds[paramCount] : values.add(normalized);
+        }
+        paramCount++;
+        paramStarts[row + 1] = paramCount;
+    }
+
+    private EventResult toEventResult(int row) {
+        int start = paramStarts[row];
+        int end = paramStarts[row + 1];
+        List<ParamResult> params = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            String value = paramValueIds[i] == INLINE_ID ? Long.toString(paramNumbers[i]) : values.get(paramValueIds[i]);
+            params.add(new ParamResult(names.get(paramTypeIds[i]), names.get(paramNameIds[i]), value));
+        }
+        String transactionHash;
+        if (hashIds[row] == INLINE_ID) {
+            StringBuilder hash = new StringBuilder(66).append("0x");
+            for (int i = 0; i < HASH_WORDS; i++) {
+                String word = Long.toHexString(hashWords[row * HASH_WORDS + i]);
+                for (int pad = word.length(); pad < 16; pad++) {
+                    hash.append('0');
+                }
+                hash.append(word);
+            }
+            transactionHash = hash.toString();
+        } else {
+            transactionHash = values.get(hashIds[row]);
+        }
+        return new EventResult(names.get(nameIds[row]), transactionHash,
+                timestamps[row] == NO_TIMESTAMP ? null : timestamps[row],
+                dates[row] == NO_TIMESTAMP ? null : dates[row], params,
+                logIndexes[row] == NO_ID ? null : logIndexes[row]);
+    }
+
+    /**
+     * @return true for a 32 bytes hash in lower case, so it can be written back
+     */
+    private static boolean isHash(String value) {
+        if (value == null || value.length() != 66 || !value.startsWith("0x")) return false;
+        for (int i = 2; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return true for a decimal number written as {@link Long#toString(long)} would, so it can be written back
+     */
+    private static boolean isLong(String value) {
+        if (value == null) return false;
+        int start = value.startsWith("-") ? 1 : 0;
+        int digits = value.length() - start;
+        if (digits < 1 || digits > MAX_LONG_DIGITS) return false;
+        if (value.charAt(start) == '0' && (digits > 1 || start == 1)) return false;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        // the digits compare like the numbers at the maximum length
+        return digits < MAX_LONG_DIGITS || value.substring(start).compareTo(start == 1 ? LONG_MIN_DIGITS : LONG_MAX_DIGITS) <= 0;
+    }
+
+    /**
+     * @return first row from {@code from} with a timestamp greater or equal to the given one
+     */
+    private int lowerBound(long timestamp, int from, int to) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps[middle] < timestamp) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * A query on the events of the store, the criteria add up.
+     */
+    public class Query {
+        private String name;
+        private long from = Long.MIN_VALUE;
+        private long to = Long.MAX_VALUE;
+        private final Map<Integer, String> paramValues = new HashMap<>();
+
+        private Query() {
+        }
+
+        /**
+         * Select the events with this name.
+         */
+        public Query name(String eventName) {
+            this.name = eventName;
+            return this;
+        }
+
+        /**
+         * Select the events with a block timestamp from {@code from} included to {@code to} excluded, the events
+         * without timestamp are not selected.
+         */
+        public Query between(long from, long to) {
+            this.from = from;
+            this.to = to;
+            return this;
+        }
+
+        /**
+         * Select the events whose parameter at {@code index} has this value, addresses are case insensitive.
+         */
+        public Query param(int index, String value) {
+            if (index < 0) throw new IllegalArgumentException("index must be positive");
+            Objects.requireNonNull(value, "value cannot be null");
+            paramValues.put(index, EventFilter.normalize(value));
+            return this;
+        }
+
+        public long count() {
+            long[] count = new long[1];
+            scan(row -> count[0]++);
+            return count[0];
+        }
+
+        /**
+         * @return the events selected, in the order they were added
+         */
+        public List<EventResult> list() {
+            List<EventResult> events = new ArrayList<>();
+            scan(row -> events.add(toEventResult(row)));
+            return events;
+        }
+
+        /**
+         * Call the consumer with each event selected, in the order they were added. The consumer must not add
+         * events to the store.
+         */
+        public void forEach(Consumer<EventResult> consumer) {
+            scan(row -> consumer.accept(toEventResult(row)));
+        }
+
+        private void scan(RowConsumer consumer) {
+            lock.readLock().lock();
+            try {
+                int nameId = NO_ID;
+                if (name != null) {
+                    nameId = names.find(name);
+                    if (nameId == NO_ID) return;
+                }
+                int criteria = paramValues.size();
+                int[] indexes = new int[criteria];
+                int[] valueIds = new int[criteria];
+                long[] numbers = new long[criteria];
+                int criterion = 0;
+                for (Map.Entry<Integer, String> entry : paramValues.entrySet()) {
+                    indexes[criterion] = entry.getKey();
+                    if (isLong(entry.getValue())) {
+                        valueIds[criterion] = INLINE_ID;
+                        numbers[criterion] = Long.parseLong(entry.getValue());
+                    } else {
+                        valueIds[criterion] = values.find(entry.getValue());
+                        if (valueIds[criterion] == NO_ID) return;
+                    }
+                    criterion++;
+                }
+                int first = 0;
+                int last = size;
+                boolean timeRange = from != Long.MIN_VALUE || to != Long.MAX_VALUE;
+                boolean scanTimes = timeRange && !sorted;
+                if (timeRange && sorted) {
+                    // the events without timestamp sort first, they are never in a range
+                    first = lowerBound(Math.max(from, NO_TIMESTAMP + 1), 0, size);
+                    if (to != Long.MAX_VALUE) last = lowerBound(to, first, size);
+                }
+                rows:
+                for (int row = first; row < last; row++) {
+                    if (nameId != NO_ID && nameIds[row] != nameId) continue;
+                    if (scanTimes && (timestamps[row] == NO_TIMESTAMP || timestamps[row] < from || timestamps[row] >= to)) continue;
+                    int start = paramStarts[row];
+                    int params = paramStarts[row + 1] - start;
+                    for (int i = 0; i < criteria; i++) {
+                        if (indexes[i] >= params) continue rows;
+                        int param = start + indexes[i];
+                        if (paramMatchIds[param] != valueIds[i]) continue rows;
+                        if (valueIds[i] == INLINE_ID && paramNumbers[param] != numbers[i]) continue rows;
+                    }
+                    consumer.accept(row);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(int row);
+    }
+
+    /**
+     * Ids of the distinct strings, the null string has no id.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private String[] strings = new String[64];
+
+        private int add(String value) {
+            if (value == null) return NO_ID;
+            Integer id = ids.get(value);
+            if (id != null) return id;
+            int next = ids.size();
+            if (next == strings.length) strings = Arrays.copyOf(strings, next * 2);
+            strings[next] = value;
+            ids.put(value, next);
+            return next;
+        }
+
+        private int find(String value) {
+            Integer id = ids.get(value);
+            return id == null ? NO_ID : id;
+        }
+
+        private String get(int id) {
+            return id == NO_ID ? null : strings[id];
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EmblockJson;
+import co.emblock.sdk.api.EventResult;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads the events history one event at a time, without loading the whole list in memory.
+ */
+final class EventsStreamReader {
+
+    private EventsStreamReader() {
+    }
+
+    /**
+     * Push the events newer than the cursor to the consumer as they are decoded, in the order of the response,
+     * then move the cursor to the newest event. The cursor does not depend on the order of the response, and it is
+     * only moved once the whole response is read, so the events of a failed read are processed again next time.
+     *
+     * @param in       JSON array of events
+     * @param cursor   position of the last run
+     * @param consumer receives the new events
+     * @return number of events pushed to the consumer
+     */
+    static int read(Reader in, EventsCursor cursor, Consumer<EventResult> consumer) throws IOException {
+        int count = 0;
+        long lastBlockTimestamp = cursor.getLastBlockTimestamp();
+        Set<String> lastTransactionHashes = new HashSet<>(cursor.getLastTransactionHashes());
+
+        try (JsonReader reader = new JsonReader(in)) {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return 0;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                EventResult event = EmblockJson.EVENT_RESULT.read(reader);
+                if (event == null) continue;
+
+                if (cursor.isNew(event)) {
+                    consumer.accept(event);
+                    count++;
+                }
+
+                long timestamp = EventsCursor.timestamp(event);
+                if (timestamp > lastBlockTimestamp) {
+                    lastBlockTimestamp = timestamp;
+                    lastTransactionHashes.clear();
+                }
+                if (timestamp == lastBlockTimestamp) {
+                    lastTransactionHashes.add(event.getTransactionHash());
+                }
+            }
+            reader.endArray();
+        }
+
+        cursor.update(lastBlockTimestamp, lastTransactionHashes);
+        return count;
+    }
+
+}
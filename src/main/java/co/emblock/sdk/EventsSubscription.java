@@ -0,0 +1,279 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import co.emblock.sdk.ws.EventsConnection;
+import co.emblock.sdk.ws.EventsWebSocketListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live events of a contract without gaps: the websocket is reconnected when it drops, and the events emitted
+ * while it was down are read from the history and delivered before the live ones, in order.
+ * <p>
+ * The position in the history is kept by an {@link EventsCursor} moved by every event delivered. Events received
+ * live during a backfill are held back until the backfill and the events held back before them are delivered,
+ * so the listeners receive every event in order and from one thread at a time. The missed events are read whole
+ * and sorted by block timestamp and log index before being delivered, whatever the order of the history.
+ * A failed backfill is reported and retried, the live events are only delivered again once the missed ones are.
+ * An event delivered twice (live and from the history) is dropped, events being identified by their transaction
+ * hash and log index, or by their content and rank in the transaction when the server does not send the log index.
+ * <p>
+ * Without a cursor, the delivery starts with the live events and the history is not read. The api cannot tell
+ * the position of the last event, so the position is the time of the first connection, in seconds like the
+ * block timestamps, minus {@link #START_MARGIN_SECONDS} for a clock ahead of the blocks: a reconnection before
+ * any event is received backfills the events from there.
+ */
+final class EventsSubscription implements EventsWebSocketListener {
+
+    static final long START_MARGIN_SECONDS = 60;
+    private static final int DELIVERED_KEYS_SIZE = 10000;
+    private static final long MIN_RETRY_DELAY_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 60000;
+
+    // failed backfills are retried on a shared thread
+    private static final ScheduledThreadPoolExecutor RETRY_SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "emblock-events-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        RETRY_SCHEDULER.setKeepAliveTime(30, TimeUnit.SECONDS);
+        RETRY_SCHEDULER.allowCoreThreadTimeOut(true);
+        RETRY_SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final EmblockClient client;
+    private final EventsWebSocketListener downstream;
+    private final EventsConnection connection;
+    private final String contractId;
+    private final EventsCursor cursor;
+    private final Map<String, Boolean> deliveredKeys = boundedMap();
+    // rank of the live events without log index, by content and transaction
+    private final Map<String, Integer> liveRanks = boundedMap();
+
+    private boolean opened;
+    private boolean backfilling;
+    // the websocket was reopened during a backfill, the events missed meanwhile are read by another one
+    private boolean backfillAgain;
+    private boolean closed;
+    private int failedBackfills;
+    private final ArrayDeque<EventMessage> heldBack = new ArrayDeque<>();
+
+    /**
+     * @param client     client used to read the history
+     * @param connection websocket, possibly shared with other subscriptions
+     * @param cursor     position of the last event already processed, or null to start with the live events
+     * @param downstream receives the events in order, without duplicates
+     */
+    EventsSubscription(EmblockClient client, EventsConnection connection, String contractId, EventsCursor cursor, EventsWebSocketListener downstream) {
+        this.client = client;
+        this.connection = connection;
+        this.contractId = contractId;
+        this.downstream = downstream;
+        this.cursor = cursor != null ? cursor : new EventsCursor();
+    }
+
+    void connect() {
+        connection.subscribe(contractId, this);
+    }
+
+    void close() {
+        synchronized (this) {
+            closed = true;
+            heldBack.clear();
+        }
+        connection.unsubscribe(contractId, this);
+    }
+
+    boolean isOpen() {
+        return connection.isOpen();
+    }
+
+    EventsCursor getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public void onOpen() {
+        synchronized (this) {
+            if (closed) return;
+            if (!opened && cursor.isAtBeginning()) {
+                opened = true;
+                long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+                cursor.update(now - START_MARGIN_SECONDS, Collections.emptySet());
+                return;
+            }
+            opened = true;
+            if (backfilling) {
+                backfillAgain = true;
+                return;
+            }
+            backfilling = true;
+        }
+        backfill();
+    }
+
+    private void backfill() {
+        synchronized (this) {
+            if (closed) return;
+        }
+        List<EventMessage> missed = new ArrayList<>();
+        client.streamEventsAsync(cursor, event -> missed.add(EventMessage.fromEventResult(event)))
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        retry(e);
+                    } else {
+                        synchronized (this) {
+                            failedBackfills = 0;
+                        }
+                        // the cursor itself was moved by the read, once the whole history was read
+                        Map<String, Integer> ranks = new HashMap<>();
+                        for (EventMessage message : inOrder(missed)) {
+                            if (markDelivered(message, ranks, false)) downstream.onEvent(message);
+                        }
+                        drainHeldBack();
+                    }
+                });
+    }
+
+    /**
+     * Sort the events of the history by block timestamp and log index, whatever the order of the response.
+     * A response listing the newest events first is reversed before, so the events of a block without log index
+     * keep their order too.
+     */
+    static List<EventMessage> inOrder(List<EventMessage> events) {
+        if (events.size() > 1 && timestamp(events.get(0)) > timestamp(events.get(events.size() - 1))) {
+            Collections.reverse(events);
+        }
+        events.sort(Comparator.comparingLong(EventsSubscription::timestamp)
+                .thenComparing(EventMessage::getLogIndex, Comparator.nullsLast(Comparator.naturalOrder())));
+        return events;
+    }
+
+    private static long timestamp(EventMessage message) {
+        return message.getBlockTimestamp() != null ? message.getBlockTimestamp() : 0;
+    }
+
+    private void retry(Throwable e) {
+        long delay;
+        synchronized (this) {
+            if (closed) return;
+            // the events held back are newer than the cursor, the next backfill reads them from the history
+            heldBack.clear();
+            delay = Math.min(MAX_RETRY_DELAY_MILLIS, MIN_RETRY_DELAY_MILLIS << Math.min(failedBackfills, 20));
+            failedBackfills++;
+        }
+        downstream.onError(new Exception("cannot backfill the events, retrying in " + delay + "ms", Calls.unwrap(e)));
+        RETRY_SCHEDULER.schedule(this::backfill, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Deliver the events held back one at a time, the live events received meanwhile are held back after them.
+     * The live delivery resumes once nothing is held back.
+     */
+    private void drainHeldBack() {
+        while (true) {
+            EventMessage message;
+            synchronized (this) {
+                message = heldBack.poll();
+                if (message == null) {
+                    if (backfillAgain && !closed) {
+                        backfillAgain = false;
+                        break;
+                    }
+                    backfilling = false;
+                    return;
+                }
+            }
+            deliver(message);
+        }
+        backfill();
+    }
+
+    @Override
+    public void onEvent(EventMessage message) {
+        synchronized (this) {
+            if (closed) return;
+            if (backfilling) {
+                heldBack.add(message);
+                return;
+            }
+        }
+        deliver(message);
+    }
+
+    @Override
+    public void onEvent(String eventName, List<Param> params) {
+        onEvent(new EventMessage(eventName, params));
+    }
+
+    @Override
+    public void onError(Exception ex) {
+        downstream.onError(ex);
+    }
+
+    private void deliver(EventMessage message) {
+        if (markDelivered(message, liveRanks, true)) downstream.onEvent(message);
+    }
+
+    /**
+     * @param ranks   rank of the events without log index already seen from the same source
+     * @param advance true to move the cursor to the event
+     * @return false if the event was already delivered
+     */
+    private boolean markDelivered(EventMessage message, Map<String, Integer> ranks, boolean advance) {
+        // an event without transaction cannot be identified, it is always delivered
+        if (message.getTransactionHash() == null) return true;
+        synchronized (deliveredKeys) {
+            if (deliveredKeys.put(key(message, ranks), Boolean.TRUE) != null) return false;
+        }
+        if (advance && message.getBlockTimestamp() != null) {
+            cursor.advance(message.getBlockTimestamp(), message.getTransactionHash());
+        }
+        return true;
+    }
+
+    /**
+     * Transaction hash and log index. When the server does not send the log index, the content of the event and
+     * its rank among the events of the same content in the transaction, so identical events emitted twice in a
+     * transaction are both delivered.
+     *
+     * @param ranks rank of the events already seen from the same source, updated
+     */
+    static String key(EventMessage message, Map<String, Integer> ranks) {
+        StringBuilder key = new StringBuilder().append(message.getTransactionHash()).append(':');
+        if (message.getLogIndex() != null) {
+            return key.append(message.getLogIndex()).toString();
+        }
+        key.append(message.getName());
+        if (message.getParams() != null) {
+            for (Param param : message.getParams()) {
+                key.append(':').append(param.getValue());
+            }
+        }
+        String content = key.toString();
+        return content + '#' + ranks.merge(content, 1, Integer::sum);
+    }
+
+    private static <V> Map<String, V> boundedMap() {
+        return new LinkedHashMap<String, V>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > DELIVERED_KEYS_SIZE;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package co.emblock.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs one async call per item with at most {@code maxInFlight} calls running at the same time.
+ * Each item gets its own outcome, and the outcomes are returned in the order of the items.
+ */
+final class FanOut<T, V, R> {
+
+    private final List<T> items;
+    private final Function<T, CompletableFuture<V>> call;
+    private final BiFunction<V, Throwable, R> outcome;
+    private final AtomicReferenceArray<R> results;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final CompletableFuture<List<R>> future = new CompletableFuture<>();
+
+    private FanOut(List<T> items, Function<T, CompletableFuture<V>> call, BiFunction<V, Throwable, R> outcome) {
+        this.items = items;
+        this.call = call;
+        this.outcome = outcome;
+        this.results = new AtomicReferenceArray<>(items.size());
+        this.remaining = new AtomicInteger(items.size());
+    }
+
+    /**
+     * @param items       items to process
+     * @param maxInFlight maximum number of calls running at the same time
+     * @param call        starts the call of an item
+     * @param outcome     turns the value or the error of a call into the result of its item
+     * @return a stage completed when every call is done, it never completes exceptionally
+     */
+    static <T, V, R> CompletableFuture<List<R>> run(List<T> items, int maxInFlight,
+                                                     Function<T, CompletableFuture<V>> call,
+                                                     BiFunction<V, Throwable, R> outcome) {
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be at least 1");
+        FanOut<T, V, R> fanOut = new FanOut<>(items, call, outcome);
+        if (items.isEmpty()) {
+            fanOut.future.complete(new ArrayList<>());
+        } else {
+            for (int i = 0; i < Math.min(maxInFlight, items.size()); i++) {
+                fanOut.drain();
+            }
+        }
+        return fanOut.future;
+    }
+
+    /**
+     * Start calls until one is still running. Calls completing synchronously (cache hits...)
+     * are processed in the loop instead of recursing.
+     */
+    private void drain() {
+        while (!future.isDone()) {
+            int index = next.getAndIncrement();
+            if (index >= items.size()) return;
+
+            CompletableFuture<V> stage;
+            try {
+                stage = call.apply(items.get(index));
+            } catch (Exception e) {
+                stage = Calls.failed(e);
+            }
+
+            CompletableFuture<V> started = stage;
+            if (started.isDone()) {
+                complete(index, started);
+            } else {
+                started.whenComplete((value, e) -> {
+                    complete(index, started);
+                    drain();
+                });
+                return;
+            }
+        }
+    }
+
+    private void complete(int index, CompletableFuture<V> stage) {
+        V value = null;
+        Throwable error = null;
+        try {
+            value = stage.join();
+        } catch (Exception e) {
+            error = Calls.unwrap(e);
+        }
+        results.set(index, outcome.apply(value, error));
+        if (remaining.decrementAndGet() == 0) {
+            List<R> list = new ArrayList<>(results.length());
+            for (int i = 0; i < results.length(); i++) {
+                list.add(results.get(i));
+            }
+            future.complete(list);
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import co.emblock.sdk.ws.EventsRingBuffer;
+import co.emblock.sdk.ws.OverflowPolicy;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Processes the events in parallel on several lanes while keeping the order of the events with the same key.
+ * <p>
+ * The key of an event, a parameter value such as the {@code from} address or the event name, is hashed to one
+ * of the lanes. Each lane is a bounded buffer consumed by its own thread, so the listener receives the events of
+ * a key one at a time and in order, and the events of different keys concurrently: it must be thread safe
+ * across keys.
+ * <pre>
+ * PartitionedEventsListener listener = PartitionedEventsListener.builder(transfersListener)
+ *         .byParam(0)
+ *         .lanes(4)
+ *         .build();
+ * client.addEventsListener(EventFilter.builder().name("Transfer").build(), listener);
+ * </pre>
+ * An event the listener fails on is passed to its error path on the lane thread, in order with the events of the
+ * lane, and the lane goes on with the next event. The errors of the client are delivered once, on the calling
+ * thread: they do not go through the lanes, so they arrive concurrently with the events being processed and in no
+ * order relative to them. With {@link OverflowPolicy#FAIL}, an event dropped because its lane is full is reported
+ * to the error path of the listener on the calling thread. Close the listener to stop the lanes after it is removed.
+ */
+public class PartitionedEventsListener implements EventsListener, Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private final EventsListener listener;
+    private final Function<EventMessage, String> keySelector;
+    private final EventsRingBuffer<EventMessage>[] lanes;
+    private final boolean failOnOverflow;
+    private volatile boolean closed;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private PartitionedEventsListener(Builder builder) {
+        this.listener = builder.listener;
+        this.keySelector = builder.keySelector;
+        this.lanes = new EventsRingBuffer[builder.lanes];
+        this.failOnOverflow = builder.overflowPolicy == OverflowPolicy.FAIL;
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new EventsRingBuffer<>("emblock-events-lane-" + i, builder.bufferSize, builder.overflowPolicy,
+                    listener::onEvent);
+            lanes[i].setErrorHandler((message, e) -> listener.onEvent(null, null, e));
+        }
+        for (EventsRingBuffer<EventMessage> lane : lanes) {
+            lane.start();
+        }
+    }
+
+    /**
+     * @param listener receives the events on the lanes threads
+     */
+    public static Builder builder(EventsListener listener) {
+        return new Builder(listener);
+    }
+
+    /**
+     * Publishing to a lane is serialized, the listener may be registered for several contracts.
+     */
+    @Override
+    public void onEvent(EventMessage message) {
+        int lane = laneOf(keySelector.apply(message));
+        boolean published;
+        synchronized (this) {
+            published = lanes[lane].publish(message);
+        }
+        if (!published && failOnOverflow && !closed) {
+            listener.onEvent(null, null, new IllegalStateException("lane " + lane + " full, event "
+                    + message.getName() + " " + message.getTransactionHash() + " dropped"));
+        }
+    }
+
+    @Override
+    public void onEvent(String eventName, List<Param> params, Throwable e) {
+        if (e != null) listener.onEvent(eventName, params, e);
+        else onEvent(new EventMessage(eventName, params));
+    }
+
+    /**
+     * @return index of the lane of the key, events without a key go to the first lane
+     */
+    int laneOf(String key) {
+        if (key == null) return 0;
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % lanes.length;
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * @return number of events waiting in the lanes
+     */
+    public long getDepth() {
+        long depth = 0;
+        for (EventsRingBuffer<EventMessage> lane : lanes) {
+            depth += lane.getDepth();
+        }
+        return depth;
+    }
+
+    /**
+     * @return number of events dropped because a lane was full, never with {@link OverflowPolicy#BLOCK}
+     */
+    public long getDroppedCount() {
+        long dropped = 0;
+        for (EventsRingBuffer<EventMessage> lane : lanes) {
+            dropped += lane.getDroppedCount();
+        }
+        return dropped;
+    }
+
+    /**
+     * Stop the lanes threads, the events not yet processed are lost.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (EventsRingBuffer<EventMessage> lane : lanes) {
+            lane.close();
+        }
+    }
+
+    public static class Builder {
+        private final EventsListener listener;
+        private Function<EventMessage, String> keySelector = EventMessage::getName;
+        private int lanes = Runtime.getRuntime().availableProcessors();
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        private Builder(EventsListener listener) {
+            this.listener = Objects.requireNonNull(listener, "listener cannot be null");
+        }
+
+        /**
+         * Partition by the event name, the default.
+         */
+        public Builder byName() {
+            this.keySelector = EventMessage::getName;
+            return this;
+        }
+
+        /**
+         * Partition by the value of the parameter at {@code index}, addresses are case insensitive.
+         * Events with fewer parameters go to the first lane.
+         */
+        public Builder byParam(int index) {
+            if (index < 0) throw new IllegalArgumentException("index must be positive");
+            this.keySelector = message -> {
+                List<Param> params = message.getParams();
+                if (params == null || params.size() <= index || params.get(index).getValue() == null) return null;
+                return EventFilter.normalize(params.get(index).getValue());
+            };
+            return this;
+        }
+
+        /**
+         * Partition by a key computed from the event, a null key goes to the first lane.
+         */
+        public Builder byKey(Function<EventMessage, String> keySelector) {
+            this.keySelector = Objects.requireNonNull(keySelector, "keySelector cannot be null");
+            return this;
+        }
+
+        /**
+         * @param lanes number of threads, by default the number of processors
+         */
+        public Builder lanes(int lanes) {
+            if (lanes < 1) throw new IllegalArgumentException("lanes must be at least 1");
+            this.lanes = lanes;
+            return this;
+        }
+
+        /**
+         * @param bufferSize     number of events each lane holds, rounded up to a power of two
+         * @param overflowPolicy what to do when a lane is full, by default {@link OverflowPolicy#BLOCK} holds back
+         *                       the events dispatch. {@link OverflowPolicy#FAIL} drops the event like
+         *                       {@link OverflowPolicy#DROP_NEWEST} and reports it to the listener
+         */
+        public Builder buffer(int bufferSize, OverflowPolicy overflowPolicy) {
+            if (bufferSize < 1) throw new IllegalArgumentException("bufferSize must be at least 1");
+            this.bufferSize = bufferSize;
+            this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy cannot be null");
+            return this;
+        }
+
+        public PartitionedEventsListener build() {
+            return new PartitionedEventsListener(this);
+        }
+    }
+}
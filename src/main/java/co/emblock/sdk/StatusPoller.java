@@ -0,0 +1,287 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.CallResult;
+import co.emblock.sdk.api.EmblockApi;
+import co.emblock.sdk.api.EmblockClientException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Polls the status of the pending function calls until it is final.
+ * <p>
+ * Every pending call is tracked on a single scheduler thread, the status requests themselves run on the
+ * http dispatcher, so no thread is blocked per call. The delay between two requests of a call grows
+ * from {@code initialDelay} to {@code maxDelay}, and each delay is randomized by {@code jitter} so the
+ * calls submitted in a burst are not polled all at the same time.
+ * <p>
+ * When the transaction hash of a call is known, the call also completes as soon as an event of this
+ * transaction is received on the events websocket (a reverted transaction emits no event). While the client
+ * listens to events, polling only starts after {@code eventFallbackDelay}.
+ * <p>
+ * A poller can be shared by many clients, see {@link EmblockClientFactory.Builder#statusPoller(StatusPoller)}.
+ */
+public class StatusPoller implements Closeable {
+
+    public static final String SUCCESSFUL = "Successful";
+    public static final String FAILED = "Failed";
+
+    private static final int CONFIRMED_TX_HASHES_SIZE = 4096;
+
+    private final long initialDelayMillis;
+    private final long eventFallbackDelayMillis;
+    private final long maxDelayMillis;
+    private final double multiplier;
+    private final double jitter;
+    private final long timeoutMillis;
+    private final Set<String> finalStatuses;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ConcurrentMap<String, Pending> pendings = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Pending> pendingsByTxHash = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> confirmedTxHashes = Collections.synchronizedMap(new LinkedHashMap<String, Boolean>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > CONFIRMED_TX_HASHES_SIZE;
+        }
+    });
+    private final LongAdder confirmedByEvent = new LongAdder();
+
+    private StatusPoller(Builder builder) {
+        this.initialDelayMillis = builder.initialDelayMillis;
+        this.eventFallbackDelayMillis = builder.eventFallbackDelayMillis;
+        this.maxDelayMillis = builder.maxDelayMillis;
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.timeoutMillis = builder.timeoutMillis;
+        this.finalStatuses = builder.finalStatuses;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "emblock-status-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // the thread is only started when a call is tracked and stops when nothing is pending
+        scheduler.setKeepAliveTime(30, TimeUnit.SECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Poll the status of a call until it is final. Tracking a call already pending returns the same stage.
+     *
+     * @param api    api used to get the status
+     * @param callId id of the call
+     * @return a stage completed with the final status on the dispatcher thread, or with an
+     * {@link EmblockClientException} if the call is still pending after the timeout
+     */
+    CompletableFuture<CallResult> track(EmblockApi api, String callId) {
+        return track(api, callId, null, false);
+    }
+
+    /**
+     * Same as {@link #track(EmblockApi, String)}, the call also completes when an event of its transaction is received.
+     *
+     * @param txHash          hash of the transaction of the call, null if unknown
+     * @param listeningEvents true if the events of the contract are received, polling is then only a fallback
+     */
+    CompletableFuture<CallResult> track(EmblockApi api, String callId, String txHash, boolean listeningEvents) {
+        Pending created = new Pending(api, callId);
+        Pending pending = pendings.putIfAbsent(callId, created);
+        if (pending != null) return pending.future;
+
+        created.future.whenComplete((result, e) -> {
+            pendings.remove(callId, created);
+            if (txHash != null) pendingsByTxHash.remove(txHash, created);
+            ScheduledFuture<?> next = created.next;
+            if (next != null) next.cancel(false);
+        });
+
+        if (txHash != null) {
+            pendingsByTxHash.put(txHash, created);
+            // the event may have been received before the call was tracked
+            if (confirmedTxHashes.containsKey(txHash)) {
+                confirm(created);
+                return created.future;
+            }
+        }
+        schedule(created, txHash != null && listeningEvents ? eventFallbackDelayMillis : initialDelayMillis);
+        return created.future;
+    }
+
+    /**
+     * Called for each event received: the call of the transaction, if pending, is successful.
+     *
+     * @param txHash hash of the transaction that emitted the event
+     */
+    void onTransaction(String txHash) {
+        if (txHash == null) return;
+        confirmedTxHashes.put(txHash, Boolean.TRUE);
+        Pending pending = pendingsByTxHash.get(txHash);
+        if (pending != null) confirm(pending);
+    }
+
+    private void confirm(Pending pending) {
+        if (pending.future.complete(new CallResult(SUCCESSFUL, "Confirmed by event"))) {
+            confirmedByEvent.increment();
+        }
+    }
+
+    private void schedule(Pending pending, long delayMillis) {
+        if (pending.future.isDone()) return;
+        long remaining = pending.deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            pending.future.completeExceptionally(new EmblockClientException(
+                    "Call " + pending.callId + " still pending after " + timeoutMillis + "ms"));
+            return;
+        }
+        long delay = Math.min(jittered(delayMillis), remaining);
+        try {
+            pending.next = scheduler.schedule(() -> poll(pending), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            pending.future.completeExceptionally(new IllegalStateException("StatusPoller is closed"));
+        }
+    }
+
+    private void poll(Pending pending) {
+        if (pending.future.isDone()) return;
+        Calls.enqueue(pending.api.getCallStatus(pending.callId), Calls.DIRECT)
+                .whenComplete((result, e) -> {
+                    if (e != null && !(Calls.unwrap(e) instanceof IOException)) {
+                        pending.future.completeExceptionally(Calls.unwrap(e));
+                    } else if (result != null && finalStatuses.contains(result.getStatus())) {
+                        pending.future.complete(result);
+                    } else {
+                        // still pending or network error, try again later
+                        pending.delayMillis = Math.min(maxDelayMillis, (long) (pending.delayMillis * multiplier));
+                        schedule(pending, pending.delayMillis);
+                    }
+                });
+    }
+
+    private long jittered(long delayMillis) {
+        if (jitter == 0) return delayMillis;
+        double factor = 1 - jitter * ThreadLocalRandom.current().nextDouble();
+        return Math.max(1, (long) (delayMillis * factor));
+    }
+
+    /**
+     * @return number of calls waiting for a final status
+     */
+    public int getPendingCount() {
+        return pendings.size();
+    }
+
+    /**
+     * @return number of calls completed by an event instead of a status request
+     */
+    public long getConfirmedByEventCount() {
+        return confirmedByEvent.sum();
+    }
+
+    /**
+     * Stop polling, the pending calls complete with an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        for (Pending pending : pendings.values()) {
+            pending.future.completeExceptionally(new IllegalStateException("StatusPoller is closed"));
+        }
+    }
+
+    private final class Pending {
+        private final EmblockApi api;
+        private final String callId;
+        private final long deadline;
+        private final CompletableFuture<CallResult> future = new CompletableFuture<>();
+        private volatile long delayMillis = initialDelayMillis;
+        private volatile ScheduledFuture<?> next;
+
+        private Pending(EmblockApi api, String callId) {
+            this.api = api;
+            this.callId = callId;
+            this.deadline = System.currentTimeMillis() + timeoutMillis;
+        }
+    }
+
+    public static class Builder {
+        private long initialDelayMillis = 1000;
+        private long eventFallbackDelayMillis = 10000;
+        private long maxDelayMillis = 15000;
+        private double multiplier = 1.5;
+        private double jitter = 0.5;
+        private long timeoutMillis = TimeUnit.MINUTES.toMillis(10);
+        private Set<String> finalStatuses = new HashSet<>(Arrays.asList(SUCCESSFUL, FAILED));
+
+        private Builder() {
+        }
+
+        /**
+         * @param delay delay before the first status request of a call
+         */
+        public Builder initialDelay(long delay, TimeUnit unit) {
+            this.initialDelayMillis = unit.toMillis(delay);
+            return this;
+        }
+
+        /**
+         * @param delay delay before the first status request of a call when its event is expected on the websocket
+         */
+        public Builder eventFallbackDelay(long delay, TimeUnit unit) {
+            this.eventFallbackDelayMillis = unit.toMillis(delay);
+            return this;
+        }
+
+        public Builder maxDelay(long delay, TimeUnit unit) {
+            this.maxDelayMillis = unit.toMillis(delay);
+            return this;
+        }
+
+        /**
+         * @param multiplier growth of the delay after each request still pending
+         */
+        public Builder multiplier(double multiplier) {
+            if (multiplier < 1) throw new IllegalArgumentException("multiplier must be at least 1");
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * @param jitter part of each delay that is randomized, from 0 (no jitter) to 1
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter > 1) throw new IllegalArgumentException("jitter must be between 0 and 1");
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * @param timeout time after which a call still pending fails
+         */
+        public Builder timeout(long timeout, TimeUnit unit) {
+            this.timeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * @param statuses statuses ending the polling, "Successful" and "Failed" by default
+         */
+        public Builder finalStatuses(String... statuses) {
+            this.finalStatuses = new HashSet<>(Arrays.asList(statuses));
+            return this;
+        }
+
+        public StatusPoller build() {
+            return new StatusPoller(this);
+        }
+    }
+
+}
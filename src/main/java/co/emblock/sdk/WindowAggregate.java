@@ -0,0 +1,76 @@
+package co.emblock.sdk;
+
+import java.math.BigInteger;
+
+/**
+ * The aggregate of the events of one key in one window, see {@link EventsAggregator}.
+ */
+public class WindowAggregate {
+    private final String key;
+    private final long windowStart;
+    private final long windowEnd;
+    private final long count;
+    private final BigInteger sum;
+    private final BigInteger min;
+    private final BigInteger max;
+
+    public WindowAggregate(String key, long windowStart, long windowEnd, long count, BigInteger sum, BigInteger min, BigInteger max) {
+        this.key = key;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return first block timestamp of the window
+     */
+    public long getWindowStart() {
+        return windowStart;
+    }
+
+    /**
+     * @return block timestamp following the window, excluded
+     */
+    public long getWindowEnd() {
+        return windowEnd;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return sum of the values, null without a value parameter or when no value was a number
+     */
+    public BigInteger getSum() {
+        return sum;
+    }
+
+    public BigInteger getMin() {
+        return min;
+    }
+
+    public BigInteger getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "WindowAggregate{" +
+                "key='" + key + '\'' +
+                ", windowStart=" + windowStart +
+                ", windowEnd=" + windowEnd +
+                ", count=" + count +
+                ", sum=" + sum +
+                ", min=" + min +
+                ", max=" + max +
+                '}';
+    }
+}
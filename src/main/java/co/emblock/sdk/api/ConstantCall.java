@@ -0,0 +1,21 @@
+package co.emblock.sdk.api;
+
+import java.util.Map;
+
+public class ConstantCall {
+    private final String functionName;
+    private final Map<String, String> parameters;
+
+    public ConstantCall(String functionName, Map<String, String> parameters) {
+        this.functionName = functionName;
+        this.parameters = parameters;
+    }
+
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+}
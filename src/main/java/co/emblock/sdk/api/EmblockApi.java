@@ -1,5 +1,6 @@
 package co.emblock.sdk.api;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Response;
 import retrofit2.http.*;
@@ -45,6 +46,12 @@ public interface EmblockApi {
             @Path("projectId") String projectId
     );
 
+    @Streaming
+    @GET("/projects/{projectId}/events/current")
+    Call<ResponseBody> getEventsStream(
+            @Path("projectId") String projectId
+    );
+
     @POST("/wallets/{publicKey}/transfer")
     Call<Void> transfer(
             @Path("publicKey") String from,
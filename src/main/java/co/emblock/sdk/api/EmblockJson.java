@@ -0,0 +1,658 @@
+package co.emblock.sdk.api;
+
+import co.emblock.sdk.crypto.RawTransaction;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON codec shared by the http and the websocket paths.
+ * <p>
+ * Every DTO of this package has a hand-written {@link TypeAdapter}, so decoding does not go through
+ * reflection and no {@link Gson} instance is created per call or per event frame.
+ */
+public final class EmblockJson {
+
+    public static final TypeAdapter<Param> PARAM = new TypeAdapter<Param>() {
+        @Override
+        public void write(JsonWriter out, Param value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "type", value.getType());
+            writeString(out, "value", value.getValue());
+            out.endObject();
+        }
+
+        @Override
+        public Param read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String type = null;
+            String value = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "type":
+                        type = readString(in);
+                        break;
+                    case "value":
+                        value = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Param(type, value);
+        }
+    };
+
+    public static final TypeAdapter<ParamResult> PARAM_RESULT = new TypeAdapter<ParamResult>() {
+        @Override
+        public void write(JsonWriter out, ParamResult value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "type", value.getType());
+            writeString(out, "name", value.getName());
+            writeString(out, "value", value.getValue());
+            out.endObject();
+        }
+
+        @Override
+        public ParamResult read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String type = null;
+            String name = null;
+            String value = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "type":
+                        type = readString(in);
+                        break;
+                    case "name":
+                        name = readString(in);
+                        break;
+                    case "value":
+                        value = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new ParamResult(type, name, value);
+        }
+    };
+
+    public static final TypeAdapter<EventMessage> EVENT_MESSAGE = new TypeAdapter<EventMessage>() {
+        @Override
+        public void write(JsonWriter out, EventMessage value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "name", value.getName());
+            writeList(out, "params", value.getParams(), PARAM);
+            writeString(out, "transactionHash", value.getTransactionHash());
+            writeInteger(out, "logIndex", value.getLogIndex());
+            writeLong(out, "blockTimestamp", value.getBlockTimestamp());
+            writeString(out, "contractId", value.getContractId());
+            out.endObject();
+        }
+
+        @Override
+        public EventMessage read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String name = null;
+            List<Param> params = null;
+            String transactionHash = null;
+            Integer logIndex = null;
+            Long blockTimestamp = null;
+            String contractId = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name":
+                        name = readString(in);
+                        break;
+                    case "params":
+                        params = readList(in, PARAM);
+                        break;
+                    case "transactionHash":
+                        transactionHash = readString(in);
+                        break;
+                    case "logIndex":
+                        logIndex = readInteger(in);
+                        break;
+                    case "blockTimestamp":
+                        blockTimestamp = readLong(in);
+                        break;
+                    case "contractId":
+                        contractId = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new EventMessage(name, params, transactionHash, logIndex, blockTimestamp, contractId);
+        }
+    };
+
+    public static final TypeAdapter<EventResult> EVENT_RESULT = new TypeAdapter<EventResult>() {
+        @Override
+        public void write(JsonWriter out, EventResult value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "name", value.getName());
+            writeString(out, "transactionHash", value.getTransactionHash());
+            writeLong(out, "blockTimestamp", value.getBlockTimestamp());
+            writeLong(out, "blockDate", value.getBlockDate());
+            writeList(out, "params", value.getParams(), PARAM_RESULT);
+            writeInteger(out, "logIndex", value.getLogIndex());
+            out.endObject();
+        }
+
+        @Override
+        public EventResult read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String name = null;
+            String transactionHash = null;
+            Long blockTimestamp = null;
+            Long blockDate = null;
+            List<ParamResult> params = null;
+            Integer logIndex = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name":
+                        name = readString(in);
+                        break;
+                    case "transactionHash":
+                        transactionHash = readString(in);
+                        break;
+                    case "blockTimestamp":
+                        blockTimestamp = readLong(in);
+                        break;
+                    case "blockDate":
+                        blockDate = readLong(in);
+                        break;
+                    case "params":
+                        params = readList(in, PARAM_RESULT);
+                        break;
+                    case "logIndex":
+                        logIndex = readInteger(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new EventResult(name, transactionHash, blockTimestamp, blockDate, params, logIndex);
+        }
+    };
+
+    public static final TypeAdapter<RawTransaction> RAW_TRANSACTION = new TypeAdapter<RawTransaction>() {
+        @Override
+        public void write(JsonWriter out, RawTransaction value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeBigInteger(out, "nonce", value.getNonce());
+            writeBigInteger(out, "gasPrice", value.getGasPrice());
+            writeBigInteger(out, "gasLimit", value.getGasLimit());
+            writeString(out, "to", value.getTo());
+            writeBigInteger(out, "value", value.getValue());
+            writeString(out, "data", value.getData());
+            out.endObject();
+        }
+
+        @Override
+        public RawTransaction read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            BigInteger nonce = null;
+            BigInteger gasPrice = null;
+            BigInteger gasLimit = null;
+            String to = null;
+            BigInteger value = null;
+            String data = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "nonce":
+                        nonce = readBigInteger(in);
+                        break;
+                    case "gasPrice":
+                        gasPrice = readBigInteger(in);
+                        break;
+                    case "gasLimit":
+                        gasLimit = readBigInteger(in);
+                        break;
+                    case "to":
+                        to = readString(in);
+                        break;
+                    case "value":
+                        value = readBigInteger(in);
+                        break;
+                    case "data":
+                        data = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return RawTransaction.createTransaction(nonce, gasPrice, gasLimit, to, value, data);
+        }
+    };
+
+    public static final TypeAdapter<FunctionResult> FUNCTION_RESULT = new TypeAdapter<FunctionResult>() {
+        @Override
+        public void write(JsonWriter out, FunctionResult value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "callId", value.getCallId());
+            writeString(out, "txHash", value.getTxHash());
+            if (value.getTxRaw() != null) {
+                out.name("txRaw");
+                RAW_TRANSACTION.write(out, value.getTxRaw());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public FunctionResult read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String callId = null;
+            String txHash = null;
+            RawTransaction txRaw = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "callId":
+                        callId = readString(in);
+                        break;
+                    case "txHash":
+                        txHash = readString(in);
+                        break;
+                    case "txRaw":
+                        txRaw = RAW_TRANSACTION.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new FunctionResult(callId, txHash, txRaw);
+        }
+    };
+
+    public static final TypeAdapter<CallResult> CALL_RESULT = new TypeAdapter<CallResult>() {
+        @Override
+        public void write(JsonWriter out, CallResult value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "status", value.getStatus());
+            writeString(out, "log", value.getLog());
+            out.endObject();
+        }
+
+        @Override
+        public CallResult read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String status = null;
+            String log = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        status = readString(in);
+                        break;
+                    case "log":
+                        log = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new CallResult(status, log);
+        }
+    };
+
+    public static final TypeAdapter<ContractDetails> CONTRACT_DETAILS = new TypeAdapter<ContractDetails>() {
+        @Override
+        public void write(JsonWriter out, ContractDetails value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "id", value.getId());
+            out.endObject();
+        }
+
+        @Override
+        public ContractDetails read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String id = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("id".equals(in.nextName())) {
+                    id = readString(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new ContractDetails(id);
+        }
+    };
+
+    public static final TypeAdapter<ContractResult> CONTRACT_RESULT = new TypeAdapter<ContractResult>() {
+        @Override
+        public void write(JsonWriter out, ContractResult value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            if (value.getDetails() != null) {
+                out.name("details");
+                CONTRACT_DETAILS.write(out, value.getDetails());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public ContractResult read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            ContractDetails details = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("details".equals(in.nextName())) {
+                    details = CONTRACT_DETAILS.read(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new ContractResult(details);
+        }
+    };
+
+    public static final TypeAdapter<ErrorResponse> ERROR_RESPONSE = new TypeAdapter<ErrorResponse>() {
+        @Override
+        public void write(JsonWriter out, ErrorResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            if (value.getCode() != null) out.name("code").value(value.getCode());
+            writeString(out, "status", value.getStatus());
+            writeString(out, "message", value.getMessage());
+            out.endObject();
+        }
+
+        @Override
+        public ErrorResponse read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Integer code = null;
+            String status = null;
+            String message = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "code":
+                        code = readInteger(in);
+                        break;
+                    case "status":
+                        status = readString(in);
+                        break;
+                    case "message":
+                        message = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new ErrorResponse(code, status, message);
+        }
+    };
+
+    public static final TypeAdapter<CallRawBody> CALL_RAW_BODY = new TypeAdapter<CallRawBody>() {
+        @Override
+        public void write(JsonWriter out, CallRawBody value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "signature", value.getSignature());
+            out.endObject();
+        }
+
+        @Override
+        public CallRawBody read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String signature = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("signature".equals(in.nextName())) {
+                    signature = readString(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new CallRawBody(signature);
+        }
+    };
+
+    public static final TypeAdapter<TransferBody> TRANSFER_BODY = new TypeAdapter<TransferBody>() {
+        @Override
+        public void write(JsonWriter out, TransferBody value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "networkId", value.getNetworkId());
+            writeString(out, "amount", value.getAmount());
+            writeString(out, "to", value.getTo());
+            out.endObject();
+        }
+
+        @Override
+        public TransferBody read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String networkId = null;
+            String amount = null;
+            String to = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "networkId":
+                        networkId = readString(in);
+                        break;
+                    case "amount":
+                        amount = readString(in);
+                        break;
+                    case "to":
+                        to = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new TransferBody(networkId, amount, to);
+        }
+    };
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Param.class, PARAM)
+            .registerTypeAdapter(ParamResult.class, PARAM_RESULT)
+            .registerTypeAdapter(EventMessage.class, EVENT_MESSAGE)
+            .registerTypeAdapter(EventResult.class, EVENT_RESULT)
+            .registerTypeAdapter(RawTransaction.class, RAW_TRANSACTION)
+            .registerTypeAdapter(FunctionResult.class, FUNCTION_RESULT)
+            .registerTypeAdapter(CallResult.class, CALL_RESULT)
+            .registerTypeAdapter(ContractDetails.class, CONTRACT_DETAILS)
+            .registerTypeAdapter(ContractResult.class, CONTRACT_RESULT)
+            .registerTypeAdapter(ErrorResponse.class, ERROR_RESPONSE)
+            .registerTypeAdapter(CallRawBody.class, CALL_RAW_BODY)
+            .registerTypeAdapter(TransferBody.class, TRANSFER_BODY)
+            .create();
+
+    private EmblockJson() {
+    }
+
+    /**
+     * @return the {@link Gson} instance knowing the adapters of every DTO, it is thread safe and must be reused
+     */
+    public static Gson gson() {
+        return GSON;
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    private static Long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextLong();
+    }
+
+    private static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextInt();
+    }
+
+    private static BigInteger readBigInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return new BigInteger(in.nextString());
+    }
+
+    private static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(adapter.read(in));
+        }
+        in.endArray();
+        return list;
+    }
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) out.name(name).value(value);
+    }
+
+    private static void writeLong(JsonWriter out, String name, Long value) throws IOException {
+        if (value != null) out.name(name).value(value);
+    }
+
+    private static void writeInteger(JsonWriter out, String name, Integer value) throws IOException {
+        if (value != null) out.name(name).value(value);
+    }
+
+    private static void writeBigInteger(JsonWriter out, String name, BigInteger value) throws IOException {
+        if (value != null) out.name(name).value(value);
+    }
+
+    private static <T> void writeList(JsonWriter out, String name, List<T> values, TypeAdapter<T> adapter) throws IOException {
+        if (values == null) return;
+        out.name(name);
+        out.beginArray();
+        for (T value : values) {
+            adapter.write(out, value);
+        }
+        out.endArray();
+    }
+
+}
@@ -1,15 +1,50 @@
 package co.emblock.sdk.api;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class EventMessage {
 
     private final String name;
     private final List<Param> params;
+    private final String transactionHash;
+    private final Integer logIndex;
+    private final Long blockTimestamp;
+    private final String contractId;
 
     public EventMessage(String name, List<Param> params) {
+        this(name, params, null);
+    }
+
+    public EventMessage(String name, List<Param> params, String transactionHash) {
+        this(name, params, transactionHash, null, null);
+    }
+
+    public EventMessage(String name, List<Param> params, String transactionHash, Integer logIndex, Long blockTimestamp) {
+        this(name, params, transactionHash, logIndex, blockTimestamp, null);
+    }
+
+    public EventMessage(String name, List<Param> params, String transactionHash, Integer logIndex, Long blockTimestamp, String contractId) {
         this.name = name;
         this.params = params;
+        this.transactionHash = transactionHash;
+        this.logIndex = logIndex;
+        this.blockTimestamp = blockTimestamp;
+        this.contractId = contractId;
+    }
+
+    /**
+     * Convert an event of the history to the websocket format.
+     */
+    public static EventMessage fromEventResult(EventResult event) {
+        List<Param> params = null;
+        if (event.getParams() != null) {
+            params = new ArrayList<>(event.getParams().size());
+            for (ParamResult param : event.getParams()) {
+                params.add(new Param(param.getType(), param.getValue()));
+            }
+        }
+        return new EventMessage(event.getName(), params, event.getTransactionHash(), event.getLogIndex(), event.getBlockTimestamp());
     }
 
     public String getName() {
@@ -19,6 +54,28 @@ public class EventMessage {
     public List<Param> getParams() {
         return params;
     }
+
+    public String getTransactionHash() {
+        return transactionHash;
+    }
+
+    /**
+     * @return position of the event in its transaction, null if the server does not send it
+     */
+    public Integer getLogIndex() {
+        return logIndex;
+    }
+
+    public Long getBlockTimestamp() {
+        return blockTimestamp;
+    }
+
+    /**
+     * @return contract that emitted the event, null if the server does not send it
+     */
+    public String getContractId() {
+        return contractId;
+    }
 }
 
 
@@ -9,13 +9,19 @@ public class EventResult {
     private final Long blockTimestamp;
     private final Long blockDate;
     private final List<ParamResult> params;
+    private final Integer logIndex;
 
     public EventResult(String name, String transactionHash, Long blockTimestamp, Long blockDate, List<ParamResult> params) {
+        this(name, transactionHash, blockTimestamp, blockDate, params, null);
+    }
+
+    public EventResult(String name, String transactionHash, Long blockTimestamp, Long blockDate, List<ParamResult> params, Integer logIndex) {
         this.name = name;
         this.transactionHash = transactionHash;
         this.blockTimestamp = blockTimestamp;
         this.blockDate = blockDate;
         this.params = params;
+        this.logIndex = logIndex;
     }
 
     public String getName() {
@@ -38,4 +44,11 @@ public class EventResult {
         return params;
     }
 
+    /**
+     * @return position of the event in its transaction, null if the server does not send it
+     */
+    public Integer getLogIndex() {
+        return logIndex;
+    }
+
 }
@@ -1,9 +1,14 @@
 package co.emblock.sdk.api;
 
+import java.math.BigInteger;
+
 public class Param {
     private final String type;
     private final String value;
 
+    // parsed on first access
+    private transient volatile ParamValues values;
+
     public Param(String type, String value) {
         this.type = type;
         this.value = value;
@@ -16,4 +21,46 @@ public class Param {
     public String getValue() {
         return value;
     }
+
+    /**
+     * @return the value as a number, decimal or hex with a {@code 0x} prefix, parsed once
+     * @throws NumberFormatException if the value is not a number
+     */
+    public BigInteger asBigInteger() {
+        return values().asBigInteger();
+    }
+
+    /**
+     * @throws ArithmeticException if the value does not fit in a long
+     */
+    public long asLong() {
+        return values().asLong();
+    }
+
+    /**
+     * @return the 20 bytes of an address, parsed once
+     */
+    public byte[] asAddressBytes() {
+        return values().asAddressBytes();
+    }
+
+    /**
+     * @return the 32 bytes of a bytes32 value, parsed once
+     */
+    public byte[] asBytes32() {
+        return values().asBytes32();
+    }
+
+    public boolean asBoolean() {
+        return values().asBoolean();
+    }
+
+    private ParamValues values() {
+        ParamValues result = values;
+        if (result == null) {
+            result = new ParamValues(value);
+            values = result;
+        }
+        return result;
+    }
 }
\ No newline at end of file
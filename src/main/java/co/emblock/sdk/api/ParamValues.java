@@ -0,0 +1,153 @@
+package co.emblock.sdk.api;
+
+import java.math.BigInteger;
+
+/**
+ * Typed values of a parameter, shared by {@link Param} and {@link ParamResult}: each type is parsed on first access.
+ * Hex values are read in place, without copying the digits after {@code 0x} to a new string.
+ */
+final class ParamValues {
+
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private final String value;
+    // a race only parses twice. The arrays are volatile to be published safely.
+    private BigInteger bigInteger;
+    private volatile byte[] addressBytes;
+    private volatile byte[] bytes32;
+    private Boolean booleanValue;
+
+    ParamValues(String value) {
+        this.value = value;
+    }
+
+    BigInteger asBigInteger() {
+        BigInteger result = bigInteger;
+        if (result == null) {
+            result = toBigInteger(value);
+            bigInteger = result;
+        }
+        return result;
+    }
+
+    long asLong() {
+        return asBigInteger().longValueExact();
+    }
+
+    byte[] asAddressBytes() {
+        byte[] result = addressBytes;
+        if (result == null) {
+            result = toAddressBytes(value);
+            addressBytes = result;
+        }
+        return result.clone();
+    }
+
+    byte[] asBytes32() {
+        byte[] result = bytes32;
+        if (result == null) {
+            result = toBytes32(value);
+            bytes32 = result;
+        }
+        return result.clone();
+    }
+
+    boolean asBoolean() {
+        Boolean result = booleanValue;
+        if (result == null) {
+            result = toBoolean(value);
+            booleanValue = result;
+        }
+        return result;
+    }
+
+    /**
+     * @param value decimal, or hex with a {@code 0x} prefix
+     */
+    static BigInteger toBigInteger(String value) {
+        if (value == null) throw new NumberFormatException("null value");
+        if (isHex(value)) {
+            int digits = value.length() - 2;
+            if (digits == 0) throw new NumberFormatException("no digit: " + value);
+            if (digits <= 15) return BigInteger.valueOf(parseHexLong(value));
+            return new BigInteger(1, hexToBytes(value, (digits + 1) / 2, false));
+        }
+        int start = value.startsWith("-") ? 1 : 0;
+        if (value.length() > start && value.length() - start <= MAX_LONG_DIGITS && isDecimal(value, start)) {
+            long result = 0;
+            for (int i = start; i < value.length(); i++) {
+                result = result * 10 + (value.charAt(i) - '0');
+            }
+            return BigInteger.valueOf(start == 1 ? -result : result);
+        }
+        // large numbers, and the unusual forms left to BigInteger to accept or reject
+        return new BigInteger(value);
+    }
+
+    static byte[] toAddressBytes(String value) {
+        if (value == null || !isHex(value) || value.length() != 42) {
+            throw new NumberFormatException("not an address: " + value);
+        }
+        return hexToBytes(value, 20, false);
+    }
+
+    /**
+     * @return 32 bytes, a shorter value is padded on the right like a bytes32 built from a string
+     */
+    static byte[] toBytes32(String value) {
+        if (value == null || !isHex(value) || value.length() > 66) {
+            throw new NumberFormatException("not a bytes32: " + value);
+        }
+        return hexToBytes(value, 32, true);
+    }
+
+    static boolean toBoolean(String value) {
+        if ("true".equalsIgnoreCase(value) || "1".equals(value)) return true;
+        if ("false".equalsIgnoreCase(value) || "0".equals(value)) return false;
+        throw new IllegalArgumentException("not a boolean: " + value);
+    }
+
+    private static boolean isHex(String value) {
+        return value.length() >= 2 && value.charAt(0) == '0' && (value.charAt(1) == 'x' || value.charAt(1) == 'X');
+    }
+
+    private static long parseHexLong(String value) {
+        long result = 0;
+        for (int i = 2; i < value.length(); i++) {
+            result = (result << 4) | digit(value, i);
+        }
+        return result;
+    }
+
+    private static boolean isDecimal(String value, int start) {
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param size     number of bytes of the result
+     * @param padRight true to align the digits on the left, false on the right like a number
+     */
+    private static byte[] hexToBytes(String value, int size, boolean padRight) {
+        int digits = value.length() - 2;
+        if (digits > size * 2) throw new NumberFormatException("too many digits for " + size + " bytes: " + value);
+        byte[] bytes = new byte[size];
+        // position of the first digit in the result, counted in half bytes
+        int nibble = padRight ? 0 : size * 2 - digits;
+        for (int i = 2; i < value.length(); i++, nibble++) {
+            int digit = digit(value, i);
+            if ((nibble & 1) == 0) bytes[nibble >> 1] = (byte) (digit << 4);
+            else bytes[nibble >> 1] |= (byte) digit;
+        }
+        return bytes;
+    }
+
+    private static int digit(String value, int index) {
+        int digit = Character.digit(value.charAt(index), 16);
+        if (digit < 0) throw new NumberFormatException("not an hex: " + value);
+        return digit;
+    }
+}
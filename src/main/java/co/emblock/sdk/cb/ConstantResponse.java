@@ -0,0 +1,28 @@
+package co.emblock.sdk.cb;
+
+import co.emblock.sdk.api.ParamResult;
+
+import java.util.List;
+
+public class ConstantResponse {
+    private final List<ParamResult> results;
+    private final Throwable error;
+
+    public ConstantResponse(List<ParamResult> results, Throwable error) {
+        this.results = results;
+        this.error = error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public List<ParamResult> getResults() {
+        return results;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+}
@@ -0,0 +1,221 @@
+package co.emblock.sdk.crypto;
+
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Recovers the signers of many signed messages in parallel, or verifies that they were signed by given
+ * addresses.
+ * <pre>
+ * BatchSignatureVerifier verifier = new BatchSignatureVerifier();
+ * List&lt;String&gt; signers = verifier.recoverAddresses(signedMessages);
+ * boolean[] valid = verifier.verify(signedMessages, addresses);
+ * </pre>
+ * The addresses are computed from the recovered public key points, without going through their hex. The points
+ * of the recovered signers are kept, so the next signatures of a known address are verified against its point,
+ * without recovering the key. A verification gives the same result as comparing the recovered address,
+ * including the recovery id of the signature.
+ * <p>
+ * A signature that cannot be recovered gives a {@code null} address, and fails its verification.
+ */
+public class BatchSignatureVerifier {
+
+    public static final int DEFAULT_MAX_CACHED_SIGNERS = 10_000;
+
+    private final Executor executor;
+    private final int parallelism;
+    private final int maxCachedSigners;
+    // address in lower case with the 0x prefix -> normalized public key point, the point keeps its multiples
+    private final ConcurrentMap<String, ECPoint> publicPoints = new ConcurrentHashMap<>();
+
+    /**
+     * Check on the common fork join pool.
+     */
+    public BatchSignatureVerifier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor runs the checks, its number of threads is taken as the number of processors unless it
+     *                 is a {@link ForkJoinPool}
+     */
+    public BatchSignatureVerifier(Executor executor) {
+        this(executor, ParallelChunks.parallelism(executor), DEFAULT_MAX_CACHED_SIGNERS);
+    }
+
+    /**
+     * @param executor         runs the checks
+     * @param parallelism      number of threads of the executor
+     * @param maxCachedSigners number of signers whose public key point is kept, the next ones are not kept
+     */
+    public BatchSignatureVerifier(Executor executor, int parallelism, int maxCachedSigners) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        if (maxCachedSigners < 0) throw new IllegalArgumentException("maxCachedSigners cannot be negative");
+        this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+        this.parallelism = parallelism;
+        this.maxCachedSigners = maxCachedSigners;
+    }
+
+    /**
+     * @return the addresses of the signers, with the {@code 0x} prefix, in the order of the messages, waiting
+     * for the recoveries
+     */
+    public List<String> recoverAddresses(List<SignedMessage> signedMessages) {
+        return ParallelChunks.join(recoverAddressesAsync(signedMessages));
+    }
+
+    public CompletableFuture<List<String>> recoverAddressesAsync(List<SignedMessage> signedMessages) {
+        SignedMessage[] messages = signedMessages.toArray(new SignedMessage[0]);
+        String[] addresses = new String[messages.length];
+        return ParallelChunks.forEach(messages.length, executor, parallelism, i -> addresses[i] = recoverAddress(messages[i]))
+                .thenApply(done -> new ArrayList<>(Arrays.asList(addresses)));
+    }
+
+    /**
+     * @param signedMessages the signed messages
+     * @param addresses      the address expected to have signed each message
+     * @return whether each message was signed by its address, waiting for the verifications
+     */
+    public boolean[] verify(List<SignedMessage> signedMessages, List<String> addresses) {
+        return ParallelChunks.join(verifyAsync(signedMessages, addresses));
+    }
+
+    public CompletableFuture<boolean[]> verifyAsync(List<SignedMessage> signedMessages, List<String> addresses) {
+        if (signedMessages.size() != addresses.size()) {
+            throw new IllegalArgumentException("expected one address per message, got " + addresses.size()
+                    + " addresses for " + signedMessages.size() + " messages");
+        }
+        SignedMessage[] messages = signedMessages.toArray(new SignedMessage[0]);
+        String[] signers = addresses.toArray(new String[0]);
+        boolean[] valid = new boolean[messages.length];
+        return ParallelChunks.forEach(messages.length, executor, parallelism, i -> valid[i] = verify(messages[i], signers[i]))
+                .thenApply(done -> valid);
+    }
+
+    /**
+     * @return the address of the signer, with the {@code 0x} prefix, null if it cannot be recovered
+     */
+    public String recoverAddress(SignedMessage signedMessage) {
+        Signature signature = Signature.of(signedMessage.getSignature());
+        if (signature == null) return null;
+        ECPoint point = recover(signature, signedMessage.hash());
+        if (point == null) return null;
+        String address = toAddress(point);
+        cache(address, point);
+        return address;
+    }
+
+    /**
+     * @return whether the message was signed by the address
+     */
+    public boolean verify(SignedMessage signedMessage, String address) {
+        Signature signature = Signature.of(signedMessage.getSignature());
+        if (signature == null || address == null) return false;
+        String signer = Numeric.prependHexPrefix(Numeric.cleanHexPrefix(address).toLowerCase(Locale.ROOT));
+        byte[] messageHash = signedMessage.hash();
+        ECPoint publicPoint = publicPoints.get(signer);
+        if (publicPoint != null) return verify(signature, messageHash, publicPoint);
+
+        ECPoint point = recover(signature, messageHash);
+        if (point == null || !signer.equals(toAddress(point))) return false;
+        cache(signer, point);
+        return true;
+    }
+
+    /**
+     * @return the number of signers whose public key point is kept
+     */
+    public int getCachedSignerCount() {
+        return publicPoints.size();
+    }
+
+    public void clearCache() {
+        publicPoints.clear();
+    }
+
+    private void cache(String address, ECPoint point) {
+        // a race may keep a few more points than the maximum
+        if (publicPoints.size() < maxCachedSigners) publicPoints.putIfAbsent(address, point);
+    }
+
+    private static ECPoint recover(Signature signature, byte[] messageHash) {
+        try {
+            ECPoint point = Sign.recoverPoint(signature.recId, signature.r, signature.s, messageHash);
+            return point == null || point.isInfinity() ? null : point.normalize();
+        } catch (IllegalArgumentException e) {
+            // r is not the x coordinate of a point of the curve
+            return null;
+        }
+    }
+
+    /**
+     * ECDSA verification with the public key point, also checking that the recovery id matches the point R
+     * found, so the result is the one of a recovery.
+     */
+    private static boolean verify(Signature signature, byte[] messageHash, ECPoint publicPoint) {
+        BigInteger n = Sign.CURVE.getN();
+        BigInteger e = new BigInteger(1, messageHash);
+        BigInteger sInv = signature.s.modInverse(n);
+        BigInteger u1 = e.multiply(sInv).mod(n);
+        BigInteger u2 = signature.r.multiply(sInv).mod(n);
+        ECPoint point = ECAlgorithms.sumOfTwoMultiplies(Sign.CURVE.getG(), u1, publicPoint, u2).normalize();
+        if (point.isInfinity()) return false;
+        BigInteger x = point.getAffineXCoord().toBigInteger();
+        int recId = (point.getAffineYCoord().testBitZero() ? 1 : 0) | (x.compareTo(n) >= 0 ? 2 : 0);
+        return recId == signature.recId && x.mod(n).equals(signature.r);
+    }
+
+    /**
+     * @return the right most 160 bits of the hash of the 64 bytes public key, with the {@code 0x} prefix
+     */
+    static String toAddress(ECPoint point) {
+        byte[] encoded = point.getEncoded(false);
+        byte[] hash = Hash.sha3(encoded, 1, encoded.length - 1);  // remove prefix
+        int addressSize = Keys.ADDRESS_SIZE / 8;
+        return Numeric.toHexString(hash, hash.length - addressSize, addressSize, true);
+    }
+
+    /**
+     * The components of a signature, null when they are out of range.
+     */
+    private static final class Signature {
+        final int recId;
+        final BigInteger r;
+        final BigInteger s;
+
+        private Signature(int recId, BigInteger r, BigInteger s) {
+            this.recId = recId;
+            this.r = r;
+            this.s = s;
+        }
+
+        static Signature of(Sign.SignatureData signatureData) {
+            byte[] v = signatureData.getV();
+            byte[] r = signatureData.getR();
+            byte[] s = signatureData.getS();
+            if (v == null || v.length == 0 || r == null || r.length != 32 || s == null || s.length != 32) return null;
+            int header = v[0] & 0xFF;
+            // same range as Sign.signedMessageHashToKey, from 27 to 34
+            if (header < 27 || header > 34) return null;
+            BigInteger n = Sign.CURVE.getN();
+            BigInteger rValue = new BigInteger(1, r);
+            BigInteger sValue = new BigInteger(1, s);
+            if (rValue.signum() == 0 || rValue.compareTo(n) >= 0 || sValue.signum() == 0 || sValue.compareTo(n) >= 0) {
+                return null;
+            }
+            return new Signature(header - 27, rValue, sValue);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package co.emblock.sdk.crypto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Signs many transactions in parallel, the signed transactions are returned in the order of the transactions.
+ * <pre>
+ * BatchTransactionSigner batchSigner = new BatchTransactionSigner();
+ * List&lt;byte[]&gt; signed = batchSigner.sign(rawTransactions, chainId, wallet.getCredentials());
+ * </pre>
+ * The transactions are split in a few chunks per thread, each chunk is signed by one task. A signature only
+ * uses the state of its thread, so the throughput grows with the number of threads of the executor.
+ */
+public class BatchTransactionSigner {
+
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * Sign on the common fork join pool.
+     */
+    public BatchTransactionSigner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor runs the signatures, its number of threads is taken as the number of processors unless it
+     *                 is a {@link ForkJoinPool}
+     */
+    public BatchTransactionSigner(Executor executor) {
+        this(executor, ParallelChunks.parallelism(executor));
+    }
+
+    /**
+     * @param executor    runs the signatures
+     * @param parallelism number of threads of the executor
+     */
+    public BatchTransactionSigner(Executor executor, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the signed transactions, waiting for the signatures
+     */
+    public List<byte[]> sign(List<RawTransaction> rawTransactions, Credentials credentials) {
+        return ParallelChunks.join(signAsync(rawTransactions, credentials));
+    }
+
+    /**
+     * @return the signed transactions for the chain, as per EIP-155, waiting for the signatures
+     */
+    public List<byte[]> sign(List<RawTransaction> rawTransactions, long chainId, Credentials credentials) {
+        return ParallelChunks.join(signAsync(rawTransactions, chainId, credentials));
+    }
+
+    public CompletableFuture<List<byte[]>> signAsync(List<RawTransaction> rawTransactions, Credentials credentials) {
+        return signAsync(rawTransactions, null, credentials);
+    }
+
+    public CompletableFuture<List<byte[]>> signAsync(List<RawTransaction> rawTransactions, long chainId, Credentials credentials) {
+        return signAsync(rawTransactions, (Long) chainId, credentials);
+    }
+
+    private CompletableFuture<List<byte[]>> signAsync(List<RawTransaction> rawTransactions, Long chainId, Credentials credentials) {
+        Objects.requireNonNull(credentials, "credentials cannot be null");
+        RawTransaction[] transactions = rawTransactions.toArray(new RawTransaction[0]);
+        byte[][] signed = new byte[transactions.length][];
+        return ParallelChunks.forEach(transactions.length, executor, parallelism, i -> signed[i] = chainId == null
+                ? TransactionEncoder.signMessage(transactions[i], credentials)
+                : TransactionEncoder.signMessage(transactions[i], chainId, credentials))
+                // each task wrote its own slots, the results are visible once all of them completed
+                .thenApply(done -> new ArrayList<>(Arrays.asList(signed)));
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Arrays;
 public final class Numeric {
 
     private static final String HEX_PREFIX = "0x";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
     private Numeric() {
     }
@@ -193,12 +194,12 @@ public final class Numeric {
     }
 
     public static String toHexString(byte[] input, int offset, int length, boolean withPrefix) {
-        StringBuilder stringBuilder = new StringBuilder();
+        StringBuilder stringBuilder = new StringBuilder((withPrefix ? 2 : 0) + length * 2);
         if (withPrefix) {
             stringBuilder.append("0x");
         }
         for (int i = offset; i < offset + length; i++) {
-            stringBuilder.append(String.format("%02x", input[i] & 0xFF));
+            stringBuilder.append(HEX_DIGITS[(input[i] >> 4) & 0xF]).append(HEX_DIGITS[input[i] & 0xF]);
         }
 
         return stringBuilder.toString();
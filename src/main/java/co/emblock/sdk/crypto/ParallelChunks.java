@@ -0,0 +1,59 @@
+package co.emblock.sdk.crypto;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs an action on every index of a batch, split in a few chunks per thread of an executor.
+ */
+final class ParallelChunks {
+
+    // chunks per thread, so a slower thread does not hold back the batch
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ParallelChunks() {
+    }
+
+    /**
+     * @return the number of threads of the executor, the number of processors unless it is a {@link ForkJoinPool}
+     */
+    static int parallelism(Executor executor) {
+        return executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return completed once the action ran on the indexes 0 to {@code size - 1}, the writes of the action are
+     * visible to the dependent stages
+     */
+    static CompletableFuture<Void> forEach(int size, Executor executor, int parallelism, IntConsumer action) {
+        int chunks = Math.max(1, Math.min(size, parallelism * CHUNKS_PER_THREAD));
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = (int) ((long) size * chunk / chunks);
+            int to = (int) ((long) size * (chunk + 1) / chunks);
+            tasks[chunk] = CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+            }, executor);
+        }
+        return CompletableFuture.allOf(tasks);
+    }
+
+    /**
+     * Wait for the result, throwing the runtime exception of a failed chunk as is.
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+}
@@ -25,6 +25,15 @@ public class RawTransaction {
         this.data = data != null ? Numeric.cleanHexPrefix(data) : null;
     }
 
+    public static RawTransaction createTransaction(BigInteger nonce,
+                                                   BigInteger gasPrice,
+                                                   BigInteger gasLimit,
+                                                   String to,
+                                                   BigInteger value,
+                                                   String data) {
+        return new RawTransaction(nonce, gasPrice, gasLimit, to, value, data);
+    }
+
     public BigInteger getNonce() {
         return nonce;
     }
@@ -0,0 +1,65 @@
+package co.emblock.sdk.crypto;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.math.ec.ECMultiplier;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+
+import java.math.BigInteger;
+
+/**
+ * ECDSA signer giving the recovery id of the signature, so the public key does not have to be recovered
+ * to find it.
+ * <p>
+ * The signature is the one of {@link ECKeyPair#sign(byte[])}: deterministic nonce of RFC 6979 with SHA-256,
+ * and low S. The recovery id comes from the nonce point R = kG: bit 0 is the parity of its y coordinate,
+ * bit 1 is set when its x coordinate is not below the curve order, so r = x mod n lost it. Replacing S by
+ * n - S is signing with -k, whose point has the opposite y: the parity bit is flipped.
+ * <p>
+ * A signer is not thread safe, it keeps the nonce generator between signatures. The state of the generator derived
+ * from the private key is overwritten after each signature.
+ */
+public class RecoverableSigner {
+
+    private static final byte[] NO_HASH = new byte[32];
+
+    private final HMacDSAKCalculator kCalculator = new HMacDSAKCalculator(new SHA256Digest());
+    private final ECMultiplier multiplier = new FixedPointCombMultiplier();
+
+    /**
+     * @param messageHash the 32 bytes hash to sign
+     * @param privateKey  the private key
+     * @return the signature, with {@code v = 27 + recId}
+     */
+    public Sign.SignatureData sign(byte[] messageHash, BigInteger privateKey) {
+        BigInteger n = Sign.CURVE.getN();
+        BigInteger e = new BigInteger(1, messageHash);
+        if (messageHash.length * 8 > n.bitLength()) e = e.shiftRight(messageHash.length * 8 - n.bitLength());
+        kCalculator.init(n, privateKey, messageHash);
+        try {
+            return sign(n, e, privateKey);
+        } finally {
+            kCalculator.init(n, BigInteger.ONE, NO_HASH);
+        }
+    }
+
+    private Sign.SignatureData sign(BigInteger n, BigInteger e, BigInteger privateKey) {
+        while (true) {
+            BigInteger k = kCalculator.nextK();
+            ECPoint point = multiplier.multiply(Sign.CURVE.getG(), k).normalize();
+            BigInteger x = point.getAffineXCoord().toBigInteger();
+            BigInteger r = x.mod(n);
+            if (r.signum() == 0) continue;
+            BigInteger s = k.modInverse(n).multiply(e.add(privateKey.multiply(r))).mod(n);
+            if (s.signum() == 0) continue;
+            int recId = (point.getAffineYCoord().testBitZero() ? 1 : 0) | (x.compareTo(n) >= 0 ? 2 : 0);
+            if (s.compareTo(Sign.HALF_CURVE_ORDER) > 0) {
+                s = n.subtract(s);
+                recId ^= 1;
+            }
+            byte[] v = new byte[]{(byte) (recId + 27)};
+            return new Sign.SignatureData(v, Numeric.toBytesPadded(r, 32), Numeric.toBytesPadded(s, 32));
+        }
+    }
+}
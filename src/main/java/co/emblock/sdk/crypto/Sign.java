@@ -24,6 +24,9 @@ public class Sign {
 
     static final String MESSAGE_PREFIX = "\u0019Ethereum Signed Message:\n";
 
+    // a signer keeps its nonce generator and multiplier, each thread reuses its own
+    private static final ThreadLocal<RecoverableSigner> SIGNERS = ThreadLocal.withInitial(RecoverableSigner::new);
+
     static byte[] getEthereumMessagePrefix(int messageLength) {
         return MESSAGE_PREFIX.concat(String.valueOf(messageLength)).getBytes();
     }
@@ -38,47 +41,23 @@ public class Sign {
         return Hash.sha3(result);
     }
 
-    /*
     public static SignatureData signPrefixedMessage(byte[] message, ECKeyPair keyPair) {
         return signMessage(getEthereumMessageHash(message), keyPair, false);
     }
-     */
 
     public static SignatureData signMessage(byte[] message, ECKeyPair keyPair) {
         return signMessage(message, keyPair, true);
     }
 
     public static SignatureData signMessage(byte[] message, ECKeyPair keyPair, boolean needToHash) {
-        BigInteger publicKey = keyPair.getPublicKey();
         byte[] messageHash;
         if (needToHash) {
             messageHash = Hash.sha3(message);
         } else {
             messageHash = message;
         }
-
-        ECDSASignature sig = keyPair.sign(messageHash);
-        // Now we have to work backwards to figure out the recId needed to recover the signature.
-        int recId = -1;
-        for (int i = 0; i < 4; i++) {
-            BigInteger k = recoverFromSignature(i, sig, messageHash);
-            if (k != null && k.equals(publicKey)) {
-                recId = i;
-                break;
-            }
-        }
-        if (recId == -1) {
-            throw new RuntimeException("Could not construct a recoverable key. Are your credentials valid?");
-        }
-
-        int headerByte = recId + 27;
-
-        // 1 header + 32 bytes for R + 32 bytes for S
-        byte[] v = new byte[]{(byte) headerByte};
-        byte[] r = Numeric.toBytesPadded(sig.r, 32);
-        byte[] s = Numeric.toBytesPadded(sig.s, 32);
-
-        return new SignatureData(v, r, s);
+        // the recovery id is known while signing, no need to recover the public key to find it
+        return SIGNERS.get().sign(messageHash, keyPair.getPrivateKey());
     }
 
     /**
@@ -109,11 +88,25 @@ public class Sign {
         verifyPrecondition(sig.s.signum() >= 0, "s must be positive");
         verifyPrecondition(message != null, "message cannot be null");
 
+        ECPoint q = recoverPoint(recId, sig.r, sig.s, message);
+        if (q == null) {
+            return null;
+        }
+        byte[] qBytes = q.getEncoded(false);
+        // We remove the prefix
+        return new BigInteger(1, Arrays.copyOfRange(qBytes, 1, qBytes.length));
+    }
+
+    /**
+     * @return the public key point of {@link #recoverFromSignature(int, ECDSASignature, byte[])}, null if
+     * recovery wasn't possible
+     */
+    static ECPoint recoverPoint(int recId, BigInteger r, BigInteger s, byte[] message) {
         // 1.0 For j from 0 to h   (h == recId here and the loop is outside this function)
         //   1.1 Let x = r + jn
         BigInteger n = CURVE.getN();  // Curve order.
         BigInteger i = BigInteger.valueOf((long) recId / 2);
-        BigInteger x = sig.r.add(i.multiply(n));
+        BigInteger x = r.add(i.multiply(n));
         //   1.2. Convert the integer x to an octet string X of length mlen using the conversion
         //        routine specified in Section 2.3.7, where mlen = ⌈(log2 p)/8⌉ or mlen = ⌈m/8⌉.
         //   1.3. Convert the octet string (16 set binary digits)||X to an elliptic curve point R
@@ -131,9 +124,7 @@ public class Sign {
         ECPoint R = decompressKey(x, (recId & 1) == 1);
         //   1.4. If nR != point at infinity, then do another iteration of Step 1 (callers
         //        responsibility).
-        if (!R.multiply(n).isInfinity()) {
-            return null;
-        }
+        // The cofactor of secp256k1 is 1: every point of the curve has order n, no need to multiply.
         //   1.5. Compute e from M using Steps 2 and 3 of ECDSA signature verification.
         BigInteger e = new BigInteger(1, message);
         //   1.6. For k from 1 to 2 do the following.   (loop is outside this function via
@@ -151,14 +142,10 @@ public class Sign {
         // example the additive inverse of 3 modulo 11 is 8 because 3 + 8 mod 11 = 0, and
         // -3 mod 11 = 8.
         BigInteger eInv = BigInteger.ZERO.subtract(e).mod(n);
-        BigInteger rInv = sig.r.modInverse(n);
-        BigInteger srInv = rInv.multiply(sig.s).mod(n);
+        BigInteger rInv = r.modInverse(n);
+        BigInteger srInv = rInv.multiply(s).mod(n);
         BigInteger eInvrInv = rInv.multiply(eInv).mod(n);
-        ECPoint q = ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), eInvrInv, R, srInv);
-
-        byte[] qBytes = q.getEncoded(false);
-        // We remove the prefix
-        return new BigInteger(1, Arrays.copyOfRange(qBytes, 1, qBytes.length));
+        return ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), eInvrInv, R, srInv);
     }
 
     /**
@@ -187,7 +174,6 @@ public class Sign {
         return signedMessageHashToKey(Hash.sha3(message), signatureData);
     }
 
-    /*
     /**
      * Given an arbitrary message and an Ethereum message signature encoded in bytes,
      * returns the public key that was used to sign it. This can then be compared to the
@@ -199,13 +185,11 @@ public class Sign {
      * @throws SignatureException If the public key could not be recovered or if there was a
      *                            signature format error.
      */
-    /*
     public static BigInteger signedPrefixedMessageToKey(
             byte[] message, SignatureData signatureData) throws SignatureException {
         return signedMessageHashToKey(getEthereumMessageHash(message), signatureData);
     }
 
-     */
     static BigInteger signedMessageHashToKey(
             byte[] messageHash, SignatureData signatureData) throws SignatureException {
 
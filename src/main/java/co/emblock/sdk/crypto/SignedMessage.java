@@ -0,0 +1,61 @@
+package co.emblock.sdk.crypto;
+
+import java.util.Objects;
+
+/**
+ * A message and its signature, to recover or verify the signer with a {@link BatchSignatureVerifier}.
+ * The message is hashed when the signature is checked, on the thread checking it.
+ */
+public final class SignedMessage {
+
+    private static final int HASH = 0;
+    private static final int MESSAGE = 1;
+    private static final int PREFIXED_MESSAGE = 2;
+
+    private final byte[] data;
+    private final int kind;
+    private final Sign.SignatureData signature;
+
+    private SignedMessage(byte[] data, int kind, Sign.SignatureData signature) {
+        this.data = Objects.requireNonNull(data, "message cannot be null");
+        this.kind = kind;
+        this.signature = Objects.requireNonNull(signature, "signature cannot be null");
+    }
+
+    /**
+     * A message signed as by {@link Sign#signMessage(byte[], ECKeyPair)}, see {@link Sign#signedMessageToKey}.
+     */
+    public static SignedMessage of(byte[] message, Sign.SignatureData signature) {
+        return new SignedMessage(message, MESSAGE, signature);
+    }
+
+    /**
+     * A message signed with the Ethereum prefix, as by {@link Sign#signPrefixedMessage(byte[], ECKeyPair)} or
+     * {@code eth_sign}, see {@link Sign#signedPrefixedMessageToKey}.
+     */
+    public static SignedMessage prefixed(byte[] message, Sign.SignatureData signature) {
+        return new SignedMessage(message, PREFIXED_MESSAGE, signature);
+    }
+
+    /**
+     * A 32 bytes hash signed as is.
+     */
+    public static SignedMessage ofHash(byte[] messageHash, Sign.SignatureData signature) {
+        return new SignedMessage(messageHash, HASH, signature);
+    }
+
+    public Sign.SignatureData getSignature() {
+        return signature;
+    }
+
+    byte[] hash() {
+        switch (kind) {
+            case MESSAGE:
+                return Hash.sha3(data);
+            case PREFIXED_MESSAGE:
+                return Sign.getEthereumMessageHash(data);
+            default:
+                return data;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package co.emblock.sdk.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * A private key ready to sign: the public key and the address are computed once, see {@link SignerRegistry}.
+ */
+public final class Signer {
+
+    private final Credentials credentials;
+    private final String publicKey;
+
+    Signer(Credentials credentials) {
+        this.credentials = credentials;
+        this.publicKey = Numeric.toHexStringWithPrefixZeroPadded(credentials.getEcKeyPair().getPublicKey(), 128);
+    }
+
+    /**
+     * Compute the public key and the address of a private key, prefer {@link SignerRegistry#register(String)}
+     * to reuse the signers.
+     */
+    public static Signer create(String privateKey) {
+        return create(Numeric.toBigInt(privateKey));
+    }
+
+    static Signer create(BigInteger privateKey) {
+        return new Signer(Credentials.create(ECKeyPair.create(privateKey)));
+    }
+
+    public Credentials getCredentials() {
+        return credentials;
+    }
+
+    /**
+     * @return the address of the key, with the {@code 0x} prefix
+     */
+    public String getAddress() {
+        return credentials.getAddress();
+    }
+
+    /**
+     * @return the 64 bytes public key in hex, with the {@code 0x} prefix
+     */
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * @return the signed transaction, in hex
+     */
+    public String signTransaction(RawTransaction rawTransaction) {
+        return Numeric.toHexString(TransactionEncoder.signMessage(rawTransaction, credentials));
+    }
+}
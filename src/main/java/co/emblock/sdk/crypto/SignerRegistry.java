@@ -0,0 +1,54 @@
+package co.emblock.sdk.crypto;
+
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps a {@link Signer} per private key, so the public key of a wallet is derived once whatever the number
+ * of transactions it signs.
+ * <pre>
+ * SignerRegistry signers = new SignerRegistry();
+ * Signer wallet = signers.register(privateKey);
+ * client.callFunctionWithClientSideSignatureAsync(wallet, "transfer", params);
+ * </pre>
+ */
+public class SignerRegistry {
+
+    private final ConcurrentMap<BigInteger, Signer> byPrivateKey = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Signer> byAddress = new ConcurrentHashMap<>();
+
+    /**
+     * @param privateKey private key in hex
+     * @return the signer of the key, created on the first registration
+     */
+    public Signer register(String privateKey) {
+        Signer signer = byPrivateKey.computeIfAbsent(Numeric.toBigInt(privateKey), Signer::create);
+        byAddress.putIfAbsent(normalize(signer.getAddress()), signer);
+        return signer;
+    }
+
+    /**
+     * @return the signer registered with this address, null if there is none
+     */
+    public Signer get(String address) {
+        return byAddress.get(normalize(address));
+    }
+
+    /**
+     * @return true if the signer was registered
+     */
+    public boolean unregister(Signer signer) {
+        byAddress.remove(normalize(signer.getAddress()), signer);
+        return byPrivateKey.remove(signer.getCredentials().getEcKeyPair().getPrivateKey(), signer);
+    }
+
+    public int size() {
+        return byPrivateKey.size();
+    }
+
+    private static String normalize(String address) {
+        return Numeric.prependHexPrefix(Numeric.cleanHexPrefix(address)).toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,7 @@
 package co.emblock.sdk.crypto;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,10 +11,8 @@ import java.util.List;
  */
 public class TransactionEncoder {
 
-    /*
     private static final int CHAIN_ID_INC = 35;
     private static final int LOWER_REAL_V = 27;
-     */
 
     public static byte[] signMessage(RawTransaction rawTransaction, Credentials credentials) {
         byte[] encodedTransaction = encode(rawTransaction);
@@ -20,8 +20,10 @@ public class TransactionEncoder {
         return encode(rawTransaction, signatureData);
     }
 
-    /*
-    private static byte[] signMessage(
+    /**
+     * Sign a transaction for a chain, as per EIP-155: the chain id is part of the signed data and of v.
+     */
+    public static byte[] signMessage(
             RawTransaction rawTransaction, long chainId, Credentials credentials) {
         byte[] encodedTransaction = encode(rawTransaction, chainId);
         Sign.SignatureData signatureData = Sign.signMessage(
@@ -31,11 +33,13 @@ public class TransactionEncoder {
         return encode(rawTransaction, eip155SignatureData);
     }
 
+    /*
     @Deprecated
     public static byte[] signMessage(
             RawTransaction rawTransaction, byte chainId, Credentials credentials) {
         return signMessage(rawTransaction, (long) chainId, credentials);
     }
+     */
 
     public static Sign.SignatureData createEip155SignatureData(
             Sign.SignatureData signatureData, long chainId) {
@@ -48,6 +52,7 @@ public class TransactionEncoder {
                 v.toByteArray(), signatureData.getR(), signatureData.getS());
     }
 
+    /*
     @Deprecated
     public static Sign.SignatureData createEip155SignatureData(
             Sign.SignatureData signatureData, byte chainId) {
@@ -59,13 +64,13 @@ public class TransactionEncoder {
         return encode(rawTransaction, null);
     }
 
-    /*
     public static byte[] encode(RawTransaction rawTransaction, long chainId) {
         Sign.SignatureData signatureData = new Sign.SignatureData(
                 longToBytes(chainId), new byte[] {}, new byte[] {});
         return encode(rawTransaction, signatureData);
     }
 
+    /*
     @Deprecated
     public static byte[] encode(RawTransaction rawTransaction, byte chainId) {
         return encode(rawTransaction, (long) chainId);
@@ -78,13 +83,11 @@ public class TransactionEncoder {
         return RlpEncoder.encode(rlpList);
     }
 
-    /*
     private static byte[] longToBytes(long x) {
         ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
         buffer.putLong(x);
         return buffer.array();
     }
-     */
 
     public static List<RlpType> asRlpValues(
             RawTransaction rawTransaction, Sign.SignatureData signatureData) {
@@ -0,0 +1,397 @@
+package co.emblock.sdk.ws;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+
+import org.java_websocket.framing.CloseFrame;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One events websocket carrying the {@code contract_events} subscriptions of many contracts.
+ * <p>
+ * Frames are read on the websocket thread and delivered to the listeners on another thread through an
+ * {@link EventsRingBuffer}, so a slow listener does not stop the websocket from being read. What happens when
+ * the listeners cannot keep up is set by the {@link OverflowPolicy}, {@link OverflowPolicy#BLOCK} by default.
+ * <p>
+ * Frames are routed to the listeners of their {@code contractId}. A frame without a contract id can only be
+ * routed while a single contract is subscribed: with several contracts it is dropped, counted by
+ * {@link #getUnroutedCount()} and reported to the listeners once per connection. The websocket is opened by
+ * the first subscription and closed with the last one, the thread delivering the events is started and stopped
+ * with it.
+ * <p>
+ * The websocket is reconnected when it is closed by anything else than {@link #close()}. The delay before a
+ * reconnection doubles after each failed attempt, from {@code initialDelay} up to {@code maxDelay}, and is reset
+ * once a connection is open. The subscriptions are sent again on each connection and
+ * {@link EventsWebSocketListener#onOpen()} is called, so the listeners can backfill the events missed while
+ * disconnected.
+ */
+public class EventsConnection implements Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    // a websocket cannot be reopened from its own thread, reconnections are scheduled on a shared thread
+    private static final ScheduledThreadPoolExecutor RECONNECT_SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "emblock-ws-reconnect");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        RECONNECT_SCHEDULER.setKeepAliveTime(30, TimeUnit.SECONDS);
+        RECONNECT_SCHEDULER.allowCoreThreadTimeOut(true);
+        RECONNECT_SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final URI uri;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Router router = new Router();
+    // written under lock, running while there are subscriptions
+    private volatile EventsRingBuffer<Object> buffer;
+    // frames dropped by the buffers already stopped
+    private long droppedBefore;
+    private volatile EventsMetrics metrics = EventsMetrics.NOOP;
+    private final AtomicLong unrouted = new AtomicLong();
+
+    // replaced on each change, read without lock by the websocket thread
+    private volatile Map<String, List<EventsWebSocketListener>> routes = Collections.emptyMap();
+    private volatile List<EventsWebSocketListener> allListeners = Collections.emptyList();
+
+    // written under lock, volatile so the frames are checked against the current socket without lock
+    private volatile EventsWebSocketClient socket;
+    private volatile boolean closed;
+    private ScheduledFuture<?> reconnection;
+    private int attempts;
+
+    public EventsConnection(URI uri) {
+        this(uri, 1000, 60000);
+    }
+
+    /**
+     * @param initialDelayMillis delay before the first reconnection attempt
+     * @param maxDelayMillis     maximum delay between two reconnection attempts
+     */
+    public EventsConnection(URI uri, long initialDelayMillis, long maxDelayMillis) {
+        this(uri, initialDelayMillis, maxDelayMillis, DEFAULT_BUFFER_SIZE, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param bufferSize     number of frames received and not yet delivered to the listeners
+     * @param overflowPolicy what to do with a frame when the buffer is full
+     */
+    public EventsConnection(URI uri, long initialDelayMillis, long maxDelayMillis, int bufferSize, OverflowPolicy overflowPolicy) {
+        this.uri = uri;
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        if (bufferSize < 1) throw new IllegalArgumentException("bufferSize must be at least 1");
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy cannot be null");
+    }
+
+    /**
+     * Receive the events of a contract. The websocket is opened if needed.
+     */
+    public void subscribe(String contractId, EventsWebSocketListener listener) {
+        boolean alreadyOpen;
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("EventsConnection is closed");
+            List<EventsWebSocketListener> listeners = routes.get(contractId);
+            Map<String, List<EventsWebSocketListener>> updated = new HashMap<>(routes);
+            updated.put(contractId, append(listeners, listener));
+            setRoutes(updated);
+
+            alreadyOpen = socket != null && socket.isOpen();
+            if (socket == null && reconnection == null) {
+                open();
+            } else if (alreadyOpen && listeners == null) {
+                socket.subscribe(contractId);
+            }
+        }
+        // the listener missed the opening of the websocket
+        if (alreadyOpen) listener.onOpen();
+    }
+
+    /**
+     * Stop receiving the events of a contract. The websocket is closed with the last subscription.
+     */
+    public void unsubscribe(String contractId, EventsWebSocketListener listener) {
+        EventsWebSocketClient closing = null;
+        EventsRingBuffer<Object> stopping = null;
+        synchronized (this) {
+            List<EventsWebSocketListener> listeners = routes.get(contractId);
+            if (listeners == null || !listeners.contains(listener)) return;
+            Map<String, List<EventsWebSocketListener>> updated = new HashMap<>(routes);
+            List<EventsWebSocketListener> remaining = new ArrayList<>(listeners);
+            remaining.remove(listener);
+            // the server has no unsubscribe message, frames of this contract are dropped until the websocket is reopened
+            if (remaining.isEmpty()) updated.remove(contractId);
+            else updated.put(contractId, Collections.unmodifiableList(remaining));
+            setRoutes(updated);
+
+            if (updated.isEmpty()) {
+                closing = socket;
+                socket = null;
+                if (reconnection != null) reconnection.cancel(false);
+                reconnection = null;
+                attempts = 0;
+                stopping = stopBuffer();
+            }
+        }
+        if (closing != null) closing.close();
+        if (stopping != null) stopping.close();
+    }
+
+    private static List<EventsWebSocketListener> append(List<EventsWebSocketListener> listeners, EventsWebSocketListener listener) {
+        List<EventsWebSocketListener> appended = listeners != null ? new ArrayList<>(listeners) : new ArrayList<>();
+        appended.add(listener);
+        return Collections.unmodifiableList(appended);
+    }
+
+    private void setRoutes(Map<String, List<EventsWebSocketListener>> updated) {
+        List<EventsWebSocketListener> all = new ArrayList<>();
+        for (List<EventsWebSocketListener> listeners : updated.values()) {
+            all.addAll(listeners);
+        }
+        routes = Collections.unmodifiableMap(updated);
+        allListeners = Collections.unmodifiableList(all);
+    }
+
+    private synchronized void open() {
+        reconnection = null;
+        if (closed || routes.isEmpty()) return;
+        if (buffer == null) {
+            // frames and connection signals, so they reach the listeners in the order they happened
+            buffer = new EventsRingBuffer<Object>("emblock-events", bufferSize, overflowPolicy, this::consume);
+            buffer.start();
+        }
+        SocketListener socketListener = new SocketListener(buffer);
+        socket = new EventsWebSocketClient(uri, socketListener);
+        socketListener.socket = socket;
+        socket.connect();
+    }
+
+    private synchronized void reconnect(EventsWebSocketClient closedSocket) {
+        // only the current socket triggers a reconnection, it is closed once
+        if (closed || socket != closedSocket) return;
+        socket = null;
+        long delay = Math.min(maxDelayMillis, initialDelayMillis << Math.min(attempts, 20));
+        // half of the delay is randomized so clients dropped together do not reconnect together
+        delay = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        attempts++;
+        reconnection = RECONNECT_SCHEDULER.schedule(this::open, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized EventsRingBuffer<Object> stopBuffer() {
+        EventsRingBuffer<Object> stopping = buffer;
+        buffer = null;
+        if (stopping != null) droppedBefore += stopping.getDroppedCount();
+        return stopping;
+    }
+
+    private boolean isCurrent(EventsWebSocketClient candidate) {
+        return !closed && socket == candidate;
+    }
+
+    public boolean isOpen() {
+        EventsWebSocketClient current = socket;
+        return current != null && current.isOpen();
+    }
+
+    /**
+     * @return number of contracts subscribed
+     */
+    public int getSubscriptionCount() {
+        return routes.size();
+    }
+
+    /**
+     * @return number of frames received and not yet delivered to the listeners
+     */
+    public long getBufferDepth() {
+        EventsRingBuffer<Object> current = buffer;
+        return current != null ? current.getDepth() : 0;
+    }
+
+    /**
+     * @return number of frames dropped because the listeners were too slow
+     */
+    public synchronized long getDroppedCount() {
+        return droppedBefore + (buffer != null ? buffer.getDroppedCount() : 0);
+    }
+
+    /**
+     * @return number of frames without contract id dropped because several contracts were subscribed
+     */
+    public long getUnroutedCount() {
+        return unrouted.get();
+    }
+
+    /**
+     * @param metrics measures of the events delivery, {@link EventsMetrics#NOOP} by default
+     */
+    public void setMetrics(EventsMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics cannot be null");
+    }
+
+    public EventsMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Close the websocket, it is not reconnected anymore.
+     */
+    @Override
+    public void close() {
+        EventsWebSocketClient current;
+        EventsRingBuffer<Object> stopping;
+        synchronized (this) {
+            closed = true;
+            current = socket;
+            socket = null;
+            if (reconnection != null) reconnection.cancel(false);
+            reconnection = null;
+            stopping = stopBuffer();
+        }
+        if (current != null) current.close();
+        if (stopping != null) stopping.close();
+    }
+
+    /**
+     * Deliver a frame or run a connection signal, on the buffer thread.
+     */
+    void consume(Object element) {
+        if (!(element instanceof String)) {
+            ((Runnable) element).run();
+            return;
+        }
+        EventsMetrics current = metrics;
+        if (current == EventsMetrics.NOOP) {
+            EventsWebSocketClient.decode((String) element, router);
+            return;
+        }
+        current.onQueueDepth(getBufferDepth());
+        long start = System.nanoTime();
+        EventMessage message = EventsWebSocketClient.parse((String) element, router);
+        long decoded = System.nanoTime();
+        current.onDecode(decoded - start);
+        if (message == null) return;
+        current.onEvent(message.getName(), message.getBlockTimestamp(), System.currentTimeMillis());
+        router.onEvent(message);
+        current.onListeners(message.getName(), System.nanoTime() - decoded);
+    }
+
+    /**
+     * Receives the frames of the current socket on the websocket thread and hands them to the buffer.
+     */
+    private final class SocketListener implements EventsWebSocketListener {
+        private final EventsRingBuffer<Object> buffer;
+        private EventsWebSocketClient socket;
+
+        private SocketListener(EventsRingBuffer<Object> buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void onOpen() {
+            List<EventsWebSocketListener> listeners;
+            synchronized (EventsConnection.this) {
+                if (!isCurrent(socket)) return;
+                attempts = 0;
+                for (String contractId : routes.keySet()) {
+                    socket.subscribe(contractId);
+                }
+                listeners = allListeners;
+            }
+            buffer.publishBlocking((Runnable) () -> {
+                router.unroutedReported = false;
+                for (EventsWebSocketListener listener : listeners) {
+                    listener.onOpen();
+                }
+            });
+        }
+
+        @Override
+        public void onMessage(String message) {
+            if (!isCurrent(socket)) return;
+            if (!buffer.publish(message) && buffer.getOverflowPolicy() == OverflowPolicy.FAIL) {
+                // the listeners backfill the dropped events once reconnected
+                socket.close(CloseFrame.GOING_AWAY, "events buffer full");
+            }
+        }
+
+        @Override
+        public void onEvent(String eventName, List<Param> params) {
+            router.onEvent(eventName, params);
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            if (isCurrent(socket)) buffer.publishBlocking((Runnable) () -> router.onError(ex));
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            if (!isCurrent(socket)) return;
+            Exception ex = new Exception("webSocket closed, code=" + code + " reason=" + reason + " remote=" + remote + ", reconnecting");
+            buffer.publishBlocking((Runnable) () -> router.onError(ex));
+            reconnect(socket);
+        }
+    }
+
+    /**
+     * Delivers the decoded events to the listeners of their contract, on the buffer thread.
+     */
+    private final class Router implements EventsWebSocketListener {
+        // an unroutable frame was reported since the websocket was opened, only read and written on the buffer thread
+        private boolean unroutedReported;
+
+        @Override
+        public void onEvent(EventMessage message) {
+            List<EventsWebSocketListener> listeners;
+            if (message.getContractId() != null) {
+                listeners = routes.get(message.getContractId());
+            } else {
+                Map<String, List<EventsWebSocketListener>> current = routes;
+                if (current.size() != 1) {
+                    dropUnrouted(message, current.size());
+                    return;
+                }
+                listeners = current.values().iterator().next();
+            }
+            if (listeners == null) return;
+            for (EventsWebSocketListener listener : listeners) {
+                listener.onEvent(message);
+            }
+        }
+
+        private void dropUnrouted(EventMessage message, int contracts) {
+            unrouted.incrementAndGet();
+            if (unroutedReported || contracts == 0) return;
+            unroutedReported = true;
+            onError(new Exception("event " + message.getName() + " without contract id dropped, " + contracts
+                    + " contracts are subscribed on the websocket"));
+        }
+
+        @Override
+        public void onEvent(String eventName, List<Param> params) {
+            onEvent(new EventMessage(eventName, params));
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            for (EventsWebSocketListener listener : allListeners) {
+                listener.onError(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package co.emblock.sdk.ws;
+
+/**
+ * Measures of the events delivery, called on the events thread for each frame and event received.
+ * <p>
+ * The methods must be fast and must not block, they are on the path of every event. Nothing is measured
+ * with {@link #NOOP}, the default. See {@link HdrEventsMetrics} for an implementation.
+ */
+public interface EventsMetrics {
+
+    EventsMetrics NOOP = new EventsMetrics() {
+    };
+
+    /**
+     * @param depth number of frames waiting in the buffer when a frame is taken
+     */
+    default void onQueueDepth(long depth) {
+    }
+
+    /**
+     * @param nanos time to decode a frame
+     */
+    default void onDecode(long nanos) {
+    }
+
+    /**
+     * @param eventName      name of the event decoded
+     * @param blockTimestamp timestamp of the block of the event, null if the server did not send it
+     * @param receivedMillis time the event was decoded, in milliseconds since the epoch
+     */
+    default void onEvent(String eventName, Long blockTimestamp, long receivedMillis) {
+    }
+
+    /**
+     * @param eventName name of the event delivered
+     * @param nanos     time spent in the listeners of the event
+     */
+    default void onListeners(String eventName, long nanos) {
+    }
+}
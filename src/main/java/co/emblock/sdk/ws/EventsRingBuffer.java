@@ -0,0 +1,265 @@
+package co.emblock.sdk.ws;
+
+import java.io.Closeable;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ring buffer between one producer and many consumers, each consumer receiving every element
+ * in order on its own thread.
+ * <p>
+ * The slots are allocated once. Each consumer follows its own sequence, the producer only waits for the
+ * slowest one, and only with {@link OverflowPolicy#BLOCK}. With {@link OverflowPolicy#DROP_OLDEST} the producer
+ * overwrites the slots not yet read: every slot carries the sequence of its element, a consumer detects that
+ * it was lapped when the sequence changed while it was reading, and jumps to the oldest element still there.
+ * With the other policies, the last consumer to read a slot clears it so the buffer does not retain the elements
+ * consumed.
+ * <p>
+ * A consumer throwing on an element is reported to the error handler and goes on with the next element.
+ * <p>
+ * Calls to the publish methods must not be concurrent.
+ */
+public class EventsRingBuffer<T> implements Closeable {
+
+    private static final long MAX_PARK_NANOS = 10_000_000;
+
+    private final Slot<T>[] slots;
+    private final int mask;
+    private final OverflowPolicy overflowPolicy;
+    private final Reader[] readers;
+    private final boolean clearSlots;
+    private final AtomicLong published = new AtomicLong(-1);
+    private final LongAdder dropped = new LongAdder();
+    private volatile BiConsumer<? super T, Throwable> errorHandler = EventsRingBuffer::reportUncaught;
+    private volatile Thread waitingProducer;
+    private volatile boolean closed;
+
+    /**
+     * @param name           name of the consumer threads
+     * @param capacity       number of slots, rounded up to a power of two
+     * @param overflowPolicy what to do when the slowest consumer is {@code capacity} elements behind
+     * @param consumers      receive every element, each on its own thread
+     */
+    @SafeVarargs
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public EventsRingBuffer(String name, int capacity, OverflowPolicy overflowPolicy, Consumer<? super T>... consumers) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        if (consumers.length == 0) throw new IllegalArgumentException("at least one consumer is needed");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot<>();
+        }
+        this.mask = size - 1;
+        this.overflowPolicy = overflowPolicy;
+        // with DROP_OLDEST the producer may rewrite a slot while it is cleared
+        this.clearSlots = overflowPolicy != OverflowPolicy.DROP_OLDEST;
+        this.readers = new EventsRingBuffer.Reader[consumers.length];
+        for (int i = 0; i < consumers.length; i++) {
+            Reader reader = new Reader(consumers[i]);
+            reader.thread = new Thread(reader, consumers.length == 1 ? name : name + "-" + i);
+            reader.thread.setDaemon(true);
+            readers[i] = reader;
+        }
+    }
+
+    /**
+     * @param errorHandler called on the consumer thread with the element and the failure when a consumer throws,
+     *                     the failures are passed to the uncaught exception handler of the thread by default
+     */
+    public void setErrorHandler(BiConsumer<? super T, Throwable> errorHandler) {
+        this.errorHandler = Objects.requireNonNull(errorHandler, "errorHandler cannot be null");
+    }
+
+    private static void reportUncaught(Object value, Throwable e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+
+    /**
+     * Start the consumer threads.
+     */
+    public void start() {
+        for (Reader reader : readers) {
+            reader.thread.start();
+        }
+    }
+
+    /**
+     * Publish an element according to the overflow policy.
+     *
+     * @return false if the element was not published: the buffer is full and the policy is
+     * {@link OverflowPolicy#DROP_NEWEST} or {@link OverflowPolicy#FAIL}, or the buffer is closed
+     */
+    public boolean publish(T value) {
+        return publish(value, overflowPolicy);
+    }
+
+    /**
+     * Publish an element that must not be lost, waiting for the consumers if the buffer is full.
+     *
+     * @return false if the buffer is closed
+     */
+    public boolean publishBlocking(T value) {
+        return publish(value, OverflowPolicy.BLOCK);
+    }
+
+    private boolean publish(T value, OverflowPolicy policy) {
+        if (closed) return false;
+        long next = published.get() + 1;
+        if (isFull(next)) {
+            switch (policy) {
+                case BLOCK:
+                    if (!awaitSpace(next)) return false;
+                    break;
+                case DROP_OLDEST:
+                    dropped.increment();
+                    break;
+                default:
+                    dropped.increment();
+                    return false;
+            }
+        }
+        Slot<T> slot = slots[(int) next & mask];
+        // no valid sequence while the slot is rewritten, see Reader#run
+        slot.sequence = -1;
+        slot.value = value;
+        slot.unread = readers.length;
+        slot.sequence = next;
+        published.set(next);
+        for (Reader reader : readers) {
+            if (reader.waiting) LockSupport.unpark(reader.thread);
+        }
+        return true;
+    }
+
+    private boolean isFull(long next) {
+        return next - slots.length > minReadSequence();
+    }
+
+    private boolean awaitSpace(long next) {
+        waitingProducer = Thread.currentThread();
+        try {
+            while (isFull(next)) {
+                if (closed) return false;
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+            }
+            return true;
+        } finally {
+            waitingProducer = null;
+        }
+    }
+
+    private long minReadSequence() {
+        long min = Long.MAX_VALUE;
+        for (Reader reader : readers) {
+            min = Math.min(min, reader.sequence);
+        }
+        return min;
+    }
+
+    /**
+     * @return number of elements published and not yet consumed by the slowest consumer
+     */
+    public long getDepth() {
+        return Math.max(0, Math.min(slots.length, published.get() - minReadSequence()));
+    }
+
+    /**
+     * @return number of elements dropped or overwritten because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Stop the consumer threads, the elements not yet consumed are lost.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Reader reader : readers) {
+            LockSupport.unpark(reader.thread);
+        }
+        Thread producer = waitingProducer;
+        if (producer != null) LockSupport.unpark(producer);
+    }
+
+    private static final class Slot<T> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Slot> UNREAD = AtomicIntegerFieldUpdater.newUpdater(Slot.class, "unread");
+
+        private volatile long sequence = -1;
+        private volatile T value;
+        // number of consumers that have not read the element yet
+        private volatile int unread;
+    }
+
+    private void report(T value, Throwable e) {
+        try {
+            errorHandler.accept(value, e);
+        } catch (Throwable ignored) {
+            // the error handler failed too, the failure is lost rather than the consumer thread
+        }
+    }
+
+    private final class Reader implements Runnable {
+        private final Consumer<? super T> consumer;
+        private Thread thread;
+        // sequence of the last element consumed
+        private volatile long sequence = -1;
+        private volatile boolean waiting;
+
+        private Reader(Consumer<? super T> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            while (!closed) {
+                if (next > published.get()) {
+                    waiting = true;
+                    if (next > published.get() && !closed) LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                    waiting = false;
+                    continue;
+                }
+                Slot<T> slot = slots[(int) next & mask];
+                long before = slot.sequence;
+                T value = slot.value;
+                long after = slot.sequence;
+                if (before != next || after != next) {
+                    // lapped by the producer, skip to the oldest element still in the buffer
+                    next = Math.max(next + 1, published.get() - slots.length + 1);
+                    continue;
+                }
+                try {
+                    consumer.accept(value);
+                } catch (Throwable e) {
+                    // a failing consumer must not stop the delivery of the next elements
+                    report(value, e);
+                }
+                // cleared before the sequence is released, the producer cannot rewrite the slot until then
+                if (clearSlots && Slot.UNREAD.decrementAndGet(slot) == 0) slot.value = null;
+                sequence = next;
+                next++;
+                Thread producer = waitingProducer;
+                if (producer != null) LockSupport.unpark(producer);
+            }
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package co.emblock.sdk.ws;
 
+import co.emblock.sdk.api.EmblockJson;
 import co.emblock.sdk.api.EventMessage;
-import com.google.gson.Gson;
 import org.java_websocket.client.WebSocketClient;
 import org.java_websocket.handshake.ServerHandshake;
 
+import java.io.IOException;
 import java.net.URI;
 
 public class EventsWebSocketClient extends WebSocketClient {
@@ -18,23 +19,55 @@ public class EventsWebSocketClient extends WebSocketClient {
         this.listener = listener;
     }
 
+    /**
+     * A websocket without subscription, see {@link #subscribe(String)}.
+     */
+    public EventsWebSocketClient(URI serverUri, EventsWebSocketListener listener) {
+        this(serverUri, null, listener);
+    }
+
     @Override
     public void onOpen(ServerHandshake handshakedata) {
+        if (contractId != null) subscribe(contractId);
+        listener.onOpen();
+    }
+
+    /**
+     * Receive the events of a contract on this websocket, which must be open.
+     */
+    public void subscribe(String contractId) {
         String message = String.format("{\"type\":\"contract_events\", \"data\": {\"contractId\":\"%s\"}}", contractId);
         send(message);
     }
 
     @Override
     public void onMessage(String message) {
-        Gson gson = new Gson();
-        EventMessage eventMessage = gson.fromJson(message, EventMessage.class);
-        listener.onEvent(eventMessage.getName(), eventMessage.getParams());
+        listener.onMessage(message);
+    }
+
+    /**
+     * Decode a frame and pass the event to the listener, or the decoding error.
+     */
+    static void decode(String message, EventsWebSocketListener listener) {
+        EventMessage eventMessage = parse(message, listener);
+        if (eventMessage != null) listener.onEvent(eventMessage);
+    }
+
+    /**
+     * @return the event of the frame, or null after passing the decoding error to the listener
+     */
+    static EventMessage parse(String message, EventsWebSocketListener listener) {
+        try {
+            return EmblockJson.EVENT_MESSAGE.fromJson(message);
+        } catch (IOException | RuntimeException e) {
+            listener.onError(new Exception("cannot decode event message: " + message, e));
+            return null;
+        }
     }
 
     @Override
     public void onClose(int code, String reason, boolean remote) {
-        System.out.println();
-        listener.onError(new Exception("webSocket closed, code=" + code + " reason=" + reason + " remote=" + remote));
+        listener.onClose(code, reason, remote);
     }
 
     @Override
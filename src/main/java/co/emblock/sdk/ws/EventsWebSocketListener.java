@@ -1,10 +1,39 @@
 package co.emblock.sdk.ws;
 
+import co.emblock.sdk.api.EventMessage;
 import co.emblock.sdk.api.Param;
 
 import java.util.List;
 
 public interface EventsWebSocketListener {
     void onEvent(String eventName, List<Param> params);
+
+    /**
+     * Called for each event received, with the transaction hash when the server sends it.
+     */
+    default void onEvent(EventMessage message) {
+        onEvent(message.getName(), message.getParams());
+    }
+
     void onError(Exception ex);
+
+    /**
+     * Called for each frame received, by default the frame is decoded and passed to {@link #onEvent(EventMessage)}.
+     */
+    default void onMessage(String message) {
+        EventsWebSocketClient.decode(message, this);
+    }
+
+    /**
+     * Called when the websocket is open and the subscription sent.
+     */
+    default void onOpen() {
+    }
+
+    /**
+     * Called when the websocket is closed, by default it is reported as an error.
+     */
+    default void onClose(int code, String reason, boolean remote) {
+        onError(new Exception("webSocket closed, code=" + code + " reason=" + reason + " remote=" + remote));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package co.emblock.sdk.ws;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the events metrics in HdrHistogram recorders, without lock nor allocation once every event name
+ * was seen.
+ * <pre>
+ * HdrEventsMetrics metrics = new HdrEventsMetrics();
+ * EmblockClientFactory factory = EmblockClientFactory.builder().eventsMetrics(metrics).build();
+ * ...
+ * System.out.println(metrics.getLagMillis().getValueAtPercentile(99));
+ * </pre>
+ * The histograms and the counts returned cover everything recorded since the creation or the last {@link #reset()},
+ * the histograms are copies. {@link #getIntervalEventRates()} gives the current rates, over the interval since
+ * its previous call.
+ */
+public class HdrEventsMetrics implements EventsMetrics {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final long blockTimestampMillis;
+    private final Recorder queueDepth = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder decodeNanos = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder listenerNanos = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder lagMillis = new Recorder(SIGNIFICANT_DIGITS);
+    // never removed, a reset clears them in place so the events thread does not record into a discarded one
+    private final ConcurrentHashMap<String, NameMetrics> names = new ConcurrentHashMap<>();
+
+    // totals of the intervals already taken from the recorders
+    private final Histogram totalQueueDepth = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram totalDecodeNanos = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram totalListenerNanos = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram totalLagMillis = new Histogram(SIGNIFICANT_DIGITS);
+    private volatile long startNanos = System.nanoTime();
+    private long intervalStartNanos = startNanos;
+
+    /**
+     * Block timestamps in seconds, like the Ethereum blocks.
+     */
+    public HdrEventsMetrics() {
+        this(TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param blockTimestampUnit unit of the block timestamps, to compute the lag of the events
+     */
+    public HdrEventsMetrics(TimeUnit blockTimestampUnit) {
+        this.blockTimestampMillis = blockTimestampUnit.toMillis(1);
+    }
+
+    @Override
+    public void onQueueDepth(long depth) {
+        queueDepth.recordValue(depth);
+    }
+
+    @Override
+    public void onDecode(long nanos) {
+        decodeNanos.recordValue(Math.max(0, nanos));
+    }
+
+    @Override
+    public void onEvent(String eventName, Long blockTimestamp, long receivedMillis) {
+        metricsOf(eventName).count.increment();
+        // a clock behind the block time counts as no lag
+        if (blockTimestamp != null) lagMillis.recordValue(Math.max(0, receivedMillis - blockTimestamp * blockTimestampMillis));
+    }
+
+    @Override
+    public void onListeners(String eventName, long nanos) {
+        listenerNanos.recordValue(Math.max(0, nanos));
+        metricsOf(eventName).listenerNanos.recordValue(Math.max(0, nanos));
+    }
+
+    private NameMetrics metricsOf(String eventName) {
+        String name = eventName == null ? "" : eventName;
+        NameMetrics metrics = names.get(name);
+        return metrics != null ? metrics : names.computeIfAbsent(name, key -> new NameMetrics());
+    }
+
+    /**
+     * @return number of events received per event name
+     */
+    public Map<String, Long> getEventCounts() {
+        Map<String, Long> result = new HashMap<>();
+        names.forEach((name, metrics) -> {
+            long count = metrics.count.sum();
+            if (count > 0) result.put(name, count);
+        });
+        return result;
+    }
+
+    /**
+     * @return average number of events received per second since the creation or the last reset, per event name
+     */
+    public Map<String, Double> getEventRates() {
+        double seconds = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+        Map<String, Double> result = new HashMap<>();
+        getEventCounts().forEach((name, count) -> result.put(name, count / seconds));
+        return result;
+    }
+
+    /**
+     * @return number of events received per second since the previous call, or since the creation or the last reset
+     * for the first one, per event name
+     */
+    public synchronized Map<String, Double> getIntervalEventRates() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1, now - intervalStartNanos) / 1e9;
+        intervalStartNanos = now;
+        Map<String, Double> result = new HashMap<>();
+        names.forEach((name, metrics) -> {
+            long count = metrics.count.sum();
+            long interval = count - metrics.intervalStartCount;
+            metrics.intervalStartCount = count;
+            if (interval > 0) result.put(name, interval / seconds);
+        });
+        return result;
+    }
+
+    public Histogram getQueueDepth() {
+        return total(queueDepth, totalQueueDepth);
+    }
+
+    public Histogram getDecodeNanos() {
+        return total(decodeNanos, totalDecodeNanos);
+    }
+
+    public Histogram getListenerNanos() {
+        return total(listenerNanos, totalListenerNanos);
+    }
+
+    /**
+     * @return time spent in the listeners of the events with this name, empty for a name not seen
+     */
+    public Histogram getListenerNanos(String eventName) {
+        NameMetrics metrics = names.get(eventName == null ? "" : eventName);
+        if (metrics == null) return new Histogram(SIGNIFICANT_DIGITS);
+        return total(metrics.listenerNanos, metrics.totalListenerNanos);
+    }
+
+    /**
+     * @return time between the block of an event and its reception
+     */
+    public Histogram getLagMillis() {
+        return total(lagMillis, totalLagMillis);
+    }
+
+    public synchronized void reset() {
+        for (Recorder recorder : new Recorder[]{queueDepth, decodeNanos, listenerNanos, lagMillis}) {
+            recorder.reset();
+        }
+        for (Histogram histogram : new Histogram[]{totalQueueDepth, totalDecodeNanos, totalListenerNanos, totalLagMillis}) {
+            histogram.reset();
+        }
+        for (NameMetrics metrics : names.values()) {
+            metrics.count.reset();
+            metrics.intervalStartCount = 0;
+            metrics.listenerNanos.reset();
+            metrics.totalListenerNanos.reset();
+        }
+        startNanos = System.nanoTime();
+        intervalStartNanos = startNanos;
+    }
+
+    private synchronized Histogram total(Recorder recorder, Histogram total) {
+        total.add(recorder.getIntervalHistogram());
+        return total.copy();
+    }
+
+    private static final class NameMetrics {
+        private final LongAdder count = new LongAdder();
+        private final Recorder listenerNanos = new Recorder(SIGNIFICANT_DIGITS);
+        // written under the lock of the metrics
+        private final Histogram totalListenerNanos = new Histogram(SIGNIFICANT_DIGITS);
+        private long intervalStartCount;
+    }
+}
@@ -0,0 +1,23 @@
+package co.emblock.sdk.ws;
+
+/**
+ * What to do with an event when the buffer between the websocket and the listeners is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Wait for the listeners to catch up, the websocket is not read meanwhile.
+     */
+    BLOCK,
+    /**
+     * Overwrite the oldest events not yet delivered.
+     */
+    DROP_OLDEST,
+    /**
+     * Drop the event received.
+     */
+    DROP_NEWEST,
+    /**
+     * Report an error to the listeners and reconnect, the missed events are then backfilled from the history.
+     */
+    FAIL
+}
@@ -6,7 +6,7 @@ public class EmblockClientTest {
 
     @Test
     public void test() {
-        EmblockClient emblock = EmblockClient("", "");
+        EmblockClient emblock = new EmblockClient("api-token", "project-id");
     }
 
 }
@@ -0,0 +1,111 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EmblockClientException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CallsTest {
+
+    private static Throwable failure(CompletableFuture<?> future) throws InterruptedException {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (TimeoutException e) {
+            throw new AssertionError("not completed");
+        }
+        throw new AssertionError("not failed");
+    }
+
+    @Test
+    public void theBodyCompletesTheFuture() {
+        assertEquals("result", Calls.enqueue(FakeCall.success("result"), Calls.DIRECT).join());
+    }
+
+    @Test
+    public void httpErrorsAreMappedToClientExceptions() throws InterruptedException {
+        Throwable e = failure(Calls.enqueue(FakeCall.<String>error(404), Calls.DIRECT));
+
+        assertTrue(e instanceof EmblockClientException);
+        assertEquals("Error code 404: error 404", e.getMessage());
+    }
+
+    @Test
+    public void networkFailuresArePropagated() throws InterruptedException {
+        IOException failure = new IOException("connection reset");
+
+        assertSame(failure, failure(Calls.enqueue(FakeCall.<String>failure(failure), Calls.DIRECT)));
+    }
+
+    @Test
+    public void cancellingTheFutureCancelsTheCall() {
+        FakeCall<String> call = FakeCall.pending();
+        CompletableFuture<String> future = Calls.enqueue(call, Calls.DIRECT);
+        assertTrue(call.isEnqueued());
+        assertFalse(call.isCanceled());
+
+        future.cancel(true);
+        assertTrue(call.isCanceled());
+    }
+
+    @Test
+    public void aCompletedFutureDoesNotCancelTheCall() {
+        FakeCall<String> call = FakeCall.success("result");
+        Calls.enqueue(call, Calls.DIRECT).join();
+
+        assertFalse(call.isCanceled());
+    }
+
+    @Test
+    public void directCompletionRunsOnTheThreadAnsweringTheCall() throws InterruptedException {
+        FakeCall<String> call = FakeCall.pending();
+        BlockingQueue<String> threads = new LinkedBlockingQueue<>();
+        Calls.enqueue(call, Calls.DIRECT).thenRun(() -> threads.add(Thread.currentThread().getName()));
+
+        Thread answering = new Thread(() -> call.respond("result"), "answering");
+        answering.start();
+        assertEquals("answering", threads.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void everyOutcomeIsCompletedOnTheCallbackExecutor() throws InterruptedException {
+        for (FakeCall<String> call : Arrays.asList(FakeCall.success("result"), FakeCall.<String>error(500),
+                FakeCall.<String>failure(new IOException("connection reset")))) {
+            BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+            BlockingQueue<String> threads = new LinkedBlockingQueue<>();
+            Calls.enqueue(call, tasks::add).whenComplete((result, e) -> threads.add(Thread.currentThread().getName()));
+            assertTrue(threads.isEmpty());
+
+            new Thread(tasks.poll(), "callbacks").start();
+            assertEquals("callbacks", threads.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void unwrapGivesTheOriginalCause() {
+        IOException failure = new IOException("connection reset");
+        CompletableFuture<String> future = Calls.<String>failed(failure).thenApply(value -> value);
+        try {
+            future.join();
+            fail();
+        } catch (RuntimeException e) {
+            assertSame(failure, Calls.unwrap(e));
+        }
+        assertSame(failure, Calls.unwrap(new ExecutionException(new CompletionException(failure))));
+    }
+}
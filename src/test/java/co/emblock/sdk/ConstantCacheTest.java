@@ -0,0 +1,120 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.ParamResult;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConstantCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CompletableFuture<List<ParamResult>> load() {
+        loads.incrementAndGet();
+        return CompletableFuture.completedFuture(Collections.singletonList(new ParamResult("uint256", "balance", "42")));
+    }
+
+    private static Map<String, String> params(String owner) {
+        Map<String, String> params = new HashMap<>();
+        params.put("owner", owner);
+        return params;
+    }
+
+    @Test
+    public void missThenHitWithNormalizedParameters() {
+        ConstantCache cache = ConstantCache.builder().build();
+
+        List<ParamResult> first = cache.get("balanceOf", params("0xABCDEF"), this::load).join();
+        List<ParamResult> second = cache.get("balanceOf", params(" 0xabcdef "), this::load).join();
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0.5, cache.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void eventsInvalidateTheConfiguredFunctions() {
+        ConstantCache cache = ConstantCache.builder().invalidateOn("Transfer", "balanceOf").build();
+        cache.get("balanceOf", params("0x1"), this::load).join();
+        cache.get("balanceOf", params("0x2"), this::load).join();
+        cache.get("name", null, this::load).join();
+
+        cache.onEvent("Approval", Collections.emptyList(), null);
+        assertEquals(3, cache.size());
+
+        cache.onEvent("Transfer", Collections.emptyList(), null);
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getInvalidationCount());
+
+        cache.get("balanceOf", params("0x1"), this::load).join();
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void errorsInvalidateEverything() {
+        ConstantCache cache = ConstantCache.builder().invalidateOn("Transfer", "balanceOf").build();
+        cache.get("balanceOf", params("0x1"), this::load).join();
+        cache.get("name", null, this::load).join();
+
+        cache.onEvent(null, null, new IllegalStateException("disconnected"));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void expiredEntriesAreLoadedAgain() throws InterruptedException {
+        ConstantCache cache = ConstantCache.builder().ttl(1, TimeUnit.MILLISECONDS).build();
+        cache.get("name", null, this::load).join();
+        Thread.sleep(5);
+        cache.get("name", null, this::load).join();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvicted() {
+        ConstantCache cache = ConstantCache.builder().maximumSize(2).build();
+        cache.get("balanceOf", params("0x1"), this::load).join();
+        cache.get("balanceOf", params("0x2"), this::load).join();
+        cache.get("balanceOf", params("0x1"), this::load).join();
+        cache.get("balanceOf", params("0x3"), this::load).join();
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        cache.get("balanceOf", params("0x1"), this::load).join();
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void failedLoadsAreNotCachedAndConcurrentLoadsAreShared() {
+        ConstantCache cache = ConstantCache.builder().build();
+        CompletableFuture<List<ParamResult>> call = new CompletableFuture<>();
+        CompletableFuture<List<ParamResult>> first = cache.get("name", null, () -> {
+            loads.incrementAndGet();
+            return call;
+        });
+        CompletableFuture<List<ParamResult>> second = cache.get("name", null, this::load);
+        assertEquals(1, loads.get());
+
+        call.completeExceptionally(new IllegalStateException("server error"));
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(0, cache.size());
+
+        cache.get("name", null, this::load).join();
+        assertEquals(2, loads.get());
+    }
+
+}
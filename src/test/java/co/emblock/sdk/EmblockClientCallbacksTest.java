@@ -0,0 +1,165 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.CallResult;
+import co.emblock.sdk.api.EmblockClientException;
+import co.emblock.sdk.api.EventResult;
+import co.emblock.sdk.api.FunctionResult;
+import co.emblock.sdk.api.ParamResult;
+import co.emblock.sdk.ws.EventsConnection;
+import org.junit.After;
+import org.junit.Test;
+import retrofit2.Call;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EmblockClientCallbacksTest {
+
+    /**
+     * Answers every request with the calls set by the test.
+     */
+    private static final class CallsApi extends FakeApi {
+        Call<List<ParamResult>> constant;
+        Call<FunctionResult> function;
+        Call<CallResult> status;
+        Call<List<EventResult>> events;
+
+        @Override
+        public Call<List<ParamResult>> callConstant(String projectId, String function, Map<String, String> parameters) {
+            return constant;
+        }
+
+        @Override
+        public Call<FunctionResult> callFunction(String walletAddress, String projectId, String function, Map<String, String> parameters) {
+            return this.function;
+        }
+
+        @Override
+        public Call<CallResult> getCallStatus(String callId) {
+            return status;
+        }
+
+        @Override
+        public Call<List<EventResult>> getEvents(String projectId) {
+            return events;
+        }
+    }
+
+    private static final List<ParamResult> RESULTS = Collections.singletonList(new ParamResult("uint256", "supply", "100"));
+
+    private final CallsApi api = new CallsApi();
+    private final StatusPoller poller = StatusPoller.builder().initialDelay(1, TimeUnit.MILLISECONDS).build();
+    private final BlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+
+    @After
+    public void close() {
+        poller.close();
+    }
+
+    private EmblockClient client() {
+        return new EmblockClient(api, "project", new EventsConnection(URI.create("ws://localhost")), Calls.DIRECT, poller);
+    }
+
+    /**
+     * A client completing its calls only when the test runs the queued callbacks.
+     */
+    private EmblockClient queuedClient() {
+        return new EmblockClient(api, "project", new EventsConnection(URI.create("ws://localhost")), callbacks::add, poller);
+    }
+
+    @Test
+    public void constantCallbacksGetTheResultsOrTheOriginalError() {
+        List<Object> received = new ArrayList<>();
+        api.constant = FakeCall.success(RESULTS);
+        client().callConstant("totalSupply", null, (results, e) -> received.add(results == null ? e : results));
+        api.constant = FakeCall.error(500);
+        client().callConstant("totalSupply", null, (results, e) -> received.add(results == null ? e : results));
+
+        assertEquals(RESULTS, received.get(0));
+        assertTrue(received.get(1) instanceof EmblockClientException);
+        assertEquals("Error code 500: error 500", ((Throwable) received.get(1)).getMessage());
+    }
+
+    @Test
+    public void asyncCallsCompleteOnTheCallbackExecutor() throws InterruptedException {
+        api.constant = FakeCall.success(RESULTS);
+        BlockingQueue<String> threads = new LinkedBlockingQueue<>();
+        CompletableFuture<List<ParamResult>> future = queuedClient().callConstantAsync("totalSupply", null);
+        future.thenRun(() -> threads.add(Thread.currentThread().getName()));
+        assertFalse(future.isDone());
+
+        new Thread(callbacks.poll(), "callbacks").start();
+        assertEquals("callbacks", threads.poll(5, TimeUnit.SECONDS));
+        assertEquals(RESULTS, future.join());
+    }
+
+    @Test
+    public void cancellingAnAsyncCallCancelsTheHttpCall() {
+        FakeCall<List<EventResult>> call = FakeCall.pending();
+        api.events = call;
+        client().getEventsAsync().cancel(true);
+
+        assertTrue(call.isCanceled());
+    }
+
+    @Test
+    public void eventsCallbacksGetTheNetworkFailures() {
+        IOException failure = new IOException("connection reset");
+        api.events = FakeCall.failure(failure);
+        List<Throwable> errors = new ArrayList<>();
+        client().getEvents((events, e) -> {
+            assertNull(events);
+            errors.add(e);
+        });
+
+        assertEquals(Collections.singletonList(failure), errors);
+    }
+
+    @Test
+    public void statusCallbacksGetTheStatus() {
+        List<String> received = new ArrayList<>();
+        api.status = FakeCall.success(new CallResult("Successful", null));
+        client().getFunctionStatus("call-1", (success, e) -> received.add(success + " " + e));
+        api.status = FakeCall.success(new CallResult("Failed", null));
+        client().getFunctionStatus("call-1", (success, e) -> received.add(success + " " + e));
+        api.status = FakeCall.error(404);
+        client().getFunctionStatus("call-1", (success, e) -> received.add(success + " " + e));
+
+        assertEquals("true null", received.get(0));
+        assertEquals("false null", received.get(1));
+        assertEquals("false " + EmblockClientException.class.getName() + ": Error code 404: error 404", received.get(2));
+    }
+
+    @Test
+    public void functionCallbacksGetTheTransactionOnceTheStatusIsFinal() throws InterruptedException {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        api.function = FakeCall.success(new FunctionResult("call-1", "0xhash", null));
+        api.status = FakeCall.success(new CallResult(StatusPoller.SUCCESSFUL, null));
+        client().callFunction("0xwallet", "transfer", null, (success, txHash, e) -> received.add(success + " " + txHash + " " + e));
+        assertEquals("true 0xhash null", received.poll(5, TimeUnit.SECONDS));
+
+        IOException failure = new IOException("connection reset");
+        api.function = FakeCall.failure(failure);
+        List<Throwable> errors = new ArrayList<>();
+        client().callFunction("0xwallet", "transfer", null, (success, txHash, e) -> {
+            assertFalse(success);
+            assertNull(txHash);
+            errors.add(e);
+        });
+        assertSame(failure, errors.get(0));
+    }
+}
@@ -0,0 +1,25 @@
+package co.emblock.sdk;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertFalse;
+
+public class EmblockClientFactoryTest {
+
+    @Test
+    public void closeLeavesTheGivenDispatcherExecutorRunning() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            EmblockClientFactory factory = EmblockClientFactory.builder().dispatcherExecutor(executor).build();
+            factory.newClient("api-token", "project-id");
+            factory.close();
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
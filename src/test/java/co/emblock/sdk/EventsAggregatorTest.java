@@ -0,0 +1,111 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class EventsAggregatorTest {
+
+    private final List<String> windows = new ArrayList<>();
+
+    private EventsAggregator.Builder builder() {
+        return EventsAggregator.builder().value(0).onWindow(aggregates -> {
+            for (WindowAggregate aggregate : aggregates) {
+                windows.add(aggregate.getKey() + " [" + aggregate.getWindowStart() + "," + aggregate.getWindowEnd() + ") count="
+                        + aggregate.getCount() + " sum=" + aggregate.getSum() + " min=" + aggregate.getMin() + " max=" + aggregate.getMax());
+            }
+        });
+    }
+
+    private static EventMessage event(String name, Long blockTimestamp, int value) {
+        return new EventMessage(name, Collections.singletonList(new Param("uint256", Integer.toString(value))),
+                "0x" + value, 0, blockTimestamp);
+    }
+
+    @Test
+    public void tumblingWindowsAreEmittedWhenALaterPaneStarts() {
+        EventsAggregator aggregator = builder().tumbling(10).build();
+        aggregator.onEvent(event("A", 0L, 1));
+        aggregator.onEvent(event("A", 5L, 2));
+        aggregator.onEvent(event("B", 7L, 3));
+        assertEquals(Collections.emptyList(), windows);
+
+        aggregator.onEvent(event("A", 12L, 4));
+        assertEquals(Arrays.asList(
+                "A [0,10) count=2 sum=3 min=1 max=2",
+                "B [0,10) count=1 sum=3 min=3 max=3"), sorted(windows));
+        assertEquals(1, aggregator.getKeyCount());
+
+        windows.clear();
+        aggregator.onEvent(event("A", 3L, 5));
+        assertEquals(1, aggregator.getLateCount());
+        aggregator.flush();
+        assertEquals(Collections.singletonList("A [10,20) count=1 sum=4 min=4 max=4"), windows);
+        assertEquals(0, aggregator.getKeyCount());
+    }
+
+    @Test
+    public void slidingWindowsOverlap() {
+        EventsAggregator aggregator = builder().sliding(20, 10).build();
+        aggregator.onEvent(event("A", 0L, 1));
+        aggregator.onEvent(event("A", 15L, 2));
+        aggregator.onEvent(event("A", 25L, 3));
+        aggregator.flush();
+
+        assertEquals(Arrays.asList(
+                "A [-10,10) count=1 sum=1 min=1 max=1",
+                "A [0,20) count=2 sum=3 min=1 max=2",
+                "A [10,30) count=2 sum=5 min=2 max=3",
+                "A [20,40) count=1 sum=3 min=3 max=3"), windows);
+    }
+
+    @Test
+    public void aGapInTheTimestampsOnlyEmitsTheWindowsWithEvents() {
+        EventsAggregator aggregator = builder().sliding(20, 10).build();
+        aggregator.onEvent(event("A", 0L, 1));
+        aggregator.onEvent(event("A", 1000L, 2));
+
+        assertEquals(Arrays.asList(
+                "A [-10,10) count=1 sum=1 min=1 max=1",
+                "A [0,20) count=1 sum=1 min=1 max=1"), windows);
+        assertEquals(1, aggregator.getKeyCount());
+    }
+
+    @Test
+    public void eventsWithoutTimestampGoToTheCurrentPaneOnceOneIsOpen() {
+        EventsAggregator aggregator = builder().tumbling(10).build();
+        aggregator.onEvent(event("A", null, 1));
+        assertEquals(1, aggregator.getLateCount());
+
+        aggregator.onEvent(event("A", 5L, 2));
+        aggregator.onEvent(event("A", null, 3));
+        aggregator.flush();
+        assertEquals(Collections.singletonList("A [0,10) count=2 sum=5 min=2 max=3"), windows);
+
+        aggregator.onEvent(event("A", null, 4));
+        assertEquals(2, aggregator.getLateCount());
+    }
+
+    @Test
+    public void onlyTheEventsMatchingTheFilterAreAggregated() {
+        EventsAggregator aggregator = builder().tumbling(10).filter(EventFilter.builder().name("A").build()).build();
+        aggregator.onEvent(event("A", 0L, 1));
+        aggregator.onEvent(event("B", 1L, 2));
+        aggregator.flush();
+
+        assertEquals(Collections.singletonList("A [0,10) count=1 sum=1 min=1 max=1"), windows);
+    }
+
+    private static List<String> sorted(List<String> values) {
+        List<String> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
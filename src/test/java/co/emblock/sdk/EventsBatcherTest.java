@@ -0,0 +1,157 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EventsBatcherTest {
+
+    /**
+     * Records the names of the events of each batch, and the errors.
+     */
+    private static class Recorder implements BatchEventsListener {
+        final BlockingQueue<List<String>> batches = new LinkedBlockingQueue<>();
+        final BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+        final BlockingQueue<String> threads = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onEvents(List<EventMessage> events) {
+            List<String> names = new ArrayList<>();
+            for (EventMessage event : events) {
+                names.add(event.getName());
+            }
+            threads.add(Thread.currentThread().getName());
+            batches.add(names);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            errors.add(e);
+        }
+    }
+
+    private static EventMessage event(String name) {
+        return new EventMessage(name, Collections.singletonList(new Param("uint256", "1")));
+    }
+
+    @Test
+    public void fullBatchesAreDeliveredOnTheEventsThread() {
+        Recorder recorder = new Recorder();
+        EventsBatcher batcher = EventsBatcher.builder(recorder).maxSize(2).linger(0, TimeUnit.MILLISECONDS).build();
+        for (String name : Arrays.asList("A", "B", "C", "D", "E")) {
+            batcher.onEvent(event(name));
+        }
+
+        assertEquals(Arrays.asList("A", "B"), recorder.batches.poll());
+        assertEquals(Arrays.asList("C", "D"), recorder.batches.poll());
+        assertNull(recorder.batches.poll());
+        assertEquals(Thread.currentThread().getName(), recorder.threads.poll());
+        assertEquals(1, batcher.getPendingCount());
+
+        batcher.close();
+        assertEquals(Collections.singletonList("E"), recorder.batches.poll());
+        batcher.onEvent(event("F"));
+        assertEquals(0, batcher.getPendingCount());
+    }
+
+    @Test
+    public void batchesAreDeliveredOnTheExecutorAfterTheLinger() throws InterruptedException {
+        Recorder recorder = new Recorder();
+        EventsBatcher batcher = EventsBatcher.builder(recorder)
+                .maxSize(100)
+                .linger(50, TimeUnit.MILLISECONDS)
+                .executor(runnable -> new Thread(runnable, "delivery").start())
+                .build();
+        batcher.onEvent(event("A"));
+        batcher.onEvent(event("B"));
+        assertNull(recorder.batches.poll(20, TimeUnit.MILLISECONDS));
+
+        assertEquals(Arrays.asList("A", "B"), recorder.batches.poll(5, TimeUnit.SECONDS));
+        assertEquals("delivery", recorder.threads.poll());
+        assertEquals(0, batcher.getPendingCount());
+    }
+
+    @Test
+    public void aSlowLingerDeliveryDoesNotHoldTheBatcherLock() throws InterruptedException {
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onEvents(List<EventMessage> events) {
+                if (events.get(0).getName().equals("A")) {
+                    delivering.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.onEvents(events);
+            }
+        };
+        EventsBatcher batcher = EventsBatcher.builder(recorder).maxSize(2).linger(10, TimeUnit.MILLISECONDS).build();
+        batcher.onEvent(event("A"));
+        assertTrue(delivering.await(5, TimeUnit.SECONDS));
+
+        // received while the lingering batch is delivered
+        batcher.onEvent(event("B"));
+        assertEquals(1, batcher.getPendingCount());
+
+        release.countDown();
+        assertEquals(Collections.singletonList("A"), recorder.batches.poll(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("B"), recorder.batches.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void aFailingBatchIsReportedAndTheNextOnesDelivered() throws InterruptedException {
+        RuntimeException failure = new IllegalStateException("insert failed");
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onEvents(List<EventMessage> events) {
+                if (events.get(0).getName().equals("A")) throw failure;
+                super.onEvents(events);
+            }
+        };
+        EventsBatcher batcher = EventsBatcher.builder(recorder).maxSize(100).linger(10, TimeUnit.MILLISECONDS).build();
+        batcher.onEvent(event("A"));
+        assertSame(failure, recorder.errors.poll(5, TimeUnit.SECONDS));
+
+        batcher.onEvent(event("B"));
+        assertEquals(Collections.singletonList("B"), recorder.batches.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void errorsAreDeliveredAfterThePendingEvents() {
+        List<String> signals = new ArrayList<>();
+        EventsBatcher batcher = EventsBatcher.builder(new BatchEventsListener() {
+            @Override
+            public void onEvents(List<EventMessage> events) {
+                signals.add("events " + events.size());
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                signals.add("error " + e.getMessage());
+            }
+        }).maxSize(100).linger(0, TimeUnit.MILLISECONDS).build();
+        batcher.onEvent(event("A"));
+        batcher.onEvent(event("B"));
+        batcher.onEvent(null, null, new Exception("disconnected"));
+
+        assertEquals(Arrays.asList("events 2", "error disconnected"), signals);
+    }
+}
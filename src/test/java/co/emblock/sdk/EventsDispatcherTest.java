@@ -0,0 +1,84 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class EventsDispatcherTest {
+
+    private static class Recorder implements EventsListener {
+        final List<String> events = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+
+        @Override
+        public void onEvent(String eventName, List<Param> params, Throwable e) {
+            if (e != null) errors.add(e);
+            else events.add(eventName);
+        }
+    }
+
+    private static final class Failing extends Recorder {
+        private final RuntimeException failure = new IllegalStateException("listener failed");
+
+        @Override
+        public void onEvent(EventMessage message) {
+            throw failure;
+        }
+    }
+
+    private static EventMessage event(String name) {
+        return new EventMessage(name, Collections.singletonList(new Param("address", "0xabc")));
+    }
+
+    @Test
+    public void aFailingListenerDoesNotStopTheDeliveryToTheOthers() {
+        EventsDispatcher dispatcher = new EventsDispatcher();
+        Recorder beforeAll = new Recorder();
+        Failing failingAll = new Failing();
+        Recorder afterAll = new Recorder();
+        Failing failingByName = new Failing();
+        Recorder byName = new Recorder();
+        Recorder byAddress = new Recorder();
+        dispatcher.add(EventFilter.ALL, beforeAll);
+        dispatcher.add(EventFilter.ALL, failingAll);
+        dispatcher.add(EventFilter.ALL, afterAll);
+        dispatcher.add(EventFilter.builder().name("Transfer").build(), failingByName);
+        dispatcher.add(EventFilter.builder().name("Transfer").build(), byName);
+        dispatcher.add(EventFilter.builder().address("0xABC").build(), byAddress);
+
+        dispatcher.dispatch(event("Transfer"));
+
+        assertEquals(Collections.singletonList("Transfer"), beforeAll.events);
+        assertEquals(Collections.singletonList("Transfer"), afterAll.events);
+        assertEquals(Collections.singletonList("Transfer"), byName.events);
+        assertEquals(Collections.singletonList("Transfer"), byAddress.events);
+        assertEquals(1, failingAll.errors.size());
+        assertSame(failingAll.failure, failingAll.errors.get(0));
+        assertSame(failingByName.failure, failingByName.errors.get(0));
+        assertEquals(0, afterAll.errors.size());
+    }
+
+    @Test
+    public void aListenerFailingOnItsErrorPathDoesNotStopTheOthers() {
+        EventsDispatcher dispatcher = new EventsDispatcher();
+        Recorder recorder = new Recorder();
+        dispatcher.add(EventFilter.ALL, (eventName, params, e) -> {
+            throw new IllegalStateException("listener failed");
+        });
+        dispatcher.add(EventFilter.ALL, recorder);
+
+        dispatcher.dispatch(event("Transfer"));
+        Exception error = new Exception("disconnected");
+        dispatcher.dispatchError(error);
+
+        assertEquals(Collections.singletonList("Transfer"), recorder.events);
+        assertEquals(Collections.singletonList(error), recorder.errors);
+    }
+}
@@ -0,0 +1,195 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EventsJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static EventMessage event(int i) {
+        return new EventMessage("Transfer", Collections.singletonList(new Param("uint256", Integer.toString(i))),
+                "0x" + i, 0, 100L + i);
+    }
+
+    private static List<String> values(List<EventMessage> events) {
+        List<String> values = new ArrayList<>();
+        for (EventMessage event : events) {
+            values.add(event.getParams().get(0).getValue());
+        }
+        return values;
+    }
+
+    private static List<String> range(int from, int to) {
+        List<String> values = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            values.add(Integer.toString(i));
+        }
+        return values;
+    }
+
+    private EventsJournal open(Path directory) throws IOException {
+        return EventsJournal.builder(directory).segmentSize(1024).build();
+    }
+
+    private static long segmentCount(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).count();
+        }
+    }
+
+    @Test
+    public void replaysTheEventsInOrderAcrossSegmentsAndRestarts() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        EventsJournal journal = open(directory);
+        List<Long> offsets = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            offsets.add(journal.append(event(i)));
+        }
+        assertTrue(segmentCount(directory) > 1);
+
+        List<EventMessage> replayed = new ArrayList<>();
+        assertEquals(journal.getEndOffset(), journal.replay(0, replayed::add));
+        assertEquals(range(0, 50), values(replayed));
+
+        replayed.clear();
+        journal.replay(offsets.get(30), replayed::add);
+        assertEquals(range(30, 50), values(replayed));
+        journal.close();
+
+        EventsJournal reopened = open(directory);
+        replayed.clear();
+        reopened.replay(0, replayed::add);
+        assertEquals(range(0, 50), values(replayed));
+        assertEquals(149, reopened.cursor().getLastBlockTimestamp());
+        assertEquals(Collections.singleton("0x49"), reopened.cursor().getLastTransactionHashes());
+        reopened.close();
+    }
+
+    @Test
+    public void theCursorKeepsTheHashesOfTheLastBlockSpreadOverSegments() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        List<String> lastHashes = new ArrayList<>();
+        try (EventsJournal journal = open(directory)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(event(i));
+            }
+            for (int i = 0; i < 25; i++) {
+                String hash = "0xb" + i;
+                journal.append(new EventMessage("Transfer", Collections.singletonList(new Param("uint256", "1")), hash, i, 500L));
+                lastHashes.add(hash);
+            }
+        }
+        assertTrue(segmentCount(directory) >= 4);
+
+        try (EventsJournal journal = open(directory)) {
+            EventsCursor cursor = journal.cursor();
+            assertEquals(500, cursor.getLastBlockTimestamp());
+            assertEquals(new HashSet<>(lastHashes), cursor.getLastTransactionHashes());
+        }
+    }
+
+    @Test
+    public void consumersResumeFromTheirCheckpoint() throws IOException {
+        EventsJournal journal = open(folder.getRoot().toPath());
+        for (int i = 0; i < 3; i++) {
+            journal.append(event(i));
+        }
+        List<EventMessage> indexer = new ArrayList<>();
+        journal.replay("indexer", indexer::add);
+        journal.append(event(3));
+        journal.replay("indexer", indexer::add);
+        assertEquals(range(0, 4), values(indexer));
+
+        List<EventMessage> other = new ArrayList<>();
+        journal.replay("other", other::add);
+        assertEquals(range(0, 4), values(other));
+        journal.close();
+    }
+
+    @Test
+    public void theCheckpointIsNotMovedWhenTheConsumerFails() throws IOException {
+        EventsJournal journal = open(folder.getRoot().toPath());
+        journal.append(event(0));
+        journal.append(event(1));
+        try {
+            journal.replay("indexer", event -> {
+                if (event.getParams().get(0).getValue().equals("1")) throw new IllegalStateException("index failed");
+            });
+            fail("the failure of the consumer is thrown");
+        } catch (IllegalStateException expected) {
+            // the events are read again next time
+        }
+        List<EventMessage> replayed = new ArrayList<>();
+        journal.replay("indexer", replayed::add);
+        assertEquals(range(0, 2), values(replayed));
+        journal.close();
+    }
+
+    @Test
+    public void aTornRecordIsDiscardedOnRestart() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        EventsJournal journal = open(directory);
+        journal.append(event(0));
+        long end = journal.getEndOffset();
+        journal.close();
+        // a crash while appending: a length without a valid checksum nor payload
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(String.format("%020d.log", 0)).toFile(), "rw")) {
+            file.seek(end);
+            file.writeInt(40);
+            file.writeInt(12345);
+        }
+
+        EventsJournal reopened = open(directory);
+        assertEquals(end, reopened.getEndOffset());
+        reopened.append(event(1));
+        List<EventMessage> replayed = new ArrayList<>();
+        reopened.replay(0, replayed::add);
+        assertEquals(Arrays.asList("0", "1"), values(replayed));
+        reopened.close();
+    }
+
+    @Test
+    public void onlyTheSegmentsReadByEveryConsumerAreDeleted() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        EventsJournal journal = open(directory);
+        long middle = 0;
+        for (int i = 0; i < 50; i++) {
+            long offset = journal.append(event(i));
+            if (i == 25) middle = offset;
+        }
+        long segments = segmentCount(directory);
+        journal.replay("indexer", event -> {
+        });
+        journal.commit("slow", middle);
+
+        int deleted = journal.deleteConsumedSegments();
+
+        assertTrue(deleted > 0);
+        assertEquals(segments - deleted, segmentCount(directory));
+        assertTrue(journal.getFirstOffset() <= middle);
+        List<EventMessage> replayed = new ArrayList<>();
+        journal.replay("slow", replayed::add);
+        assertEquals(range(25, 50), values(replayed));
+        journal.close();
+    }
+}
@@ -0,0 +1,205 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.ContractResult;
+import co.emblock.sdk.api.EmblockClientException;
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import co.emblock.sdk.ws.EventsConnection;
+import co.emblock.sdk.ws.OverflowPolicy;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import retrofit2.Call;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EventsPublisherTest {
+
+    /**
+     * Answers the contract requests with the call of the test, pending by default so no websocket is opened.
+     */
+    private static final class ContractApi extends FakeApi {
+        private FakeCall<ContractResult> contract = FakeCall.pending();
+
+        @Override
+        public Call<ContractResult> getCurrentContract(String projectId) {
+            return contract;
+        }
+    }
+
+    /**
+     * Records the signals, and requests the number of events given on subscribe.
+     */
+    private static class Recorder implements Subscriber<EventMessage> {
+        private final long initialRequest;
+        final List<String> names = new ArrayList<>();
+        Subscription subscription;
+        Throwable error;
+
+        Recorder(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(EventMessage message) {
+            names.add(message.getName());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            throw new AssertionError("the stream never completes");
+        }
+
+        /**
+         * The listener registered on the client for this subscriber.
+         */
+        EventsListener listener() {
+            return (EventsListener) subscription;
+        }
+    }
+
+    private final ContractApi api = new ContractApi();
+    private final EmblockClient client = new EmblockClient(api, "project", new EventsConnection(URI.create("ws://localhost")),
+            Calls.DIRECT, StatusPoller.builder().build());
+
+    private static EventMessage event(String name) {
+        return new EventMessage(name, Collections.singletonList(new Param("uint256", "1")));
+    }
+
+    @Test
+    public void eventsAreDeliveredOnRequestOnly() {
+        Recorder recorder = new Recorder(2);
+        client.eventsPublisher(EventFilter.ALL).subscribe(recorder);
+        for (String name : Arrays.asList("A", "B", "C", "D")) {
+            recorder.listener().onEvent(event(name));
+        }
+        assertEquals(Arrays.asList("A", "B"), recorder.names);
+
+        recorder.subscription.request(1);
+        assertEquals(Arrays.asList("A", "B", "C"), recorder.names);
+
+        recorder.subscription.request(Long.MAX_VALUE);
+        recorder.listener().onEvent(event("E"));
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), recorder.names);
+    }
+
+    @Test
+    public void cancelRemovesTheListener() {
+        Recorder recorder = new Recorder(10);
+        client.eventsPublisher(EventFilter.ALL).subscribe(recorder);
+        assertTrue(client.hasEventsListener(recorder.listener()));
+
+        recorder.subscription.cancel();
+        recorder.listener().onEvent(event("A"));
+
+        assertFalse(client.hasEventsListener(recorder.listener()));
+        assertTrue(recorder.names.isEmpty());
+    }
+
+    @Test
+    public void eventsNotRequestedAreDroppedByDefault() {
+        EventsPublisher publisher = client.eventsPublisher(EventFilter.ALL);
+        Recorder recorder = new Recorder(0);
+        publisher.subscribe(recorder);
+        for (int i = 0; i < EventsPublisher.DEFAULT_BUFFER_SIZE + 2; i++) {
+            recorder.listener().onEvent(event("E" + i));
+        }
+        assertEquals(2, publisher.getDroppedCount());
+
+        recorder.subscription.request(Long.MAX_VALUE);
+        assertEquals(EventsPublisher.DEFAULT_BUFFER_SIZE, recorder.names.size());
+        assertEquals("E0", recorder.names.get(0));
+        assertNull(recorder.error);
+    }
+
+    @Test
+    public void failEndsTheStreamWhenTheBufferIsFull() {
+        Recorder recorder = new Recorder(0);
+        client.eventsPublisher(EventFilter.ALL, 1, OverflowPolicy.FAIL).subscribe(recorder);
+        recorder.listener().onEvent(event("A"));
+        recorder.listener().onEvent(event("B"));
+
+        assertTrue(recorder.error instanceof EmblockClientException);
+        assertFalse(client.hasEventsListener(recorder.listener()));
+    }
+
+    @Test
+    public void recoveredErrorsAreNotSignaled() {
+        EventsPublisher publisher = client.eventsPublisher(EventFilter.ALL);
+        List<Throwable> recovered = new ArrayList<>();
+        publisher.setRecoveredErrorHandler(recovered::add);
+        Recorder recorder = new Recorder(10);
+        publisher.subscribe(recorder);
+        Exception disconnected = new Exception("webSocket closed, reconnecting");
+
+        recorder.listener().onEvent(null, null, disconnected);
+        recorder.listener().onEvent(event("A"));
+
+        assertNull(recorder.error);
+        assertEquals(Collections.singletonList(disconnected), recovered);
+        assertEquals(Collections.singletonList("A"), recorder.names);
+    }
+
+    @Test
+    public void theStreamEndsWithAnErrorWhenTheClientStopsDeliveringTheEvents() {
+        Recorder recorder = new Recorder(10);
+        client.eventsPublisher(EventFilter.ALL).subscribe(recorder);
+        IOException failure = new IOException("contract not found");
+
+        api.contract.fail(failure);
+
+        assertSame(failure, recorder.error);
+        assertFalse(client.hasEventsListener(recorder.listener()));
+    }
+
+    @Test
+    public void aSubscriberThrowingFromOnNextIsCancelled() {
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        List<Throwable> uncaught = new ArrayList<>();
+        thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+        try {
+            RuntimeException failure = new IllegalStateException("subscriber failed");
+            Recorder recorder = new Recorder(10) {
+                @Override
+                public void onNext(EventMessage message) {
+                    super.onNext(message);
+                    throw failure;
+                }
+            };
+            client.eventsPublisher(EventFilter.ALL).subscribe(recorder);
+
+            recorder.listener().onEvent(event("A"));
+            recorder.listener().onEvent(event("B"));
+
+            assertEquals(Collections.singletonList("A"), recorder.names);
+            assertEquals(Collections.singletonList(failure), uncaught);
+            assertNull(recorder.error);
+            assertFalse(client.hasEventsListener(recorder.listener()));
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+    }
+}
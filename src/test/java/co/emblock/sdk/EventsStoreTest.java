@@ -0,0 +1,134 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.EventResult;
+import co.emblock.sdk.api.Param;
+import co.emblock.sdk.api.ParamResult;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EventsStoreTest {
+
+    private static final String SENDER = "0x627306090abaB3A6e1400e9345bC60c78a8BEf57";
+    private static final String RECEIVER = "0xf17f52151EbEF6C7334FAD080c5704D77216b732";
+    private static final String HASH = "0x" + String.join("", Collections.nCopies(8, "0123456789abcdef")).substring(0, 64);
+
+    private static EventResult transfer(String txHash, Long blockTimestamp, String from, String to, String value) {
+        return new EventResult("Transfer", txHash, blockTimestamp, blockTimestamp == null ? null : blockTimestamp * 1000,
+                Arrays.asList(new ParamResult("address", "from", from), new ParamResult("address", "to", to),
+                        new ParamResult("uint256", "value", value)), 0);
+    }
+
+    private static List<String> hashes(List<EventResult> events) {
+        List<String> hashes = new ArrayList<>();
+        for (EventResult event : events) {
+            hashes.add(event.getTransactionHash());
+        }
+        return hashes;
+    }
+
+    @Test
+    public void theEventsAreReadBackAsAdded() {
+        EventsStore store = new EventsStore();
+        store.add(transfer(HASH, 100L, SENDER, RECEIVER, "-9223372036854775808"));
+        store.add(transfer("0xshort", null, SENDER, null, "115792089237316195423570985008687907853269984665640564039457584007913129639935"));
+
+        List<EventResult> events = store.query().list();
+        assertEquals(2, events.size());
+        EventResult first = events.get(0);
+        assertEquals("Transfer", first.getName());
+        assertEquals(HASH, first.getTransactionHash());
+        assertEquals(Long.valueOf(100), first.getBlockTimestamp());
+        assertEquals(Long.valueOf(100_000), first.getBlockDate());
+        assertEquals(Integer.valueOf(0), first.getLogIndex());
+        assertEquals("from", first.getParams().get(0).getName());
+        assertEquals("address", first.getParams().get(0).getType());
+        assertEquals(SENDER, first.getParams().get(0).getValue());
+        assertEquals("-9223372036854775808", first.getParams().get(2).getValue());
+
+        EventResult second = events.get(1);
+        assertEquals("0xshort", second.getTransactionHash());
+        assertNull(second.getBlockTimestamp());
+        assertNull(second.getParams().get(1).getValue());
+        assertEquals("115792089237316195423570985008687907853269984665640564039457584007913129639935", second.getParams().get(2).getValue());
+    }
+
+    @Test
+    public void theValuesAreMatchedNormalizedButReadBackUnchanged() {
+        EventsStore store = new EventsStore();
+        String upperHash = HASH.toUpperCase().replace("0X", "0x");
+        store.add(transfer(upperHash, 100L, SENDER, " " + RECEIVER + " ", " 42"));
+        store.add(transfer(HASH, 200L, SENDER.toLowerCase(), RECEIVER, "42"));
+
+        List<EventResult> events = store.query().param(0, SENDER).param(1, RECEIVER).param(2, "42").list();
+        assertEquals(2, events.size());
+        EventResult first = events.get(0);
+        assertEquals(upperHash, first.getTransactionHash());
+        assertEquals(SENDER, first.getParams().get(0).getValue());
+        assertEquals(" " + RECEIVER + " ", first.getParams().get(1).getValue());
+        assertEquals(" 42", first.getParams().get(2).getValue());
+        EventResult second = events.get(1);
+        assertEquals(HASH, second.getTransactionHash());
+        assertEquals(SENDER.toLowerCase(), second.getParams().get(0).getValue());
+        assertEquals("42", second.getParams().get(2).getValue());
+    }
+
+    @Test
+    public void theCriteriaAddUp() {
+        EventsStore store = new EventsStore();
+        store.add(transfer("0x1", 100L, SENDER, RECEIVER, "10"));
+        store.add(transfer("0x2", 200L, RECEIVER, SENDER, "10"));
+        store.add(transfer("0x3", 300L, SENDER, RECEIVER, "20"));
+        store.add(new EventMessage("Approval", Collections.singletonList(new Param("address", SENDER)), "0x4", 0, 400L));
+
+        assertEquals(3, store.query().name("Transfer").count());
+        assertEquals(0, store.query().name("Unknown").count());
+        assertEquals(Arrays.asList("0x1", "0x3", "0x4"), hashes(store.query().param(0, SENDER.toUpperCase().replace("0X", "0x")).list()));
+        assertEquals(Arrays.asList("0x1", "0x3"), hashes(store.query().name("Transfer").param(0, SENDER).list()));
+        assertEquals(Arrays.asList("0x1", "0x2"), hashes(store.query().param(2, "10").list()));
+        assertEquals(Collections.singletonList("0x3"), hashes(store.query().param(0, SENDER).param(2, "20").list()));
+        assertEquals(Collections.singletonList("0x2"), hashes(store.query().between(200, 300).list()));
+        assertEquals(0, store.query().param(5, SENDER).count());
+        assertEquals(0, store.query().param(2, "30").count());
+
+        List<String> visited = new ArrayList<>();
+        store.query().name("Transfer").between(100, 300).forEach(event -> visited.add(event.getTransactionHash()));
+        assertEquals(Arrays.asList("0x1", "0x2"), visited);
+    }
+
+    @Test
+    public void timeRangesGiveTheSameEventsSortedOrNot() {
+        EventsStore sorted = new EventsStore();
+        sorted.add(transfer("0x0", null, SENDER, RECEIVER, "1"));
+        sorted.add(transfer("0x1", 100L, SENDER, RECEIVER, "1"));
+        sorted.add(transfer("0x2", 200L, SENDER, RECEIVER, "1"));
+        sorted.add(transfer("0x3", 300L, SENDER, RECEIVER, "1"));
+
+        EventsStore unsorted = new EventsStore();
+        unsorted.add(transfer("0x3", 300L, SENDER, RECEIVER, "1"));
+        unsorted.add(transfer("0x1", 100L, SENDER, RECEIVER, "1"));
+        unsorted.add(transfer("0x0", null, SENDER, RECEIVER, "1"));
+        unsorted.add(transfer("0x2", 200L, SENDER, RECEIVER, "1"));
+
+        for (EventsStore store : Arrays.asList(sorted, unsorted)) {
+            assertEquals(4, store.query().count());
+            assertEquals(2, store.query().between(Long.MIN_VALUE, 300).count());
+            assertEquals(3, store.query().between(Long.MIN_VALUE, Long.MAX_VALUE - 1).count());
+            assertEquals(2, store.query().between(200, Long.MAX_VALUE).count());
+            assertEquals(1, store.query().between(100, 200).count());
+            assertEquals(0, store.query().between(300, 100).count());
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void aNullParameterValueIsRejected() {
+        new EventsStore().query().param(0, null);
+    }
+}
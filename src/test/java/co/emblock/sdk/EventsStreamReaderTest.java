@@ -0,0 +1,75 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventResult;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EventsStreamReaderTest {
+
+    private static String event(String name, String txHash, long blockTimestamp) {
+        return "{\"name\":\"" + name + "\",\"transactionHash\":\"" + txHash + "\",\"blockTimestamp\":" + blockTimestamp
+                + ",\"params\":[{\"type\":\"address\",\"name\":\"to\",\"value\":\"0x01\"}]}";
+    }
+
+    private static List<String> read(String json, EventsCursor cursor) throws IOException {
+        List<String> names = new ArrayList<>();
+        EventsStreamReader.read(new StringReader(json), cursor, (EventResult event) -> names.add(event.getName()));
+        return names;
+    }
+
+    @Test
+    public void readsTheEventsNewerThanTheCursorInAnyOrder() throws IOException {
+        EventsCursor cursor = new EventsCursor(200, Collections.singleton("0xb"));
+        String json = "[" + event("C", "0xc", 300) + "," + event("A", "0xa", 100) + ","
+                + event("B", "0xb", 200) + "," + event("B2", "0xb2", 200) + "," + event("D", "0xd", 300) + "]";
+
+        assertEquals(Arrays.asList("C", "B2", "D"), read(json, cursor));
+        assertEquals(300, cursor.getLastBlockTimestamp());
+        assertEquals(new HashSet<>(Arrays.asList("0xc", "0xd")), cursor.getLastTransactionHashes());
+
+        // the next run only gets the newer events
+        assertEquals(Collections.singletonList("E"), read("[" + event("D", "0xd", 300) + "," + event("E", "0xe", 300) + "]", cursor));
+        assertEquals(new HashSet<>(Arrays.asList("0xc", "0xd", "0xe")), cursor.getLastTransactionHashes());
+    }
+
+    @Test
+    public void theCursorIsOnlyMovedOnceTheWholeHistoryIsRead() {
+        EventsCursor cursor = new EventsCursor();
+        try {
+            read("[" + event("A", "0xa", 100) + "," + event("B", "0xb", 200), cursor);
+            fail();
+        } catch (IOException e) {
+            assertTrue(cursor.isAtBeginning());
+        }
+    }
+
+    @Test
+    public void aNullHistoryIsEmpty() throws IOException {
+        EventsCursor cursor = new EventsCursor();
+        assertTrue(read("null", cursor).isEmpty());
+        assertTrue(cursor.isAtBeginning());
+    }
+
+    @Test
+    public void liveEventsAdvanceTheCursor() {
+        EventsCursor cursor = new EventsCursor(100, Collections.singleton("0xa"));
+        cursor.advance(100, "0xb");
+        cursor.advance(50, "0xold");
+        assertEquals(new HashSet<>(Arrays.asList("0xa", "0xb")), cursor.getLastTransactionHashes());
+        cursor.advance(150, "0xc");
+        assertEquals(150, cursor.getLastBlockTimestamp());
+        assertEquals(Collections.singleton("0xc"), cursor.getLastTransactionHashes());
+    }
+
+}
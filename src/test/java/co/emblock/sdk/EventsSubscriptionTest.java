@@ -0,0 +1,220 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import co.emblock.sdk.ws.EventsConnection;
+import co.emblock.sdk.ws.EventsWebSocketListener;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+import retrofit2.Call;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventsSubscriptionTest {
+
+    /**
+     * Answers the history requests with the calls of the test, in turn.
+     */
+    private static final class HistoryApi extends FakeApi {
+        private final BlockingQueue<FakeCall<ResponseBody>> calls = new LinkedBlockingQueue<>();
+        private final BlockingQueue<FakeCall<ResponseBody>> requested = new LinkedBlockingQueue<>();
+
+        @Override
+        public Call<ResponseBody> getEventsStream(String projectId) {
+            FakeCall<ResponseBody> call = calls.poll();
+            if (call == null) throw new AssertionError("unexpected history request");
+            requested.add(call);
+            return call;
+        }
+
+        private FakeCall<ResponseBody> next() {
+            FakeCall<ResponseBody> call = FakeCall.pending();
+            calls.add(call);
+            return call;
+        }
+    }
+
+    /**
+     * Records the names of the events delivered, and the errors.
+     */
+    private static class Recorder implements EventsWebSocketListener {
+        final List<String> names = Collections.synchronizedList(new ArrayList<>());
+        final BlockingQueue<Exception> errors = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onEvent(EventMessage message) {
+            names.add(message.getName());
+        }
+
+        @Override
+        public void onEvent(String eventName, List<Param> params) {
+            onEvent(new EventMessage(eventName, params));
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            errors.add(ex);
+        }
+    }
+
+    private final HistoryApi api = new HistoryApi();
+    private final EventsConnection connection = new EventsConnection(URI.create("ws://localhost"));
+    private final EmblockClient client = new EmblockClient(api, "project", connection, Calls.DIRECT, StatusPoller.builder().build());
+
+    private static EventMessage event(String name, String txHash, Integer logIndex, long blockTimestamp) {
+        return new EventMessage(name, Collections.singletonList(new Param("uint256", "1")), txHash, logIndex, blockTimestamp);
+    }
+
+    private static String history(String... events) {
+        return "[" + String.join(",", events) + "]";
+    }
+
+    private static String json(String name, String txHash, int logIndex, long blockTimestamp) {
+        return "{\"name\":\"" + name + "\",\"transactionHash\":\"" + txHash + "\",\"logIndex\":" + logIndex
+                + ",\"blockTimestamp\":" + blockTimestamp + ",\"params\":[{\"type\":\"uint256\",\"name\":\"value\",\"value\":\"1\"}]}";
+    }
+
+    private static ResponseBody body(String json) {
+        return ResponseBody.create(MediaType.parse("application/json"), json);
+    }
+
+    @Test
+    public void backfillsFromTheCursorThenDeliversTheHeldBackEventsOnce() {
+        Recorder recorder = new Recorder();
+        EventsSubscription subscription = new EventsSubscription(client, connection, "contract",
+                new EventsCursor(100, Collections.singleton("0xa")), recorder);
+        FakeCall<ResponseBody> history = api.next();
+
+        subscription.onOpen();
+        subscription.onEvent(event("C", "0xc", 0, 300));
+        subscription.onEvent(event("D", "0xd", 0, 400));
+        assertTrue(recorder.names.isEmpty());
+
+        history.respond(body(history(json("A", "0xa", 0, 100), json("B", "0xb", 0, 200), json("C", "0xc", 0, 300))));
+
+        assertEquals(Arrays.asList("B", "C", "D"), recorder.names);
+        assertEquals(400, subscription.getCursor().getLastBlockTimestamp());
+
+        subscription.onEvent(event("E", "0xe", 0, 500));
+        assertEquals(Arrays.asList("B", "C", "D", "E"), recorder.names);
+    }
+
+    @Test
+    public void liveEventsReceivedWhileDrainingAreDeliveredAfterTheHeldBackOnes() {
+        EventsSubscription[] subscription = new EventsSubscription[1];
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onEvent(EventMessage message) {
+                super.onEvent(message);
+                // a live event received while the held back ones are delivered
+                if (message.getName().equals("B")) subscription[0].onEvent(event("C", "0xc", 0, 300));
+            }
+        };
+        subscription[0] = new EventsSubscription(client, connection, "contract",
+                new EventsCursor(100, Collections.singleton("0xa")), recorder);
+        FakeCall<ResponseBody> history = api.next();
+
+        subscription[0].onOpen();
+        subscription[0].onEvent(event("B", "0xb", 0, 200));
+        history.respond(body(history()));
+
+        assertEquals(Arrays.asList("B", "C"), recorder.names);
+    }
+
+    @Test
+    public void aNewestFirstHistoryIsDeliveredInOrder() {
+        Recorder recorder = new Recorder();
+        EventsSubscription subscription = new EventsSubscription(client, connection, "contract",
+                new EventsCursor(100, Collections.singleton("0xa")), recorder);
+        FakeCall<ResponseBody> history = api.next();
+
+        subscription.onOpen();
+        subscription.onEvent(event("E", "0xe", 0, 400));
+        history.respond(body(history(json("D", "0xd", 1, 300), json("C", "0xc", 0, 300), json("B", "0xb", 0, 200),
+                json("A", "0xa", 0, 100))));
+
+        assertEquals(Arrays.asList("B", "C", "D", "E"), recorder.names);
+        assertEquals(400, subscription.getCursor().getLastBlockTimestamp());
+    }
+
+    @Test
+    public void anUnorderedHistoryIsSortedByBlockAndLogIndex() {
+        List<EventMessage> events = new ArrayList<>(Arrays.asList(event("B", "0xb", 2, 200), event("D", "0xd", 0, 300),
+                event("A", "0xa", 1, 100), event("C", "0xc", 5, 200), event("B2", "0xb", 3, 200)));
+
+        List<String> names = new ArrayList<>();
+        for (EventMessage event : EventsSubscription.inOrder(events)) {
+            names.add(event.getName());
+        }
+        assertEquals(Arrays.asList("A", "B", "B2", "C", "D"), names);
+    }
+
+    @Test
+    public void aFailedBackfillIsReportedAndRetriedBeforeTheLiveEvents() throws InterruptedException {
+        Recorder recorder = new Recorder();
+        EventsSubscription subscription = new EventsSubscription(client, connection, "contract",
+                new EventsCursor(100, Collections.singleton("0xa")), recorder);
+        FakeCall<ResponseBody> failing = api.next();
+        FakeCall<ResponseBody> retried = api.next();
+
+        subscription.onOpen();
+        subscription.onEvent(event("C", "0xc", 0, 300));
+        failing.fail(new IOException("reset"));
+
+        assertNotNull(recorder.errors.poll(1, TimeUnit.SECONDS));
+        subscription.onEvent(event("D", "0xd", 0, 400));
+        assertTrue(recorder.names.isEmpty());
+
+        assertEquals(failing, api.requested.poll());
+        assertEquals(retried, api.requested.poll(5, TimeUnit.SECONDS));
+        while (!retried.isEnqueued()) Thread.sleep(1);
+        retried.respond(body(history(json("B", "0xb", 0, 200), json("C", "0xc", 0, 300), json("D", "0xd", 0, 400))));
+
+        assertEquals(Arrays.asList("B", "C", "D"), recorder.names);
+        subscription.close();
+    }
+
+    @Test
+    public void withoutCursorTheHistoryIsNotReadOnTheFirstConnection() {
+        Recorder recorder = new Recorder();
+        EventsSubscription subscription = new EventsSubscription(client, connection, "contract", null, recorder);
+
+        subscription.onOpen();
+        subscription.onEvent(event("A", "0xa", 0, 100));
+
+        assertEquals(Collections.singletonList("A"), recorder.names);
+        assertTrue(api.requested.isEmpty());
+    }
+
+    @Test
+    public void identicalEventsOfATransactionWithoutLogIndexAreBothDelivered() {
+        Recorder recorder = new Recorder();
+        EventsSubscription subscription = new EventsSubscription(client, connection, "contract",
+                new EventsCursor(100, Collections.singleton("0xz")), recorder);
+        FakeCall<ResponseBody> history = api.next();
+
+        subscription.onOpen();
+        subscription.onEvent(event("Transfer", "0xa", null, 200));
+        subscription.onEvent(event("Transfer", "0xa", null, 200));
+        String transfer = "{\"name\":\"Transfer\",\"transactionHash\":\"0xa\",\"blockTimestamp\":200,"
+                + "\"params\":[{\"type\":\"uint256\",\"name\":\"value\",\"value\":\"1\"}]}";
+        history.respond(body(history(transfer, transfer, json("Other", "0xb", 0, 300))));
+
+        // both read from the history, the two received live are the same events
+        assertEquals(Arrays.asList("Transfer", "Transfer", "Other"), recorder.names);
+    }
+
+}
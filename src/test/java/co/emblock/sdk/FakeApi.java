@@ -0,0 +1,61 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.CallRawBody;
+import co.emblock.sdk.api.CallResult;
+import co.emblock.sdk.api.ContractResult;
+import co.emblock.sdk.api.EmblockApi;
+import co.emblock.sdk.api.EventResult;
+import co.emblock.sdk.api.FunctionResult;
+import co.emblock.sdk.api.ParamResult;
+import co.emblock.sdk.api.TransferBody;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An api whose calls fail unless a test overrides them.
+ */
+class FakeApi implements EmblockApi {
+
+    @Override
+    public Call<List<ParamResult>> callConstant(String projectId, String function, Map<String, String> parameters) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Call<FunctionResult> callFunction(String walletAddress, String projectId, String function, Map<String, String> parameters) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Call<FunctionResult> callRaw(String callId, CallRawBody body) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Call<CallResult> getCallStatus(String callId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Call<ContractResult> getCurrentContract(String projectId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Call<List<EventResult>> getEvents(String projectId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Call<ResponseBody> getEventsStream(String projectId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Call<Void> transfer(String from, TransferBody body) {
+        throw new UnsupportedOperationException();
+    }
+}
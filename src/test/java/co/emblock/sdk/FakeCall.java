@@ -0,0 +1,109 @@
+package co.emblock.sdk;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * A call answering at once with a body, an http error or a network failure, or answering when the test decides.
+ */
+final class FakeCall<T> implements Call<T> {
+
+    private final T body;
+    private final int code;
+    private final IOException failure;
+    private boolean executed;
+    private boolean canceled;
+    private Callback<T> pendingCallback;
+
+    private FakeCall(T body, int code, IOException failure) {
+        this.body = body;
+        this.code = code;
+        this.failure = failure;
+    }
+
+    static <T> FakeCall<T> success(T body) {
+        return new FakeCall<>(body, 200, null);
+    }
+
+    static <T> FakeCall<T> error(int code) {
+        return new FakeCall<>(null, code, null);
+    }
+
+    static <T> FakeCall<T> failure(IOException failure) {
+        return new FakeCall<>(null, 0, failure);
+    }
+
+    /**
+     * A call answered by {@link #respond(Object)} or {@link #fail(IOException)}.
+     */
+    static <T> FakeCall<T> pending() {
+        return new FakeCall<>(null, -1, null);
+    }
+
+    synchronized void respond(T body) {
+        pendingCallback.onResponse(this, Response.success(body));
+    }
+
+    synchronized void fail(IOException e) {
+        pendingCallback.onFailure(this, e);
+    }
+
+    synchronized boolean isEnqueued() {
+        return pendingCallback != null;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        executed = true;
+        if (failure != null) throw failure;
+        return response();
+    }
+
+    @Override
+    public synchronized void enqueue(Callback<T> callback) {
+        executed = true;
+        if (code == -1) {
+            pendingCallback = callback;
+        } else if (failure != null) {
+            callback.onFailure(this, failure);
+        } else {
+            callback.onResponse(this, response());
+        }
+    }
+
+    private Response<T> response() {
+        if (code == 200) return Response.success(body);
+        return Response.error(code, ResponseBody.create(MediaType.parse("application/json"), "{\"message\":\"error " + code + "\"}"));
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return executed;
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new FakeCall<>(body, code, failure);
+    }
+
+    @Override
+    public Request request() {
+        return new Request.Builder().url("http://localhost/").build();
+    }
+}
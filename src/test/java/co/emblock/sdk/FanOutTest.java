@@ -0,0 +1,64 @@
+package co.emblock.sdk;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FanOutTest {
+
+    @Test
+    public void keepsTheOrderAndTheBoundOfCallsInFlight() {
+        List<CompletableFuture<Integer>> calls = new ArrayList<>();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        CompletableFuture<List<String>> results = FanOut.run(Arrays.asList(1, 2, 3, 4, 5), 2, item -> {
+            CompletableFuture<Integer> call = new CompletableFuture<>();
+            calls.add(call);
+            maxInFlight.accumulateAndGet(calls.size() - completed.get(), Math::max);
+            return call;
+        }, (value, e) -> e == null ? "ok " + value : "failed " + e.getMessage());
+
+        assertEquals(2, calls.size());
+        // complete out of order, each completion starts the next call
+        complete(calls, 1, 20, completed);
+        complete(calls, 0, 10, completed);
+        completed.incrementAndGet();
+        calls.get(2).completeExceptionally(new IllegalStateException("boom"));
+        complete(calls, 4, 50, completed);
+        complete(calls, 3, 40, completed);
+
+        assertTrue(results.isDone());
+        assertEquals(Arrays.asList("ok 10", "ok 20", "failed boom", "ok 40", "ok 50"), results.join());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    private static void complete(List<CompletableFuture<Integer>> calls, int index, int value, AtomicInteger completed) {
+        completed.incrementAndGet();
+        calls.get(index).complete(value);
+    }
+
+    @Test
+    public void processesSynchronousCallsAndThrowingCalls() {
+        CompletableFuture<List<String>> results = FanOut.run(Arrays.asList(1, 2, 3), 1, item -> {
+            if (item == 2) throw new IllegalArgumentException("bad item");
+            return CompletableFuture.completedFuture(item * 10);
+        }, (value, e) -> e == null ? "ok " + value : "failed " + e.getMessage());
+
+        assertEquals(Arrays.asList("ok 10", "failed bad item", "ok 30"), results.join());
+    }
+
+    @Test
+    public void completesAnEmptyBatch() {
+        assertTrue(FanOut.<Integer, Integer, Integer>run(new ArrayList<>(), 4, CompletableFuture::completedFuture,
+                (value, e) -> value).join().isEmpty());
+    }
+
+}
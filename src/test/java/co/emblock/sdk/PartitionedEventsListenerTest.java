@@ -0,0 +1,106 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import co.emblock.sdk.ws.OverflowPolicy;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PartitionedEventsListenerTest {
+
+    private static EventMessage event(String from, int value) {
+        return new EventMessage("Transfer", Arrays.asList(new Param("address", from), new Param("uint256", Integer.toString(value))));
+    }
+
+    @Test
+    public void theEventsOfAKeyKeepTheirOrder() throws InterruptedException {
+        Map<String, List<String>> received = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(300);
+        EventsListener listener = (eventName, params, e) -> {
+            received.computeIfAbsent(params.get(0).getValue(), key -> new ArrayList<>()).add(params.get(1).getValue());
+            done.countDown();
+        };
+        try (PartitionedEventsListener partitioned = PartitionedEventsListener.builder(listener).byParam(0).lanes(4).build()) {
+            for (int i = 0; i < 100; i++) {
+                for (String from : Arrays.asList("0xa", "0xb", "0xc")) {
+                    partitioned.onEvent(event(from, i));
+                }
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+        for (List<String> values : received.values()) {
+            for (int i = 0; i < 100; i++) {
+                assertEquals(Integer.toString(i), values.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void aFailingEventIsPassedToTheErrorPathOfTheLane() throws InterruptedException {
+        RuntimeException failure = new IllegalStateException("listener failed");
+        BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+        EventsListener listener = (eventName, params, e) -> {
+            if (e != null) {
+                received.add(e);
+                return;
+            }
+            if (params.get(1).getValue().equals("1")) throw failure;
+            received.add(params.get(1).getValue());
+        };
+        try (PartitionedEventsListener partitioned = PartitionedEventsListener.builder(listener).lanes(1).build()) {
+            for (int i = 0; i < 3; i++) {
+                partitioned.onEvent(event("0xa", i));
+            }
+            assertEquals("0", received.poll(5, TimeUnit.SECONDS));
+            assertSame(failure, received.poll(5, TimeUnit.SECONDS));
+            assertEquals("2", received.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void anEventDroppedByAFullLaneIsReportedWithTheFailPolicy() throws InterruptedException {
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Throwable> errors = new ArrayList<>();
+        EventsListener listener = (eventName, params, e) -> {
+            if (e != null) {
+                errors.add(e);
+                return;
+            }
+            processing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try (PartitionedEventsListener partitioned = PartitionedEventsListener.builder(listener)
+                .lanes(1)
+                .buffer(1, OverflowPolicy.FAIL)
+                .build()) {
+            partitioned.onEvent(event("0xa", 0));
+            assertTrue(processing.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < 4; i++) {
+                partitioned.onEvent(event("0xa", i));
+            }
+
+            assertTrue(errors.size() >= 2);
+            assertEquals(errors.size(), partitioned.getDroppedCount());
+            assertTrue(errors.get(0).getMessage().contains("dropped"));
+            release.countDown();
+        }
+    }
+}
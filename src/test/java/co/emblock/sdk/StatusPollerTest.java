@@ -0,0 +1,128 @@
+package co.emblock.sdk;
+
+import co.emblock.sdk.api.CallResult;
+import co.emblock.sdk.api.EmblockClientException;
+import org.junit.After;
+import org.junit.Test;
+import retrofit2.Call;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StatusPollerTest {
+
+    private StatusPoller poller;
+
+    @After
+    public void close() {
+        if (poller != null) poller.close();
+    }
+
+    /**
+     * Answers the status requests in turn, and records when they are made.
+     */
+    private static final class StatusApi extends FakeApi {
+        private final Iterator<Call<CallResult>> answers;
+        private final List<Long> requestNanos = new ArrayList<>();
+
+        private StatusApi(List<Call<CallResult>> answers) {
+            this.answers = answers.iterator();
+        }
+
+        @Override
+        public synchronized Call<CallResult> getCallStatus(String callId) {
+            requestNanos.add(System.nanoTime());
+            return answers.hasNext() ? answers.next() : FakeCall.success(new CallResult("Pending", null));
+        }
+
+        private synchronized long gapMillis(int request) {
+            return TimeUnit.NANOSECONDS.toMillis(requestNanos.get(request) - requestNanos.get(request - 1));
+        }
+    }
+
+    private static Call<CallResult> status(String status) {
+        return FakeCall.success(new CallResult(status, null));
+    }
+
+    @Test
+    public void backsOffUntilTheStatusIsFinal() {
+        poller = StatusPoller.builder()
+                .initialDelay(10, TimeUnit.MILLISECONDS)
+                .multiplier(3)
+                .maxDelay(90, TimeUnit.MILLISECONDS)
+                .jitter(0)
+                .build();
+        StatusApi api = new StatusApi(Arrays.asList(status("Pending"), status("Pending"), status("Pending"),
+                status(StatusPoller.SUCCESSFUL)));
+
+        CallResult result = poller.track(api, "call-1").join();
+
+        assertEquals(StatusPoller.SUCCESSFUL, result.getStatus());
+        assertEquals(4, api.requestNanos.size());
+        // 10ms, then 30ms, 90ms and capped at 90ms
+        assertTrue(api.gapMillis(1) >= 30);
+        assertTrue(api.gapMillis(2) >= 90);
+        assertTrue(api.gapMillis(3) >= 90);
+        assertEquals(0, poller.getPendingCount());
+    }
+
+    @Test
+    public void networkErrorsAreRetriedAndServerErrorsFail() {
+        poller = StatusPoller.builder().initialDelay(1, TimeUnit.MILLISECONDS).jitter(0).build();
+
+        StatusApi retried = new StatusApi(Arrays.asList(FakeCall.failure(new IOException("reset")), status(StatusPoller.FAILED)));
+        assertEquals(StatusPoller.FAILED, poller.track(retried, "call-1").join().getStatus());
+
+        StatusApi failing = new StatusApi(Collections.singletonList(FakeCall.error(500)));
+        try {
+            poller.track(failing, "call-2").join();
+            fail();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof EmblockClientException);
+        }
+    }
+
+    @Test
+    public void failsAfterTheTimeout() {
+        poller = StatusPoller.builder()
+                .initialDelay(5, TimeUnit.MILLISECONDS)
+                .timeout(50, TimeUnit.MILLISECONDS)
+                .build();
+        try {
+            poller.track(new StatusApi(Collections.emptyList()), "call-1").join();
+            fail();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof EmblockClientException);
+        }
+    }
+
+    @Test
+    public void completesFromTheEventsBeforePolling() {
+        poller = StatusPoller.builder().eventFallbackDelay(1, TimeUnit.MINUTES).build();
+        StatusApi api = new StatusApi(Collections.emptyList());
+
+        CompletableFuture<CallResult> call = poller.track(api, "call-1", "0xtx", true);
+        assertTrue(poller.track(api, "call-1", "0xtx", true) == call);
+        poller.onTransaction("0xtx");
+
+        assertEquals(StatusPoller.SUCCESSFUL, call.join().getStatus());
+        assertEquals(0, api.requestNanos.size());
+        assertEquals(1, poller.getConfirmedByEventCount());
+
+        // an event received before the call is tracked also confirms it
+        poller.onTransaction("0xother");
+        assertEquals(StatusPoller.SUCCESSFUL, poller.track(api, "call-2", "0xother", true).join().getStatus());
+    }
+
+}
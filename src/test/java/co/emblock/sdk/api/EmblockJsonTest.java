@@ -0,0 +1,157 @@
+package co.emblock.sdk.api;
+
+import co.emblock.sdk.crypto.Credentials;
+import co.emblock.sdk.crypto.Numeric;
+import co.emblock.sdk.crypto.RawTransaction;
+import co.emblock.sdk.crypto.TransactionEncoder;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EmblockJsonTest {
+
+    /**
+     * The reflective decoding used before the adapters.
+     */
+    private static final Gson REFLECTIVE = new Gson();
+
+    private static final String CONSTANT = "[{\"type\":\"uint256\",\"name\":\"totalSupply\",\"value\":\"1000000000000000000000\"},"
+            + "{\"type\":\"bool\",\"name\":\"paused\",\"value\":false},"
+            + "{\"type\":\"address\",\"name\":\"owner\",\"value\":\"0x627306090abab3a6e1400e9345bc60c78a8bef57\",\"indexed\":true}]";
+
+    private static final String FUNCTION = "{\"callId\":\"5a0c0d6f-2a7e-4c1b-9d0e-3f1a2b3c4d5e\","
+            + "\"txHash\":\"0x9fc76417374aa880d4449a1f7f31ec597f00b1f6f3dd2d66f4c9c6c445836d8b\",\"createdAt\":1520245123,"
+            + "\"txRaw\":{\"nonce\":9,\"gasPrice\":\"20000000000\",\"gasLimit\":21000,"
+            + "\"to\":\"0x3535353535353535353535353535353535353535\",\"value\":\"1000000000000000000\","
+            + "\"data\":\"0xa9059cbb\",\"chainId\":1}}";
+
+    private static final String EVENTS = "[{\"name\":\"Transfer\",\"transactionHash\":\"0x9fc76417374aa880d4449a1f7f31ec597f00b1f6f3dd2d66f4c9c6c445836d8b\","
+            + "\"blockTimestamp\":1520245123,\"blockDate\":\"1520245123000\",\"logIndex\":\"2\",\"blockNumber\":5198253,"
+            + "\"params\":[{\"type\":\"address\",\"name\":\"from\",\"value\":\"0x627306090abab3a6e1400e9345bc60c78a8bef57\"},"
+            + "{\"type\":\"uint256\",\"name\":\"value\",\"value\":10}]},"
+            + "{\"name\":\"Paused\",\"transactionHash\":null,\"params\":null}]";
+
+    private static final String FRAME = "{\"name\":\"Transfer\",\"params\":[{\"type\":\"address\",\"value\":\"0x627306090abab3a6e1400e9345bc60c78a8bef57\"},"
+            + "{\"type\":\"uint256\",\"value\":\"10\"},null],\"transactionHash\":\"0x01\",\"logIndex\":0,\"blockTimestamp\":\"1520245123\","
+            + "\"contractId\":\"contract-1\",\"event\":{\"unknown\":[1,2]}}";
+
+    /**
+     * Decode with the adapters and reflectively, and compare the fields of both results.
+     */
+    private static <T> T assertDecodedAsBefore(String json, Type type) {
+        T decoded = EmblockJson.gson().fromJson(json, type);
+        Object reflective = REFLECTIVE.fromJson(json, type);
+        assertEquals(REFLECTIVE.toJsonTree(reflective), REFLECTIVE.toJsonTree(decoded));
+        return decoded;
+    }
+
+    @Test
+    public void constantResultsAreDecodedAsBefore() {
+        List<ParamResult> results = assertDecodedAsBefore(CONSTANT, new TypeToken<List<ParamResult>>() {}.getType());
+
+        assertEquals(3, results.size());
+        assertEquals("totalSupply", results.get(0).getName());
+        assertEquals("false", results.get(1).getValue());
+        assertEquals("address", results.get(2).getType());
+    }
+
+    @Test
+    public void eventsAreDecodedAsBefore() {
+        List<EventResult> events = assertDecodedAsBefore(EVENTS, new TypeToken<List<EventResult>>() {}.getType());
+
+        EventResult transfer = events.get(0);
+        assertEquals(Long.valueOf(1520245123), transfer.getBlockTimestamp());
+        assertEquals(Long.valueOf(1520245123000L), transfer.getBlockDate());
+        assertEquals(Integer.valueOf(2), transfer.getLogIndex());
+        assertEquals("10", transfer.getParams().get(1).getValue());
+        assertNull(events.get(1).getTransactionHash());
+        assertNull(events.get(1).getParams());
+        assertNull(events.get(1).getBlockTimestamp());
+    }
+
+    @Test
+    public void eventFramesAreDecodedAsBefore() {
+        EventMessage message = assertDecodedAsBefore(FRAME, EventMessage.class);
+
+        assertEquals("contract-1", message.getContractId());
+        assertEquals(Long.valueOf(1520245123), message.getBlockTimestamp());
+        assertEquals(3, message.getParams().size());
+        assertNull(message.getParams().get(2));
+    }
+
+    @Test
+    public void statusContractAndErrorsAreDecodedAsBefore() {
+        CallResult status = assertDecodedAsBefore("{\"status\":\"Successful\",\"log\":null,\"blockNumber\":5198253}", CallResult.class);
+        assertEquals("Successful", status.getStatus());
+        assertNull(status.getLog());
+
+        ContractResult contract = assertDecodedAsBefore("{\"details\":{\"id\":\"contract-1\",\"name\":\"Token\"},\"abi\":[]}", ContractResult.class);
+        assertEquals("contract-1", contract.getDetails().getId());
+        ContractResult noDetails = assertDecodedAsBefore("{\"abi\":[]}", ContractResult.class);
+        assertNull(noDetails.getDetails());
+
+        ErrorResponse error = assertDecodedAsBefore("{\"code\":\"404\",\"status\":\"Not Found\",\"message\":\"project not found\"}", ErrorResponse.class);
+        assertEquals(Integer.valueOf(404), error.getCode());
+        assertEquals("project not found", error.getMessage());
+    }
+
+    @Test
+    public void aJsonNullIsDecodedAsNull() {
+        assertNull(EmblockJson.gson().fromJson("null", FunctionResult.class));
+        assertNull(EmblockJson.gson().fromJson("{\"txRaw\":null}", FunctionResult.class).getTxRaw());
+    }
+
+    @Test
+    public void functionResultsOnlyDifferByTheDataPrefix() {
+        FunctionResult result = EmblockJson.gson().fromJson(FUNCTION, FunctionResult.class);
+        FunctionResult reflective = REFLECTIVE.fromJson(FUNCTION, FunctionResult.class);
+        assertEquals(reflective.getCallId(), result.getCallId());
+        assertEquals(reflective.getTxHash(), result.getTxHash());
+
+        RawTransaction txRaw = result.getTxRaw();
+        RawTransaction reflectiveTxRaw = reflective.getTxRaw();
+        assertEquals(BigInteger.valueOf(9), txRaw.getNonce());
+        assertEquals(reflectiveTxRaw.getGasPrice(), txRaw.getGasPrice());
+        assertEquals(reflectiveTxRaw.getGasLimit(), txRaw.getGasLimit());
+        assertEquals(reflectiveTxRaw.getTo(), txRaw.getTo());
+        assertEquals(reflectiveTxRaw.getValue(), txRaw.getValue());
+        // built by the factory, the data loses its prefix like in the transactions built by the sdk
+        assertEquals("0xa9059cbb", reflectiveTxRaw.getData());
+        assertEquals("a9059cbb", txRaw.getData());
+
+        Credentials credentials = Credentials.create("0x4646464646464646464646464646464646464646464646464646464646464646");
+        assertEquals(Numeric.toHexString(TransactionEncoder.signMessage(reflectiveTxRaw, credentials)),
+                Numeric.toHexString(TransactionEncoder.signMessage(txRaw, credentials)));
+    }
+
+    @Test
+    public void bodiesAreEncodedAsBefore() {
+        Object[] bodies = {
+                new CallRawBody("0xf86c09"),
+                new TransferBody("1", "1000", "0x3535353535353535353535353535353535353535"),
+                new Param("uint256", "10"),
+                new EventMessage("Transfer", Collections.singletonList(new Param("uint256", "10")), "0x01", 0, 1520245123L),
+                RawTransaction.createTransaction(BigInteger.ONE, BigInteger.TEN, BigInteger.valueOf(21000), null, BigInteger.ZERO, "a9059cbb"),
+        };
+        for (Object body : bodies) {
+            assertEquals(REFLECTIVE.toJsonTree(body), EmblockJson.gson().toJsonTree(body));
+        }
+    }
+
+    @Test
+    public void encodedEventsAreDecodedBack() {
+        EventResult event = new EventResult("Transfer", "0x01", 1520245123L, 1520245123000L,
+                Collections.singletonList(new ParamResult("uint256", "value", "10")), 3);
+        String json = EmblockJson.gson().toJson(event);
+
+        assertEquals(REFLECTIVE.toJsonTree(event), REFLECTIVE.toJsonTree(EmblockJson.gson().fromJson(json, EventResult.class)));
+    }
+}
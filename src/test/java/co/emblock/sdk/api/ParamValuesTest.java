@@ -0,0 +1,140 @@
+package co.emblock.sdk.api;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParamValuesTest {
+
+    private static final String UINT256_MAX = "115792089237316195423570985008687907853269984665640564039457584007913129639935";
+
+    private static BigInteger number(String value) {
+        return new ParamValues(value).asBigInteger();
+    }
+
+    private static void assertNotANumber(String value) {
+        try {
+            number(value);
+            fail("parsed " + value);
+        } catch (NumberFormatException expected) {
+        }
+    }
+
+    private static byte[] bytes(int size, int... values) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    @Test
+    public void decimalsAreParsedLikeBigInteger() {
+        for (String value : new String[]{"0", "7", "-7", "000123", "999999999999999999", "-999999999999999999",
+                "9223372036854775807", "-9223372036854775808", "9223372036854775808", UINT256_MAX, "-" + UINT256_MAX, "+5"}) {
+            assertEquals(value, new BigInteger(value), number(value));
+        }
+    }
+
+    @Test
+    public void hexIsParsedAsAnUnsignedNumber() {
+        assertEquals(BigInteger.ZERO, number("0x0"));
+        assertEquals(BigInteger.valueOf(255), number("0xff"));
+        assertEquals(BigInteger.valueOf(255), number("0XFF"));
+        assertEquals(BigInteger.valueOf(0xabc), number("0xAbC"));
+        assertEquals(BigInteger.valueOf(255), number("0x0000000000000000ff"));
+        assertEquals(new BigInteger("fffffffffffffff", 16), number("0xfffffffffffffff"));
+        assertEquals(new BigInteger("ffffffffffffffff", 16), number("0xffffffffffffffff"));
+        assertEquals(new BigInteger("1ffffffffffffffff", 16), number("0x1ffffffffffffffff"));
+        assertEquals(new BigInteger(UINT256_MAX), number("0x" + new BigInteger(UINT256_MAX).toString(16)));
+        assertEquals(BigInteger.ONE.shiftLeft(300), number("0x1" + new String(new char[75]).replace('\0', '0')));
+    }
+
+    @Test
+    public void invalidNumbersAreRejected() {
+        for (String value : new String[]{null, "", "-", "0x", "0xg", "0x1g", "0x-1", "-0x1", "12a", " 1", "1.5", "1e3"}) {
+            assertNotANumber(value);
+        }
+    }
+
+    @Test
+    public void longsMustFit() {
+        assertEquals(Long.MAX_VALUE, new ParamValues("0x7fffffffffffffff").asLong());
+        assertEquals(Long.MIN_VALUE, new ParamValues("-9223372036854775808").asLong());
+        try {
+            new ParamValues("0x8000000000000000").asLong();
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+    }
+
+    @Test
+    public void addressesAreTwentyBytes() {
+        byte[] address = bytes(20, 0x62, 0x73, 0x06, 0x09, 0x0a, 0xba, 0xb3, 0xa6, 0xe1, 0x40, 0x0e, 0x93, 0x45, 0xbc, 0x60,
+                0xc7, 0x8a, 0x8b, 0xef, 0x57);
+        assertArrayEquals(address, new ParamValues("0x627306090abaB3A6e1400e9345bC60c78a8BEf57").asAddressBytes());
+        assertArrayEquals(address, new ParamValues("0X627306090ABAB3A6E1400E9345BC60C78A8BEF57").asAddressBytes());
+
+        for (String value : new String[]{null, "627306090abab3a6e1400e9345bc60c78a8bef57", "0x627306090abab3a6e1400e9345bc60c78a8bef5",
+                "0x627306090abab3a6e1400e9345bc60c78a8bef577", "0x627306090abab3a6e1400e9345bc60c78a8bez7"}) {
+            try {
+                new ParamValues(value).asAddressBytes();
+                fail("parsed " + value);
+            } catch (NumberFormatException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void shortBytes32ArePaddedOnTheRight() {
+        assertArrayEquals(bytes(32, 0x01), new ParamValues("0x01").asBytes32());
+        assertArrayEquals(bytes(32, 0xab, 0xc0), new ParamValues("0xabc").asBytes32());
+        assertArrayEquals(new byte[32], new ParamValues("0x").asBytes32());
+        byte[] full = new byte[32];
+        full[31] = 1;
+        assertArrayEquals(full, new ParamValues("0x" + new String(new char[63]).replace('\0', '0') + "1").asBytes32());
+
+        for (String value : new String[]{null, "01", "0x" + new String(new char[65]).replace('\0', '0'), "0xzz"}) {
+            try {
+                new ParamValues(value).asBytes32();
+                fail("parsed " + value);
+            } catch (NumberFormatException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void booleansAcceptTheWordsAndTheDigits() {
+        assertTrue(new ParamValues("true").asBoolean());
+        assertTrue(new ParamValues("TRUE").asBoolean());
+        assertTrue(new ParamValues("1").asBoolean());
+        assertFalse(new ParamValues("false").asBoolean());
+        assertFalse(new ParamValues("0").asBoolean());
+        for (String value : new String[]{null, "yes", "2", ""}) {
+            try {
+                new ParamValues(value).asBoolean();
+                fail("parsed " + value);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void paramsReturnACopyOfTheParsedBytes() {
+        Param param = new Param("address", "0x627306090abab3a6e1400e9345bc60c78a8bef57");
+        param.asAddressBytes()[0] = 0;
+        assertEquals(0x62, param.asAddressBytes()[0]);
+
+        ParamResult result = new ParamResult("bytes32", "id", "0x01");
+        result.asBytes32()[0] = 0;
+        assertEquals(1, result.asBytes32()[0]);
+        assertEquals(BigInteger.ONE, result.asBigInteger());
+        assertEquals(1, new ParamResult("uint256", "value", "1").asLong());
+    }
+}
@@ -0,0 +1,123 @@
+package co.emblock.sdk.crypto;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BatchSignatureVerifierTest {
+
+    private static final ECKeyPair[] KEY_PAIRS = {
+            ECKeyPair.create(new BigInteger("4646464646464646464646464646464646464646464646464646464646464646", 16)),
+            ECKeyPair.create(BigInteger.valueOf(0x1234567890L)),
+            ECKeyPair.create(new BigInteger("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364140", 16)),
+    };
+
+    private static byte[] message(int i) {
+        return ("message " + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<SignedMessage> signedMessages(int count) {
+        List<SignedMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(SignedMessage.prefixed(message(i), Sign.signPrefixedMessage(message(i), KEY_PAIRS[i % KEY_PAIRS.length])));
+        }
+        return messages;
+    }
+
+    /**
+     * Address recovered by the key recovery of {@link Sign}, with the {@code 0x} prefix.
+     */
+    private static String recovered(int i, Sign.SignatureData signature) throws Exception {
+        return "0x" + Keys.getAddress(Sign.signedPrefixedMessageToKey(message(i), signature));
+    }
+
+    @Test
+    public void recoversTheAddressesOfTheKeyRecovery() throws Exception {
+        List<SignedMessage> messages = signedMessages(12);
+        List<String> addresses = new BatchSignatureVerifier().recoverAddresses(messages);
+
+        for (int i = 0; i < messages.size(); i++) {
+            assertEquals(recovered(i, messages.get(i).getSignature()), addresses.get(i));
+            assertEquals("0x" + Keys.getAddress(KEY_PAIRS[i % KEY_PAIRS.length]), addresses.get(i));
+        }
+    }
+
+    @Test
+    public void verifiesAgainstTheAddressesWithAndWithoutTheCachedKeys() {
+        List<SignedMessage> messages = signedMessages(12);
+        List<String> signers = new ArrayList<>();
+        List<String> others = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            // addresses are case insensitive
+            signers.add("0x" + Keys.getAddress(KEY_PAIRS[i % KEY_PAIRS.length]).toUpperCase(Locale.ROOT));
+            others.add(Keys.getAddress(KEY_PAIRS[(i + 1) % KEY_PAIRS.length]));
+        }
+        BatchSignatureVerifier verifier = new BatchSignatureVerifier();
+        boolean[] all = new boolean[messages.size()];
+        Arrays.fill(all, true);
+
+        assertArrayEquals(new boolean[messages.size()], verifier.verify(messages, others));
+        assertEquals(0, verifier.getCachedSignerCount());
+        assertArrayEquals(all, verifier.verify(messages, signers));
+        assertEquals(KEY_PAIRS.length, verifier.getCachedSignerCount());
+        // verified with the cached points
+        assertArrayEquals(all, verifier.verify(messages, signers));
+        assertArrayEquals(new boolean[messages.size()], verifier.verify(messages, others));
+    }
+
+    @Test
+    public void aSignatureWithAnotherRecoveryIdFailsLikeItsRecovery() throws Exception {
+        SignedMessage message = signedMessages(1).get(0);
+        Sign.SignatureData signature = message.getSignature();
+        Sign.SignatureData flipped = new Sign.SignatureData((byte) (27 + ((signature.getV()[0] - 27) ^ 1)), signature.getR(), signature.getS());
+        SignedMessage tampered = SignedMessage.prefixed(message(0), flipped);
+        String signer = Keys.getAddress(KEY_PAIRS[0]);
+
+        BatchSignatureVerifier verifier = new BatchSignatureVerifier();
+        assertFalse(verifier.verify(tampered, signer));
+        assertTrue(verifier.verify(message, signer));
+        // with the point of the signer cached
+        assertFalse(verifier.verify(tampered, signer));
+        String recovered = verifier.recoverAddress(tampered);
+        assertEquals(recovered(0, flipped), recovered);
+        assertFalse(("0x" + signer).equals(recovered));
+    }
+
+    @Test
+    public void anInvalidSignatureHasNoSigner() {
+        Sign.SignatureData invalid = new Sign.SignatureData((byte) 27, new byte[32], new byte[32]);
+        SignedMessage message = SignedMessage.prefixed(message(0), invalid);
+        BatchSignatureVerifier verifier = new BatchSignatureVerifier();
+
+        assertNull(verifier.recoverAddress(message));
+        assertFalse(verifier.verify(message, Keys.getAddress(KEY_PAIRS[0])));
+        assertEquals(Collections.singletonList(null), verifier.recoverAddresses(Collections.singletonList(message)));
+    }
+
+    @Test
+    public void aParallelBatchGivesTheSequentialResults() {
+        List<SignedMessage> messages = signedMessages(100);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<String> parallel = new BatchSignatureVerifier(executor, 4, 0).recoverAddresses(messages);
+            List<String> sequential = new BatchSignatureVerifier(Runnable::run, 1, 0).recoverAddresses(messages);
+            assertEquals(sequential, parallel);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package co.emblock.sdk.crypto;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class BatchTransactionSignerTest {
+
+    private static final Credentials CREDENTIALS = Credentials.create("0x4646464646464646464646464646464646464646464646464646464646464646");
+
+    private static RawTransaction transaction(int nonce) {
+        return RawTransaction.createTransaction(BigInteger.valueOf(nonce), BigInteger.valueOf(20_000_000_000L),
+                BigInteger.valueOf(21000), "0x3535353535353535353535353535353535353535", BigInteger.TEN.pow(18), "");
+    }
+
+    private static List<RawTransaction> transactions(int count) {
+        List<RawTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transactions.add(transaction(i));
+        }
+        return transactions;
+    }
+
+    @Test
+    public void theTransactionOfTheEip155ExampleIsSignedAsSpecified() {
+        List<byte[]> signed = new BatchTransactionSigner().sign(Collections.singletonList(transaction(9)), 1, CREDENTIALS);
+
+        assertEquals("0xf86c098504a817c800825208943535353535353535353535353535353535353535880de0b6b3a764000080"
+                        + "25a028ef61340bd939bc2195fe537567866003e1a15d3c71ff63e1590620aa636276"
+                        + "a067cbe9d8997f761aecb703304b3800ccf555c9f3dc64214b297fb1966a3b6d83",
+                Numeric.toHexString(signed.get(0)));
+    }
+
+    @Test
+    public void parallelSignaturesAreTheSequentialOnesInOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            BatchTransactionSigner signer = new BatchTransactionSigner(executor, 4);
+            List<RawTransaction> transactions = transactions(101);
+            List<byte[]> withChain = signer.sign(transactions, 1, CREDENTIALS);
+            List<byte[]> withoutChain = signer.sign(transactions, CREDENTIALS);
+
+            assertEquals(transactions.size(), withChain.size());
+            assertEquals(transactions.size(), withoutChain.size());
+            for (int i = 0; i < transactions.size(); i++) {
+                assertArrayEquals(TransactionEncoder.signMessage(transactions.get(i), 1, CREDENTIALS), withChain.get(i));
+                assertArrayEquals(TransactionEncoder.signMessage(transactions.get(i), CREDENTIALS), withoutChain.get(i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void anEmptyBatchGivesNoSignature() {
+        assertEquals(Collections.emptyList(), new BatchTransactionSigner().sign(Collections.emptyList(), 1, CREDENTIALS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theParallelismMustBePositive() {
+        new BatchTransactionSigner(Runnable::run, 0);
+    }
+}
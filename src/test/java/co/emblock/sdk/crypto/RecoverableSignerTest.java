@@ -0,0 +1,97 @@
+package co.emblock.sdk.crypto;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RecoverableSignerTest {
+
+    private static final List<ECKeyPair> KEY_PAIRS = Arrays.asList(
+            ECKeyPair.create(new BigInteger("4646464646464646464646464646464646464646464646464646464646464646", 16)),
+            ECKeyPair.create(BigInteger.valueOf(0x1234567890L)),
+            ECKeyPair.create(Sign.CURVE.getN().subtract(BigInteger.ONE)));
+
+    /**
+     * Recovery id found as before, by recovering the public key with each id in turn.
+     */
+    private static int recoveredId(ECDSASignature signature, byte[] hash, BigInteger publicKey) {
+        for (int i = 0; i < 4; i++) {
+            if (publicKey.equals(Sign.recoverFromSignature(i, signature, hash))) return i;
+        }
+        throw new AssertionError("no recovery id gives the public key");
+    }
+
+    private static byte[] hash(int i) {
+        return Hash.sha3(new byte[]{(byte) i});
+    }
+
+    private static void assertSameSignature(ECDSASignature expected, Sign.SignatureData signature) {
+        assertArrayEquals(Numeric.toBytesPadded(expected.r, 32), signature.getR());
+        assertArrayEquals(Numeric.toBytesPadded(expected.s, 32), signature.getS());
+    }
+
+    @Test
+    public void reusedSignersSignLikeTheKeyPair() {
+        RecoverableSigner signer = new RecoverableSigner();
+        for (int i = 0; i < 30; i++) {
+            ECKeyPair keyPair = KEY_PAIRS.get(i % KEY_PAIRS.size());
+            assertSameSignature(keyPair.sign(hash(i)), signer.sign(hash(i), keyPair.getPrivateKey()));
+        }
+    }
+
+    @Test
+    public void messagesSignedFromManyThreadsAreTheSequentialSignatures() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Sign.SignatureData>> signatures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                ECKeyPair keyPair = KEY_PAIRS.get(i % KEY_PAIRS.size());
+                byte[] hash = hash(i);
+                signatures.add(executor.submit(() -> Sign.signMessage(hash, keyPair, false)));
+            }
+            for (int i = 0; i < 40; i++) {
+                ECKeyPair keyPair = KEY_PAIRS.get(i % KEY_PAIRS.size());
+                assertSameSignature(keyPair.sign(hash(i)), signatures.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void theRecoveryIdIsTheOneOfTheKeyRecovery() {
+        RecoverableSigner signer = new RecoverableSigner();
+        for (ECKeyPair keyPair : KEY_PAIRS) {
+            for (int i = 0; i < 50; i++) {
+                byte[] hash = hash(i);
+                Sign.SignatureData signature = signer.sign(hash, keyPair.getPrivateKey());
+                ECDSASignature sig = new ECDSASignature(new BigInteger(1, signature.getR()), new BigInteger(1, signature.getS()));
+
+                assertTrue(sig.isCanonical());
+                assertEquals(recoveredId(sig, hash, keyPair.getPublicKey()), signature.getV()[0] - 27);
+            }
+        }
+    }
+
+    @Test
+    public void signedMessagesGiveBackTheKey() throws SignatureException {
+        for (ECKeyPair keyPair : KEY_PAIRS) {
+            byte[] message = "emblock".getBytes(StandardCharsets.UTF_8);
+            Sign.SignatureData signature = Sign.signMessage(message, keyPair);
+
+            assertEquals(keyPair.getPublicKey(), Sign.signedMessageToKey(message, signature));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package co.emblock.sdk.crypto;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SignerRegistryTest {
+
+    private static final String PRIVATE_KEY = "0x4646464646464646464646464646464646464646464646464646464646464646";
+
+    private static RawTransaction transaction() {
+        return RawTransaction.createTransaction(BigInteger.valueOf(9), BigInteger.valueOf(20_000_000_000L),
+                BigInteger.valueOf(21000), "0x3535353535353535353535353535353535353535", BigInteger.TEN.pow(18), "");
+    }
+
+    @Test
+    public void aKeyIsRegisteredOnce() {
+        SignerRegistry signers = new SignerRegistry();
+        Signer signer = signers.register(PRIVATE_KEY);
+
+        assertSame(signer, signers.register(PRIVATE_KEY));
+        assertSame(signer, signers.register(Numeric.cleanHexPrefix(PRIVATE_KEY)));
+        assertEquals(1, signers.size());
+    }
+
+    @Test
+    public void signersAreFoundByAddressWhateverTheCase() {
+        SignerRegistry signers = new SignerRegistry();
+        Signer signer = signers.register(PRIVATE_KEY);
+        String address = signer.getAddress();
+
+        assertSame(signer, signers.get(address));
+        assertSame(signer, signers.get(Numeric.cleanHexPrefix(address).toUpperCase(Locale.ROOT)));
+        assertNull(signers.get("0x3535353535353535353535353535353535353535"));
+    }
+
+    @Test
+    public void unregisteredSignersAreForgotten() {
+        SignerRegistry signers = new SignerRegistry();
+        Signer signer = signers.register(PRIVATE_KEY);
+
+        assertTrue(signers.unregister(signer));
+        assertFalse(signers.unregister(signer));
+        assertNull(signers.get(signer.getAddress()));
+        assertEquals(0, signers.size());
+        assertNotSame(signer, signers.register(PRIVATE_KEY));
+    }
+
+    @Test
+    public void signersComputeTheKeysAndSignaturesOfTheCredentials() {
+        Credentials credentials = Credentials.create(PRIVATE_KEY);
+        Signer signer = new SignerRegistry().register(PRIVATE_KEY);
+
+        assertEquals(credentials.getAddress(), signer.getAddress());
+        assertEquals(credentials.getEcKeyPair().getPublicKey(), Numeric.toBigInt(signer.getPublicKey()));
+        assertEquals(130, signer.getPublicKey().length());
+        assertEquals(Numeric.toHexString(TransactionEncoder.signMessage(transaction(), credentials)),
+                signer.signTransaction(transaction()));
+    }
+}
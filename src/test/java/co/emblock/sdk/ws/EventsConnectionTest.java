@@ -0,0 +1,132 @@
+package co.emblock.sdk.ws;
+
+import co.emblock.sdk.api.EventMessage;
+import co.emblock.sdk.api.Param;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventsConnectionTest {
+
+    private static final EventsWebSocketListener LISTENER = new EventsWebSocketListener() {
+        @Override
+        public void onEvent(String eventName, List<Param> params) {
+        }
+
+        @Override
+        public void onError(Exception ex) {
+        }
+    };
+
+    private static boolean eventsThreadAlive() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            boolean alive = Thread.getAllStackTraces().keySet().stream()
+                    .anyMatch(thread -> thread.getName().equals("emblock-events") && thread.isAlive());
+            if (!alive) return false;
+            Thread.sleep(20);
+        }
+        return true;
+    }
+
+    @Test
+    public void theEventsThreadRunsOnlyWhileThereAreSubscriptions() throws Exception {
+        EventsConnection connection = new EventsConnection(URI.create("ws://localhost:1"), 60000, 60000);
+        try {
+            connection.subscribe("contract", LISTENER);
+            assertTrue(Thread.getAllStackTraces().keySet().stream().anyMatch(thread -> thread.getName().equals("emblock-events")));
+
+            connection.unsubscribe("contract", LISTENER);
+            assertFalse(eventsThreadAlive());
+
+            connection.subscribe("contract", LISTENER);
+            assertTrue(Thread.getAllStackTraces().keySet().stream().anyMatch(thread -> thread.getName().equals("emblock-events")));
+        } finally {
+            connection.close();
+        }
+        assertFalse(eventsThreadAlive());
+    }
+
+    /**
+     * Records the names of the events received, and the errors about the routing.
+     */
+    private static final class Recorder implements EventsWebSocketListener {
+        final List<String> names = Collections.synchronizedList(new ArrayList<>());
+        final List<String> routingErrors = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onEvent(EventMessage message) {
+            names.add(message.getName());
+        }
+
+        @Override
+        public void onEvent(String eventName, List<Param> params) {
+            onEvent(new EventMessage(eventName, params));
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            // the connection errors of the unreachable websocket are ignored
+            if (ex.getMessage().contains("contract id")) routingErrors.add(ex.getMessage());
+        }
+    }
+
+    private static String frame(String name, String contractId) {
+        return "{\"name\":\"" + name + "\",\"params\":[]" + (contractId != null ? ",\"contractId\":\"" + contractId + "\"" : "") + "}";
+    }
+
+    @Test
+    public void framesAreRoutedToTheListenersOfTheirContract() {
+        EventsConnection connection = new EventsConnection(URI.create("ws://localhost:1"), 60000, 60000);
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        try {
+            connection.subscribe("contract-1", first);
+            connection.subscribe("contract-2", second);
+
+            connection.consume(frame("A", "contract-1"));
+            connection.consume(frame("B", "contract-2"));
+            connection.consume(frame("C", "contract-3"));
+
+            assertEquals(Collections.singletonList("A"), first.names);
+            assertEquals(Collections.singletonList("B"), second.names);
+            assertEquals(0, connection.getUnroutedCount());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void framesWithoutContractAreOnlyRoutedWithASingleContract() {
+        EventsConnection connection = new EventsConnection(URI.create("ws://localhost:1"), 60000, 60000);
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        try {
+            connection.subscribe("contract-1", first);
+            connection.consume(frame("A", null));
+            assertEquals(Collections.singletonList("A"), first.names);
+
+            connection.subscribe("contract-2", second);
+            connection.consume(frame("B", null));
+            connection.consume(frame("C", null));
+            assertEquals(Collections.singletonList("A"), first.names);
+            assertTrue(second.names.isEmpty());
+            assertEquals(2, connection.getUnroutedCount());
+            // reported once
+            assertEquals(1, first.routingErrors.size());
+            assertEquals(1, second.routingErrors.size());
+
+            connection.unsubscribe("contract-1", first);
+            connection.consume(frame("D", null));
+            assertEquals(Collections.singletonList("D"), second.names);
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package co.emblock.sdk.ws;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EventsRingBufferTest {
+
+    /**
+     * Records the elements consumed, the first one is held until {@link #release()}.
+     */
+    private static final class Gate implements Consumer<Object> {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final BlockingQueue<Object> consumed = new LinkedBlockingQueue<>();
+
+        @Override
+        public void accept(Object value) {
+            entered.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumed.add(value);
+        }
+
+        void awaitEntered() throws InterruptedException {
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        List<Object> take(int count) throws InterruptedException {
+            Object[] values = new Object[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = consumed.poll(5, TimeUnit.SECONDS);
+            }
+            return Arrays.asList(values);
+        }
+    }
+
+    /**
+     * Fills a buffer of 2 slots while its consumer holds the first element.
+     */
+    private static EventsRingBuffer<Object> filled(OverflowPolicy policy, Gate gate) throws InterruptedException {
+        EventsRingBuffer<Object> buffer = new EventsRingBuffer<Object>("test", 2, policy, gate);
+        buffer.start();
+        assertTrue(buffer.publish("a"));
+        gate.awaitEntered();
+        assertTrue(buffer.publish("b"));
+        return buffer;
+    }
+
+    @Test
+    public void blockWaitsForTheConsumer() throws Exception {
+        Gate gate = new Gate();
+        try (EventsRingBuffer<Object> buffer = filled(OverflowPolicy.BLOCK, gate)) {
+            CountDownLatch published = new CountDownLatch(1);
+            Thread producer = new Thread(() -> {
+                buffer.publish("c");
+                published.countDown();
+            });
+            producer.start();
+            assertFalse(published.await(100, TimeUnit.MILLISECONDS));
+
+            gate.release();
+            assertTrue(published.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("a", "b", "c"), gate.take(3));
+            assertEquals(0, buffer.getDroppedCount());
+        }
+    }
+
+    @Test
+    public void dropNewestRejectsTheElementPublished() throws Exception {
+        assertNewestRejected(OverflowPolicy.DROP_NEWEST);
+    }
+
+    @Test
+    public void failRejectsTheElementPublished() throws Exception {
+        assertNewestRejected(OverflowPolicy.FAIL);
+    }
+
+    private static void assertNewestRejected(OverflowPolicy policy) throws Exception {
+        Gate gate = new Gate();
+        try (EventsRingBuffer<Object> buffer = filled(policy, gate)) {
+            assertFalse(buffer.publish("c"));
+            assertEquals(1, buffer.getDroppedCount());
+
+            gate.release();
+            assertEquals(Arrays.asList("a", "b"), gate.take(2));
+            assertTrue(buffer.publish("d"));
+            assertEquals("d", gate.take(1).get(0));
+        }
+    }
+
+    @Test
+    public void dropOldestOverwritesTheElementsNotYetConsumed() throws Exception {
+        Gate gate = new Gate();
+        try (EventsRingBuffer<Object> buffer = filled(OverflowPolicy.DROP_OLDEST, gate)) {
+            assertTrue(buffer.publish("c"));
+            assertTrue(buffer.publish("d"));
+            assertEquals(2, buffer.getDroppedCount());
+
+            gate.release();
+            assertEquals(Arrays.asList("a", "c", "d"), gate.take(3));
+        }
+    }
+
+    @Test
+    public void publishBlockingWaitsWhateverThePolicy() throws Exception {
+        Gate gate = new Gate();
+        try (EventsRingBuffer<Object> buffer = filled(OverflowPolicy.DROP_NEWEST, gate)) {
+            Thread producer = new Thread(() -> buffer.publishBlocking("c"));
+            producer.start();
+            producer.join(100);
+            assertTrue(producer.isAlive());
+
+            gate.release();
+            producer.join(5000);
+            assertEquals(Arrays.asList("a", "b", "c"), gate.take(3));
+            assertEquals(0, buffer.getDroppedCount());
+        }
+    }
+
+    @Test
+    public void consumerFailuresAreReportedAndTheNextElementsDelivered() throws Exception {
+        BlockingQueue<Object> consumed = new LinkedBlockingQueue<>();
+        BlockingQueue<Throwable> failures = new LinkedBlockingQueue<>();
+        Error error = new Error("consumer failed");
+        RuntimeException exception = new IllegalStateException("consumer failed");
+        try (EventsRingBuffer<Object> buffer = new EventsRingBuffer<Object>("test", 4, OverflowPolicy.BLOCK, value -> {
+            if (value == error) throw error;
+            if (value == exception) throw exception;
+            consumed.add(value);
+        })) {
+            buffer.setErrorHandler((value, e) -> {
+                failures.add(e);
+                throw new IllegalStateException("error handler failed");
+            });
+            buffer.start();
+            buffer.publish(error);
+            buffer.publish(exception);
+            buffer.publish("a");
+
+            assertEquals("a", consumed.poll(5, TimeUnit.SECONDS));
+            assertSame(error, failures.poll());
+            assertSame(exception, failures.poll());
+        }
+    }
+
+    @Test
+    public void consumedElementsAreNotRetained() throws Exception {
+        BlockingQueue<Object> consumed = new LinkedBlockingQueue<>();
+        try (EventsRingBuffer<Object> buffer = new EventsRingBuffer<Object>("test", 4, OverflowPolicy.BLOCK,
+                value -> consumed.add("first"), value -> consumed.add("second"))) {
+            buffer.start();
+            Object element = new Object();
+            WeakReference<Object> reference = new WeakReference<>(element);
+            buffer.publish(element);
+            element = null;
+            assertEquals(2, Arrays.asList(consumed.poll(5, TimeUnit.SECONDS), consumed.poll(5, TimeUnit.SECONDS)).size());
+
+            for (int i = 0; i < 20 && reference.get() != null; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            assertNull(reference.get());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package co.emblock.sdk.ws;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HdrEventsMetricsTest {
+
+    @Test
+    public void eventsAreCountedPerName() {
+        HdrEventsMetrics metrics = new HdrEventsMetrics();
+        metrics.onEvent("Transfer", null, 0);
+        metrics.onEvent("Transfer", null, 0);
+        metrics.onEvent(null, null, 0);
+
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("Transfer", 2L);
+        expected.put("", 1L);
+        assertEquals(expected, metrics.getEventCounts());
+    }
+
+    @Test
+    public void resetClearsTheCountsInPlace() {
+        HdrEventsMetrics metrics = new HdrEventsMetrics();
+        metrics.onEvent("Transfer", null, 0);
+        metrics.onEvent("Approval", null, 0);
+        metrics.onListeners("Transfer", 1000);
+
+        metrics.reset();
+        assertEquals(Collections.emptyMap(), metrics.getEventCounts());
+        assertEquals(0, metrics.getListenerNanos("Transfer").getTotalCount());
+
+        metrics.onEvent("Transfer", null, 0);
+        assertEquals(Collections.singletonMap("Transfer", 1L), metrics.getEventCounts());
+    }
+
+    @Test
+    public void intervalRatesOnlyCountTheEventsSinceThePreviousCall() throws InterruptedException {
+        HdrEventsMetrics metrics = new HdrEventsMetrics();
+        for (int i = 0; i < 10; i++) {
+            metrics.onEvent("Transfer", null, 0);
+        }
+        Thread.sleep(10);
+        double rate = metrics.getIntervalEventRates().get("Transfer");
+        assertTrue(rate > 0 && rate <= 1000);
+
+        assertEquals(Collections.emptyMap(), metrics.getIntervalEventRates());
+        metrics.onEvent("Transfer", null, 0);
+        assertTrue(metrics.getIntervalEventRates().get("Transfer") > 0);
+        assertTrue(metrics.getEventRates().get("Transfer") > 0);
+    }
+
+    @Test
+    public void listenersTimeIsRecordedPerName() {
+        HdrEventsMetrics metrics = new HdrEventsMetrics();
+        metrics.onListeners("Transfer", 1000);
+        metrics.onListeners("Transfer", 3000);
+        metrics.onListeners("Approval", 500_000);
+
+        assertEquals(2, metrics.getListenerNanos("Transfer").getTotalCount());
+        assertEquals(3000, metrics.getListenerNanos("Transfer").getMaxValue(), 3000 / 1000);
+        assertEquals(1, metrics.getListenerNanos("Approval").getTotalCount());
+        assertEquals(0, metrics.getListenerNanos("Unknown").getTotalCount());
+        assertEquals(3, metrics.getListenerNanos().getTotalCount());
+    }
+
+    @Test
+    public void lagIsMeasuredFromTheBlockTimestamp() {
+        HdrEventsMetrics metrics = new HdrEventsMetrics(TimeUnit.SECONDS);
+        metrics.onEvent("Transfer", 100L, 102_500);
+        // a clock behind the block time
+        metrics.onEvent("Transfer", 100L, 99_000);
+
+        assertEquals(2, metrics.getLagMillis().getTotalCount());
+        assertEquals(2500, metrics.getLagMillis().getMaxValue(), 2500 / 1000);
+        assertEquals(0, metrics.getLagMillis().getMinValue());
+    }
+}